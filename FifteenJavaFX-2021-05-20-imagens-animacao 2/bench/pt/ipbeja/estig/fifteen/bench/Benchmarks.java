@@ -0,0 +1,50 @@
+package pt.ipbeja.estig.fifteen.bench;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+/**
+ * Runs the JMH benchmarks with the allocation (gc) profiler and writes
+ * the results as JSON, to compare runs (e.g. with jmh.morethan.io).
+ * The bench folder needs the JMH library of the module and annotation
+ * processing on (see .idea/compiler.xml).
+ *
+ * Usage: Benchmarks [regexp of benchmarks] [-o results.json] [-p name=v1,v2]
+ *
+ * @author João Paulo Barros
+ * @version 2026/10/17
+ */
+public class Benchmarks {
+    public static void main(String[] args) throws RunnerException {
+        ChainedOptionsBuilder options = new OptionsBuilder()
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result("jmh-result.json")
+                .forks(1)
+                .warmupIterations(3)
+                .warmupTime(TimeValue.seconds(1))
+                .measurementIterations(5)
+                .measurementTime(TimeValue.seconds(1));
+        boolean included = false;
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("-o")) {
+                options.result(args[++i]);
+            } else if (args[i].equals("-p")) {
+                String[] param = args[++i].split("=", 2);
+                options.param(param[0], param[1].split(","));
+            } else {
+                options.include(args[i]);
+                included = true;
+            }
+        }
+        if (!included) {
+            options.include(Benchmarks.class.getPackage().getName() + ".*");
+        }
+        new Runner(options.build()).run();
+    }
+}
@@ -0,0 +1,56 @@
+package pt.ipbeja.estig.fifteen.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import pt.ipbeja.estig.fifteen.model.Direction;
+import pt.ipbeja.estig.fifteen.model.FifteenModel;
+import pt.ipbeja.estig.fifteen.solver.BidirectionalSolver;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bidirectional breadth first search on the boards of SolverBenchmark.
+ * It uses no heuristic, so it has no heuristic parameter.
+ *
+ * @author João Paulo Barros
+ * @version 2026/10/17
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BidirectionalBenchmark {
+    @Param({"3x3", "4x4"})
+    public String size;
+
+    @Param({"10", "20", "40"})
+    public int depth;
+
+    private int nLines;
+    private int nCols;
+    private int[] tiles;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        FifteenModel model = Boards.walk(Boards.model(this.size), this.depth, 7);
+        this.nLines = model.getNLines();
+        this.nCols = model.getNCols();
+        this.tiles = model.getTiles();
+    }
+
+    /**
+     * @return null for boards deeper than its limit
+     */
+    @Benchmark
+    public List<Direction> bidirectional() {
+        return new BidirectionalSolver(this.nLines, this.nCols).solve(this.tiles,
+                BidirectionalSolver.DEFAULT_MAX_DEPTH);
+    }
+}
@@ -0,0 +1,66 @@
+package pt.ipbeja.estig.fifteen.bench;
+
+import pt.ipbeja.estig.fifteen.gui.View;
+import pt.ipbeja.estig.fifteen.model.Direction;
+import pt.ipbeja.estig.fifteen.model.FifteenModel;
+
+import java.util.Random;
+
+/**
+ * Repeatable boards and models for the benchmarks
+ *
+ * @author João Paulo Barros
+ * @version 2026/10/17
+ */
+final class Boards {
+    /**
+     * Ignores all notifications, so only the model is measured
+     */
+    static final View NO_VIEW = (move, winning, tValue) -> {
+    };
+
+    private Boards() {
+    }
+
+    /**
+     * @param size LINESxCOLS, as in the benchmark parameters
+     * @return a model of that size in winning position, without timer notifications
+     */
+    static FifteenModel model(String size) {
+        String[] parts = size.split("x");
+        FifteenModel model = new FifteenModel(Integer.parseInt(parts[0]), Integer.parseInt(parts[1]), NO_VIEW);
+        model.setTimerNotifications(false);
+        return model;
+    }
+
+    /**
+     * Moves pieces at random, with a fixed seed, until the board is depth
+     * moves away from the winning position in the move history (moves that
+     * undo each other do not count)
+     *
+     * @return the model, for chaining
+     */
+    static FifteenModel walk(FifteenModel model, int depth, long seed) {
+        Random random = new Random(seed);
+        Direction[] directions = Direction.values();
+        while (model.getMoveCount() < depth) {
+            model.keyPressed(directions[random.nextInt(directions.length)]);
+        }
+        return model;
+    }
+
+    /**
+     * @return a direction that can be played on model, followed by its opposite
+     */
+    static Direction movable(FifteenModel model) {
+        for (Direction d : Direction.values()) {
+            int before = model.getMoveCount();
+            model.keyPressed(d);
+            if (model.getMoveCount() != before) {
+                model.keyPressed(d.opposite());
+                return d;
+            }
+        }
+        throw new IllegalStateException("No piece can move");
+    }
+}
@@ -0,0 +1,138 @@
+package pt.ipbeja.estig.fifteen.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import pt.ipbeja.estig.fifteen.model.Direction;
+import pt.ipbeja.estig.fifteen.model.FifteenModel;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Model operations used on every move or every frame
+ *
+ * @author João Paulo Barros
+ * @version 2026/10/17
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ModelBenchmark {
+    @Param({"3x3", "4x4", "6x6"})
+    public String size;
+
+    @Param({"10", "100"})
+    public int depth;
+
+    private FifteenModel model;
+    private FifteenModel same;
+    private Direction move;
+    private Random random;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        this.model = Boards.walk(Boards.model(this.size), this.depth, 42);
+        this.same = Boards.walk(Boards.model(this.size), this.depth, 42);
+        this.move = Boards.movable(this.model);
+        this.random = new Random(42);
+    }
+
+    /**
+     * A move and the move back (movePieceAt, incremental distances and move log)
+     */
+    @Benchmark
+    public void moveAndBack(Blackhole bh) {
+        this.model.keyPressed(this.move);
+        this.model.keyPressed(this.move.opposite());
+        bh.consume(this.model.getLastMove());
+    }
+
+    @Benchmark
+    public void pieceSelected(Blackhole bh) {
+        FifteenModel m = this.model;
+        m.pieceSelected(m.getLastMove().getEnd()); // the piece that just moved moves back
+        bh.consume(m.getLastMove());
+    }
+
+    /**
+     * Model for mix, back to the same board with an empty move history
+     * before each call, as mix adds to the history
+     */
+    @State(Scope.Thread)
+    public static class Mixing {
+        private FifteenModel model;
+        private int[] start;
+
+        @Setup(Level.Trial)
+        public void setUp(ModelBenchmark benchmark) {
+            this.model = Boards.walk(Boards.model(benchmark.size), benchmark.depth, 42);
+            this.start = this.model.getTiles();
+        }
+
+        @Setup(Level.Invocation)
+        public void reset() {
+            this.model.setTiles(this.start);
+        }
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public void mix(Mixing mixing) {
+        mixing.model.mix(this.depth, this.depth);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public void scramble() {
+        this.model.scramble(this.random);
+    }
+
+    @Benchmark
+    public boolean inWinningPositions() {
+        return this.model.inWinningPositions();
+    }
+
+    @Benchmark
+    public String toStringBoard() {
+        return this.model.toString();
+    }
+
+    @Benchmark
+    public List<Integer> getPieces() {
+        return this.model.getPieces();
+    }
+
+    @Benchmark
+    public int[] getTiles() {
+        return this.model.getTiles();
+    }
+
+    @Benchmark
+    public int hashCodeModel() {
+        return this.model.hashCode();
+    }
+
+    @Benchmark
+    public boolean equalsModel() {
+        return this.model.equals(this.same);
+    }
+
+    @Benchmark
+    public long stateHash() {
+        return this.model.getStateHash();
+    }
+
+    @Benchmark
+    public boolean sameState() {
+        return this.model.sameState(this.same);
+    }
+}
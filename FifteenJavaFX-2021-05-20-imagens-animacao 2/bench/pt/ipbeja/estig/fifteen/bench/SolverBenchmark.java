@@ -0,0 +1,92 @@
+package pt.ipbeja.estig.fifteen.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import pt.ipbeja.estig.fifteen.model.Direction;
+import pt.ipbeja.estig.fifteen.model.FifteenModel;
+import pt.ipbeja.estig.fifteen.solver.FifteenSolver;
+import pt.ipbeja.estig.fifteen.solver.Heuristic;
+import pt.ipbeja.estig.fifteen.solver.ManhattanHeuristic;
+import pt.ipbeja.estig.fifteen.solver.MaxHeuristic;
+import pt.ipbeja.estig.fifteen.solver.ParallelFifteenSolver;
+import pt.ipbeja.estig.fifteen.solver.WalkingDistanceHeuristic;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Optimal solvers and heuristics on boards a fixed number of moves away
+ * from the winning position (see BidirectionalBenchmark for the solver
+ * that uses no heuristic)
+ *
+ * @author João Paulo Barros
+ * @version 2026/10/17
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SolverBenchmark {
+    @Param({"3x3", "4x4"})
+    public String size;
+
+    @Param({"10", "20", "40"})
+    public int depth;
+
+    @Param({"manhattan", "wd", "max"})
+    public String heuristic;
+
+    private int nLines;
+    private int nCols;
+    private int[] tiles;
+    private FifteenSolver solver;
+    private ParallelFifteenSolver parallelSolver;
+    private Heuristic estimate;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        FifteenModel model = Boards.walk(Boards.model(this.size), this.depth, 7);
+        this.nLines = model.getNLines();
+        this.nCols = model.getNCols();
+        this.tiles = model.getTiles();
+        this.solver = new FifteenSolver(this.nLines, this.nCols, this.heuristic());
+        this.parallelSolver = new ParallelFifteenSolver(this.nLines, this.nCols, this.heuristic(),
+                ForkJoinPool.commonPool());
+        this.estimate = this.heuristic();
+    }
+
+    private Heuristic heuristic() {
+        switch (this.heuristic) {
+            case "wd": return new WalkingDistanceHeuristic(this.nLines, this.nCols);
+            case "max": return new MaxHeuristic(new WalkingDistanceHeuristic(this.nLines, this.nCols),
+                    new ManhattanHeuristic(this.nLines, this.nCols));
+            default: return new ManhattanHeuristic(this.nLines, this.nCols);
+        }
+    }
+
+    @Benchmark
+    public List<Direction> idaStar() {
+        return this.solver.solve(this.tiles);
+    }
+
+    @Benchmark
+    public List<Direction> parallelIdaStar() {
+        return this.parallelSolver.solve(this.tiles);
+    }
+
+    /**
+     * Estimate of the whole board, as at the start of each search
+     */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public int heuristicReset() {
+        return this.estimate.reset(this.tiles);
+    }
+}
@@ -0,0 +1,275 @@
+package pt.ipbeja.estig.fifteen.batch;
+
+import pt.ipbeja.estig.fifteen.model.Direction;
+import pt.ipbeja.estig.fifteen.model.FifteenModel;
+import pt.ipbeja.estig.fifteen.solver.FifteenSolver;
+import pt.ipbeja.estig.fifteen.solver.Heuristic;
+import pt.ipbeja.estig.fifteen.solver.ManhattanHeuristic;
+import pt.ipbeja.estig.fifteen.solver.MaxHeuristic;
+import pt.ipbeja.estig.fifteen.solver.PatternDatabase;
+import pt.ipbeja.estig.fifteen.solver.WalkingDistanceHeuristic;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Headless batch solver: reads boards from a file, solves them on all
+ * processors and writes one result line per board, in input order, as soon
+ * as it is ready. At most a fixed window of boards is in memory, so the
+ * input can be of any size.
+ *
+ * Output columns (tab separated): board number, solution length, nodes
+ * expanded, solve time in microseconds and the moves (U, D, L, R as in
+ * Direction, the direction the piece moves). A board that cannot be
+ * solved or read gives a line with its number and "unsolvable" or
+ * "error" and the reason, and the batch goes on.
+ *
+ * @author João Paulo Barros
+ * @version 2026/10/17
+ */
+public class BatchSolver {
+    private static final int WINDOW_PER_THREAD = 64;
+
+    /**
+     * Output line of a board and whether the board was solved
+     */
+    private static final class Result {
+        private final String line;
+        private final boolean solved;
+
+        Result(String line, boolean solved) {
+            this.line = line;
+            this.solved = solved;
+        }
+    }
+
+    private final int nLines;
+    private final int nCols;
+    private final int nThreads;
+    private final ThreadLocal<FifteenSolver> solvers;
+
+    private long solved;
+    private long failed;
+
+    /**
+     * @param heuristic prototype heuristic, copied for each thread
+     */
+    public BatchSolver(int nLines, int nCols, int nThreads, Heuristic heuristic) {
+        this.nLines = nLines;
+        this.nCols = nCols;
+        this.nThreads = nThreads;
+        this.solvers = ThreadLocal.withInitial(() -> new FifteenSolver(nLines, nCols, heuristic.copy()));
+    }
+
+    /**
+     * Solves all boards in input, writing results to output
+     *
+     * @param input  boards in FifteenModel.toString layout or one per line
+     * @param output receives one line per board
+     * @throws IOException if reading or writing fails
+     */
+    public void run(BufferedReader input, Writer output) throws IOException, InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(this.nThreads);
+        ExecutorService writerExecutor = Executors.newSingleThreadExecutor();
+        BlockingQueue<Future<Result>> pending = new ArrayBlockingQueue<>(WINDOW_PER_THREAD * this.nThreads);
+        Future<?> writer = writerExecutor.submit(() -> this.write(pending, output));
+        try {
+            PuzzleReader reader = new PuzzleReader(input, this.nLines, this.nCols);
+            long number = 0;
+            while (!writer.isDone()) {
+                int[] tiles;
+                try {
+                    tiles = reader.next();
+                } catch (PuzzleReader.BadBoardException e) {
+                    this.put(pending, CompletableFuture.completedFuture(
+                            new Result(++number + "\terror\t" + e.getMessage(), false)),
+                            writer);
+                    continue;
+                }
+                if (tiles == null) {
+                    break;
+                }
+                final int[] board = tiles;
+                final long n = ++number;
+                this.put(pending, executor.submit(() -> this.solve(n, board)), writer);
+            }
+        } finally {
+            this.put(pending, CompletableFuture.completedFuture(null), writer); // end of results
+            executor.shutdown();
+            writerExecutor.shutdown();
+        }
+        try {
+            writer.get();
+        } catch (ExecutionException e) {
+            throw new IOException("Error writing results", e.getCause());
+        }
+    }
+
+    /**
+     * Waits for space in the window, unless the writer stopped with an error
+     */
+    private void put(BlockingQueue<Future<Result>> pending, Future<Result> result, Future<?> writer)
+            throws InterruptedException {
+        while (!pending.offer(result, 100, TimeUnit.MILLISECONDS)) {
+            if (writer.isDone()) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * @return number of boards solved by run
+     */
+    public long getSolved() {
+        return this.solved;
+    }
+
+    /**
+     * @return number of boards that were not valid, not solvable or not read
+     */
+    public long getFailed() {
+        return this.failed;
+    }
+
+    private Result solve(long number, int[] tiles) {
+        if (!this.isPermutation(tiles) || !FifteenSolver.isSolvable(tiles, this.nLines, this.nCols)) {
+            return new Result(number + "\tunsolvable", false);
+        }
+        FifteenSolver solver = this.solvers.get();
+        long start = System.nanoTime();
+        List<Direction> solution;
+        try {
+            solution = solver.solve(tiles);
+        } catch (RuntimeException e) {
+            return new Result(number + "\terror\t" + e, false);
+        }
+        long micros = (System.nanoTime() - start) / 1000;
+
+        StringBuilder s = new StringBuilder();
+        s.append(number).append('\t').append(solution.size()).append('\t')
+                .append(solver.getNodesExpanded()).append('\t').append(micros).append('\t');
+        for (Direction d : solution) {
+            s.append(d.name().charAt(0));
+        }
+        return new Result(s.toString(), true);
+    }
+
+    private boolean isPermutation(int[] tiles) {
+        boolean[] seen = new boolean[tiles.length];
+        for (int tile : tiles) {
+            if (tile < 0 || tile >= tiles.length || seen[tile]) {
+                return false;
+            }
+            seen[tile] = true;
+        }
+        return true;
+    }
+
+    /**
+     * Writes results in input order until the end marker
+     */
+    private void write(BlockingQueue<Future<Result>> pending, Writer output) {
+        try {
+            Result result;
+            while ((result = pending.take().get()) != null) {
+                output.write(result.line);
+                output.write('\n');
+                if (result.solved) {
+                    this.solved++;
+                } else {
+                    this.failed++;
+                }
+                if (pending.isEmpty()) {
+                    output.flush();
+                }
+            }
+            output.flush();
+        } catch (IOException | InterruptedException | ExecutionException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * @param name manhattan (with linear conflicts), wd (walking distance),
+     *             max (largest of both) or pdb (6-6-3 pattern database, 4x4 only)
+     */
+    private static Heuristic heuristic(String name, int nLines, int nCols) throws IOException {
+        switch (name) {
+            case "manhattan": return new ManhattanHeuristic(nLines, nCols);
+            case "wd": return new WalkingDistanceHeuristic(nLines, nCols);
+            case "max": return new MaxHeuristic(new WalkingDistanceHeuristic(nLines, nCols),
+                    new ManhattanHeuristic(nLines, nCols));
+            case "pdb": return PatternDatabase.loadOrBuild(PatternDatabase.defaultFile(), nLines, nCols,
+                    PatternDatabase.GROUPS_6_6_3).heuristic();
+            default: throw new IllegalArgumentException("Unknown heuristic: " + name);
+        }
+    }
+
+    /**
+     * Usage: BatchSolver [-t threads] [-s LINESxCOLS] [-h manhattan|wd|max|pdb] [--pdb] input|- [output]
+     *
+     * @param args options, input file (- for standard input) and optional output file
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int nThreads = Runtime.getRuntime().availableProcessors();
+        int nLines = FifteenModel.N_LINES;
+        int nCols = FifteenModel.N_COLS;
+        String heuristicName = "manhattan";
+        String inputName = null;
+        String outputName = null;
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("-t")) {
+                nThreads = Integer.parseInt(args[++i]);
+            } else if (args[i].equals("-s")) {
+                String[] size = args[++i].toLowerCase().split("x");
+                nLines = Integer.parseInt(size[0]);
+                nCols = Integer.parseInt(size[1]);
+            } else if (args[i].equals("-h")) {
+                heuristicName = args[++i];
+            } else if (args[i].equals("--pdb")) {
+                heuristicName = "pdb";
+            } else if (inputName == null) {
+                inputName = args[i];
+            } else {
+                outputName = args[i];
+            }
+        }
+        if (inputName == null) {
+            System.err.println("Usage: BatchSolver [-t threads] [-s LINESxCOLS] [-h manhattan|wd|max|pdb] [--pdb] " +
+                    "input|- [output]");
+            System.exit(1);
+        }
+
+        Heuristic heuristic = BatchSolver.heuristic(heuristicName, nLines, nCols);
+        BatchSolver batch = new BatchSolver(nLines, nCols, nThreads, heuristic);
+
+        long start = System.nanoTime();
+        try (BufferedReader in = inputName.equals("-")
+                ? new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8))
+                : Files.newBufferedReader(Paths.get(inputName));
+             Writer out = outputName == null
+                     ? new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8))
+                     : Files.newBufferedWriter(Paths.get(outputName))) {
+            batch.run(in, out);
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.err.printf("%d solved, %d unsolvable or invalid, %.2f s, %.0f boards/s%n",
+                batch.getSolved(), batch.getFailed(), seconds, (batch.getSolved() + batch.getFailed()) / seconds);
+    }
+}
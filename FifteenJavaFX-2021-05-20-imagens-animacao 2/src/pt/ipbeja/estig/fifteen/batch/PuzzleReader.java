@@ -0,0 +1,142 @@
+package pt.ipbeja.estig.fifteen.batch;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+
+/**
+ * Reads boards one at a time from text, either in the FifteenModel.toString
+ * layout (one line per board line, numbers separated by commas) or in a
+ * compact form with the whole board in one line. Empty lines and lines
+ * starting with # are ignored. After a text that is not a board, reading
+ * goes on with the next line, or after a bad line of a board with the next
+ * board: the rest of its lines are skipped, up to an empty line.
+ *
+ * @author João Paulo Barros
+ * @version 2026/10/17
+ */
+public class PuzzleReader {
+    /**
+     * Text that is not a board; the following boards can still be read
+     */
+    public static class BadBoardException extends IOException {
+        private static final long serialVersionUID = 1L;
+
+        BadBoardException(String message) {
+            super(message);
+        }
+    }
+
+    private final BufferedReader in;
+    private final int nLines;
+    private final int nCols;
+    private int lineNumber;
+    private String pushedBack; // line read by skipBoard that starts the next board
+
+    public PuzzleReader(BufferedReader in, int nLines, int nCols) {
+        this.in = in;
+        this.nLines = nLines;
+        this.nCols = nCols;
+        this.lineNumber = 0;
+    }
+
+    /**
+     * Reads the next board
+     *
+     * @return pieces in line order, or null at the end of input
+     * @throws BadBoardException if the text is not a board
+     * @throws IOException       if reading fails
+     */
+    public int[] next() throws IOException {
+        int[] tiles = new int[this.nLines * this.nCols];
+        int filled = 0;
+        String line;
+        while ((line = this.readLine()) != null) {
+            line = line.trim();
+            if (line.isEmpty() || line.startsWith("#")) {
+                if (filled > 0) {
+                    throw this.error("incomplete board");
+                }
+                continue;
+            }
+            String[] numbers = line.split("[,\\s]+");
+            if (numbers.length == tiles.length && filled == 0) {
+                this.parse(numbers, tiles, 0);
+                return tiles;
+            }
+            int row = filled / this.nCols;
+            if (numbers.length != this.nCols) {
+                BadBoardException e = this.error("expected " + this.nCols + " or " + tiles.length + " numbers");
+                if (filled > 0) {
+                    this.skipBoard(row);
+                }
+                throw e;
+            }
+            try {
+                this.parse(numbers, tiles, filled);
+            } catch (BadBoardException e) {
+                this.skipBoard(row);
+                throw e;
+            }
+            filled += this.nCols;
+            if (filled == tiles.length) {
+                return tiles;
+            }
+        }
+        if (filled > 0) {
+            throw this.error("incomplete board at end of input");
+        }
+        return null;
+    }
+
+    private String readLine() throws IOException {
+        String line = this.pushedBack;
+        if (line != null) {
+            this.pushedBack = null;
+        } else {
+            line = this.in.readLine();
+        }
+        if (line != null) {
+            this.lineNumber++;
+        }
+        return line;
+    }
+
+    /**
+     * Skips the lines of a board after its bad line, so the next board is
+     * read from its start. Stops early at an empty or comment line, or at a
+     * line with a whole board, which is read next.
+     *
+     * @param row board line of the bad line
+     */
+    private void skipBoard(int row) throws IOException {
+        for (int i = row + 1; i < this.nLines; i++) {
+            String line = this.in.readLine();
+            if (line == null) {
+                return;
+            }
+            String trimmed = line.trim();
+            if (trimmed.split("[,\\s]+").length == this.nLines * this.nCols) {
+                this.pushedBack = line;
+                return;
+            }
+            this.lineNumber++;
+            if (trimmed.isEmpty() || trimmed.startsWith("#")) {
+                return;
+            }
+        }
+    }
+
+    private void parse(String[] numbers, int[] tiles, int offset) throws BadBoardException {
+        try {
+            for (int i = 0; i < numbers.length; i++) {
+                tiles[offset + i] = Integer.parseInt(numbers[i]);
+            }
+        } catch (NumberFormatException e) {
+            throw this.error("not a number: " + e.getMessage());
+        }
+    }
+
+    private BadBoardException error(String message) {
+        return new BadBoardException("Line " + this.lineNumber + ": " + message);
+    }
+}
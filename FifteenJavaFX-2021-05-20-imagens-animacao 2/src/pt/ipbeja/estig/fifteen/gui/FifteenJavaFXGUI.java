@@ -1,6 +1,10 @@
 package pt.ipbeja.estig.fifteen.gui;
 
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 
 import javafx.application.Application;
 import javafx.application.Platform;
@@ -20,10 +24,14 @@ import javafx.scene.layout.Pane;
 import javafx.scene.layout.Priority;
 import javafx.scene.layout.VBox;
 import javafx.stage.Stage;
+import pt.ipbeja.estig.fifteen.metrics.FifteenMetrics;
 import pt.ipbeja.estig.fifteen.model.Direction;
 import pt.ipbeja.estig.fifteen.model.FifteenModel;
+import pt.ipbeja.estig.fifteen.model.Hint;
 import pt.ipbeja.estig.fifteen.model.Move;
 import pt.ipbeja.estig.fifteen.model.Position;
+import pt.ipbeja.estig.fifteen.recording.GameRecorder;
+import pt.ipbeja.estig.fifteen.solver.PatternDatabase;
 
 /**
  * The fifteen main view
@@ -33,12 +41,17 @@ import pt.ipbeja.estig.fifteen.model.Position;
  */
 public class FifteenJavaFXGUI extends Application implements View {
 	private final String ICON_FILE = "/resources/images/puzzle15.jpg";
+	private static final Duration HINT_BUDGET = Duration.ofMillis(500);
 	private FifteenModel model;
 
 	private List<PositionImage> positionImages;
 	private Button solveButton;
+	private Button hintButton;
+	private CompletableFuture<Hint> hint; // FX thread only
 	private GridPane panBtns;
 	private Label timeLabel;
+	private FrameUpdater frames;
+	private volatile GameRecorder recorder;
 	private static Map<KeyCode, Direction> directionMap = new HashMap<>();
 	static {
 		directionMap.put(KeyCode.UP, Direction.UP);
@@ -57,8 +70,13 @@ public class FifteenJavaFXGUI extends Application implements View {
 
 	@Override
 	public void start(Stage stage) {
+		PatternDatabase.getDefault(); // starts loading the solver tables in the background
+		FifteenMetrics.register();
 		this.createModel();
+		this.openRecorder();
 		this.mixModel();
+		this.frames = new FrameUpdater(this, this.model.getNCols());
+		ImageCache.preload(this.pieceNames(), PositionImage.SIZE);
 
 		Scene scnMain = this.createScene();
 
@@ -67,6 +85,7 @@ public class FifteenJavaFXGUI extends Application implements View {
 		stage.setScene(scnMain);
 		stage.show();
 
+		this.frames.start();
 		this.model.startTimer();
 	}
 
@@ -75,6 +94,8 @@ public class FifteenJavaFXGUI extends Application implements View {
 	 */
 	@Override
 	public void stop() {
+		this.frames.stop();
+		this.closeRecorder();
 		System.out.println("END");
 		System.exit(0);
 	}
@@ -89,8 +110,8 @@ public class FifteenJavaFXGUI extends Application implements View {
 	}
 
 	private Pane createButtonsUI() {
-		int nRows = FifteenModel.N_LINES;
-		int nCols = FifteenModel.N_COLS;
+		int nRows = this.model.getNLines();
+		int nCols = this.model.getNCols();
 		this.panBtns = new GridPane();
 		this.panBtns.setAlignment(Pos.CENTER);
 
@@ -118,6 +139,7 @@ public class FifteenJavaFXGUI extends Application implements View {
 	public void handle(MouseEvent e) {
 		PositionImage pi = (PositionImage) e.getSource();
 		Position pos = pi.getPosition();
+		this.cancelHint();
 		model.pieceSelected(pos); // inform model
 	}
 
@@ -125,7 +147,11 @@ public class FifteenJavaFXGUI extends Application implements View {
 		scnMain.setOnKeyPressed(new EventHandler<KeyEvent>() {
 			@Override
 			public void handle(KeyEvent event) {
-				model.keyPressed(directionMap.get(event.getCode()));
+				Direction direction = directionMap.get(event.getCode());
+				if (direction != null) {
+					cancelHint();
+					model.keyPressed(direction);
+				}
 			}
 		});
 	}
@@ -138,10 +164,19 @@ public class FifteenJavaFXGUI extends Application implements View {
 		this.solveButton.setOnAction(event -> {
 			panBtns.setDisable(true);
 			this.solveButton.setDisable(true);
-			model.solve();
+			this.cancelHint();
+			// a key press cancels the solution: the board must be usable again
+			model.solve().setOnEnd(() -> Platform.runLater(() -> {
+				this.panBtns.setDisable(false);
+				this.solveButton.setDisable(!this.model.canSolve());
+			}));
 		});
+		this.solveButton.setDisable(!this.model.canSolve());
+		this.hintButton = new Button("Hint");
+		this.hintButton.setMaxWidth(Integer.MAX_VALUE);
+		this.hintButton.setOnAction(event -> this.askHint());
 		this.timeLabel = new Label(this.model.getTimerValue() + "");
-		vbxMain.getChildren().addAll(solveButton, this.timeLabel);
+		vbxMain.getChildren().addAll(solveButton, this.hintButton, this.timeLabel);
 		vbxMain.getChildren().addAll(this.createButtonsUI());
 		Scene scnMain = new Scene(vbxMain);
 		this.setKeyHandle(scnMain);
@@ -149,63 +184,149 @@ public class FifteenJavaFXGUI extends Application implements View {
 		return scnMain;
 	}
 
+	/**
+	 * Searches the next move off the FX thread and shows it on the hint
+	 * button; a move made meanwhile cancels the search
+	 */
+	private void askHint() {
+		this.cancelHint();
+		this.hintButton.setText("Hint: thinking...");
+		CompletableFuture<Hint> pending = this.model.hint(HINT_BUDGET);
+		this.hint = pending;
+		pending.thenAccept(h -> Platform.runLater(() -> {
+			if (this.hint == pending) {
+				this.hintButton.setText(h.getDirection() == null ? "Hint" : "Hint: " + h);
+			}
+		}));
+	}
+
+	private void cancelHint() {
+		if (this.hint != null) {
+			this.hint.cancel(false);
+			this.hint = null;
+			this.hintButton.setText("Hint");
+		}
+	}
+
+	/**
+	 * @return image names of all pieces, as given by model.pieceTextAt
+	 */
+	private List<String> pieceNames() {
+		List<String> names = new ArrayList<>();
+		names.add("empty");
+		for (int piece = 1; piece < this.model.getNLines() * this.model.getNCols(); piece++) {
+			names.add(piece + "");
+		}
+		return names;
+	}
+
+	/**
+	 * Creates the model with the size given as --size=LINESxCOLS
+	 * (default FifteenModel.N_LINES x FifteenModel.N_COLS)
+	 */
 	private void createModel() {
-		this.model = new FifteenModel(this);
+		int nLines = FifteenModel.N_LINES;
+		int nCols = FifteenModel.N_COLS;
+		String size = this.getParameters().getNamed().get("size");
+		if (size != null) {
+			String[] parts = size.toLowerCase().split("x");
+			nLines = Integer.parseInt(parts[0].trim());
+			nCols = Integer.parseInt(parts[1].trim());
+		}
+		this.model = new FifteenModel(nLines, nCols, this);
+	}
+
+	/**
+	 * Records the won games in the log given as --record=FILE, if any
+	 */
+	private void openRecorder() {
+		String file = this.getParameters().getNamed().get("record");
+		if (file != null) {
+			try {
+				this.recorder = new GameRecorder(Paths.get(file));
+			} catch (IOException e) {
+				System.err.println("Games not recorded: " + e.getMessage());
+			}
+		}
+	}
+
+	private void closeRecorder() {
+		GameRecorder r = this.recorder;
+		if (r != null) {
+			this.recorder = null;
+			try {
+				r.close();
+			} catch (IOException e) {
+				System.err.println("Error closing the game log: " + e.getMessage());
+			}
+		}
 	}
 
 	/**
-	 * Makes a number of moves to mix the puzzle. The mix is not very smart as
-	 * the moves can be symmetric in consecutive moments.
+	 * Mixes the puzzle with a random board, uniformly drawn from all the
+	 * boards that can be solved
 	 */
 	private void mixModel() {
-		this.model.mix(5, 10);
+		this.model.scramble();
 	}
 
 	/**
 	 * Updates the pieces content by asking the model
 	 */
 	private void updateAllLayout() {
-		for (PositionImage pi : this.positionImages) {
-			String btnText = this.model.pieceTextAt(pi.getPosition());
-			pi.setImage(btnText);
-		}
+		this.updateAllPieces();
 		this.timeLabel.setText(this.model.getTimerValue() + "");
-		this.solveButton.setDisable(false);
+		this.solveButton.setDisable(!this.model.canSolve());
 	}
 
-	public void updateLayoutAfterMove(Move lastMove) {
-		if (lastMove != null) {
-			int line1 = lastMove.getBegin().getLine();
-			int col1 = lastMove.getBegin().getCol();
-			PositionImage pi1 = this.positionImages.get(line1 * FifteenModel.N_COLS + col1);
-			String text1 = pi1.getImageName();
+	/**
+	 * Shows the current model piece at every position
+	 */
+	void updateAllPieces() {
+		for (int i = 0; i < this.positionImages.size(); i++) {
+			this.updatePiece(i);
+		}
+	}
+
+	/**
+	 * Shows the current model piece at a position
+	 *
+	 * @param index position index in line order
+	 */
+	void updatePiece(int index) {
+		PositionImage pi = this.positionImages.get(index);
+		pi.setImage(this.model.pieceTextAt(pi.getPosition()));
+	}
 
-			int line2 = lastMove.getEnd().getLine();
-			int col2 = lastMove.getEnd().getCol();
-			PositionImage pi2 = this.positionImages.get(line2 * FifteenModel.N_COLS + col2);
-			String text2 = pi2.getImageName();
+	void showTime(int timerValue) {
+		this.timeLabel.setText(timerValue + "");
+	}
 
-			pi1.setImage(text2);
-			pi2.setImage(text1);
-		}
+	void showWin() {
+		this.model.stopTimer();
+		this.cancelHint();
+		new Alert(AlertType.INFORMATION, "You win! ").showAndWait();
+		this.mixModel();
+		this.panBtns.setDisable(false);
+		this.model.startTimer();
+		this.updateAllLayout();
 	}
 
+	/**
+	 * Called by the model from any thread; changes are shown on the next
+	 * JavaFX pulse (see FrameUpdater)
+	 */
 	@Override
 	public void notifyView(Move lastMove, Boolean wins, int timerValue) {
-		Platform.runLater(() -> {
-			if (lastMove != null) {
-				this.updateLayoutAfterMove(lastMove);
-			}
-			if (wins) {
-				this.model.stopTimer();
-				new Alert(AlertType.INFORMATION, "You win! ").showAndWait();
-				this.mixModel();
-				this.panBtns.setDisable(false);
-				this.model.startTimer();
-				this.updateAllLayout();
+		GameRecorder r = this.recorder;
+		if (wins && r != null) {
+			try {
+				r.record(this.model); // before a new board replaces the game
+			} catch (IOException e) {
+				System.err.println("Game not recorded: " + e.getMessage());
 			}
-			this.timeLabel.setText(timerValue + "");
-		});
+		}
+		this.frames.notify(lastMove, wins, timerValue);
 	}
 
 	/**
@@ -0,0 +1,100 @@
+package pt.ipbeja.estig.fifteen.gui;
+
+import java.util.BitSet;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javafx.animation.AnimationTimer;
+import javafx.application.Platform;
+import pt.ipbeja.estig.fifteen.metrics.FifteenMetrics;
+import pt.ipbeja.estig.fifteen.model.Move;
+
+/**
+ * Collects model notifications from any thread and shows them at most once
+ * per JavaFX pulse. Moves only mark positions as dirty; each frame shows
+ * the current model pieces at the dirty positions, so states the display
+ * could not keep up with are skipped (and counted as dropped frames, see
+ * FifteenMetrics).
+ * Moves wait in a bounded queue; if it fills up the whole board is
+ * repainted instead.
+ *
+ * @author João Paulo Barros
+ * @version 2026/10/17
+ */
+class FrameUpdater extends AnimationTimer {
+	private static final int QUEUE_CAPACITY = 256;
+
+	private final FifteenJavaFXGUI gui;
+	private final int nCols;
+	private final BlockingQueue<Move> moves;
+	private final AtomicBoolean overflow;
+	private final AtomicBoolean win;
+	private final AtomicInteger changes; // since the last frame
+	private volatile int timerValue;
+	private final BitSet dirty; // FX thread only
+	private int shownTimerValue;
+
+	FrameUpdater(FifteenJavaFXGUI gui, int nCols) {
+		this.gui = gui;
+		this.nCols = nCols;
+		this.moves = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+		this.overflow = new AtomicBoolean(false);
+		this.win = new AtomicBoolean(false);
+		this.changes = new AtomicInteger(0);
+		this.timerValue = 0;
+		this.dirty = new BitSet();
+		this.shownTimerValue = -1;
+	}
+
+	/**
+	 * Records a model notification; may be called from any thread
+	 */
+	void notify(Move move, boolean wins, int timerValue) {
+		if (move != null) {
+			if (!this.moves.offer(move)) {
+				this.overflow.set(true);
+			}
+			this.changes.incrementAndGet();
+		}
+		this.timerValue = timerValue;
+		if (wins) {
+			this.win.set(true);
+		}
+	}
+
+	@Override
+	public void handle(long now) {
+		int n = this.changes.getAndSet(0);
+		if (n > 1) {
+			FifteenMetrics.get().framesDropped(n - 1);
+		}
+		if (this.overflow.getAndSet(false)) {
+			this.moves.clear();
+			this.gui.updateAllPieces();
+		} else {
+			Move move;
+			while ((move = this.moves.poll()) != null) {
+				this.dirty.set(this.indexOf(move.getBegin().getLine(), move.getBegin().getCol()));
+				this.dirty.set(this.indexOf(move.getEnd().getLine(), move.getEnd().getCol()));
+			}
+			for (int i = this.dirty.nextSetBit(0); i >= 0; i = this.dirty.nextSetBit(i + 1)) {
+				this.gui.updatePiece(i);
+			}
+			this.dirty.clear();
+		}
+		int t = this.timerValue;
+		if (t != this.shownTimerValue) {
+			this.gui.showTime(t);
+			this.shownTimerValue = t;
+		}
+		if (this.win.getAndSet(false)) {
+			Platform.runLater(this.gui::showWin); // dialogs cannot be shown during a pulse
+		}
+	}
+
+	private int indexOf(int line, int col) {
+		return line * this.nCols + col;
+	}
+}
@@ -0,0 +1,74 @@
+package pt.ipbeja.estig.fifteen.gui;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import javafx.scene.image.Image;
+import pt.ipbeja.estig.fifteen.metrics.FifteenMetrics;
+
+/**
+ * Decoded piece images, shared by all positions: each image is decoded once
+ * per name and size, and showing a piece afterwards only hands out the same
+ * Image instance (JavaFX images are immutable). Requests and decoded
+ * images are counted in FifteenMetrics.
+ *
+ * @author João Paulo Barros
+ * @version 2026/10/17
+ */
+final class ImageCache {
+	private static final String FOLDER = "/resources/images/";
+	private static final Map<String, Image> IMAGES = new ConcurrentHashMap<>();
+
+	private ImageCache() {
+	}
+
+	/**
+	 * Gets the image for a piece, decoding it on first use
+	 *
+	 * @param name     image name (piece text)
+	 * @param size     width and height in pixels
+	 * @param fallback creates the image when there is no image file
+	 * @return the shared image
+	 */
+	static Image get(String name, int size, Function<String, Image> fallback) {
+		String key = name + "@" + size;
+		Image image = IMAGES.get(key);
+		FifteenMetrics.get().imageRequested(image != null);
+		if (image != null) {
+			return image;
+		}
+		return IMAGES.computeIfAbsent(key, k -> {
+			FifteenMetrics.get().imageDecoded();
+			return ImageCache.hasFile(name)
+					? new Image(ImageCache.fileName(name), size, size, true, true, false)
+					: fallback.apply(name);
+		});
+	}
+
+	/**
+	 * Starts decoding the image files in the background (JavaFX image
+	 * loader threads) so the first moves do not wait for them
+	 *
+	 * @param names image names (piece texts)
+	 * @param size  width and height in pixels
+	 */
+	static void preload(Iterable<String> names, int size) {
+		for (String name : names) {
+			if (ImageCache.hasFile(name)) {
+				IMAGES.computeIfAbsent(name + "@" + size, k -> {
+					FifteenMetrics.get().imageDecoded();
+					return new Image(ImageCache.fileName(name), size, size, true, true, true);
+				});
+			}
+		}
+	}
+
+	private static boolean hasFile(String name) {
+		return ImageCache.class.getResource(ImageCache.fileName(name)) != null;
+	}
+
+	private static String fileName(String name) {
+		return FOLDER + name + ".png";
+	}
+}
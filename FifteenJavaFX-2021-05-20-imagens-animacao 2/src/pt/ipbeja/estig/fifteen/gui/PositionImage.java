@@ -2,6 +2,11 @@ package pt.ipbeja.estig.fifteen.gui;
 
 import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
+import javafx.scene.layout.StackPane;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.Rectangle;
+import javafx.scene.text.Font;
+import javafx.scene.text.Text;
 import pt.ipbeja.estig.fifteen.model.Position;
 
 /**
@@ -13,6 +18,8 @@ import pt.ipbeja.estig.fifteen.model.Position;
  */
 public class PositionImage extends ImageView
 {
+	static final int SIZE = 150; // size of the image files
+
 	private final Position position;
 	private String imageName;
 
@@ -33,14 +40,32 @@ public class PositionImage extends ImageView
 	public String getImageName() { return this.imageName; }
 
 	/**
-	 * sets the text and image for the button
+	 * sets the text and image for the button, decoded only once for all
+	 * positions (see ImageCache)
 	 * @param imageName image name to set
 	 */
 	public void setImage(String imageName)
 	{
+		if (imageName.equals(this.imageName))
+		{
+			return;
+		}
 		this.imageName = imageName;
-		String filename = "/resources/images/" + this.imageName + ".png";
-		Image img = new Image(filename);
-		this.setImage(img);
+		this.setImage(ImageCache.get(imageName, SIZE, PositionImage::createTextImage));
+	}
+
+	/**
+	 * Draws the piece number, for boards with more pieces than image files
+	 * @param text text to draw
+	 * @return image with the same size as the image files
+	 */
+	private static Image createTextImage(String text)
+	{
+		Rectangle background = new Rectangle(SIZE, SIZE, Color.LIGHTGRAY);
+		background.setStroke(Color.DARKGRAY);
+		Text number = new Text(text);
+		number.setFont(Font.font(SIZE / 2.0));
+		StackPane pane = new StackPane(background, number);
+		return pane.snapshot(null, null);
 	}
 }
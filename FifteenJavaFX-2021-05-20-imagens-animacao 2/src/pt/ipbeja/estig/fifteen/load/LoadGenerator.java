@@ -0,0 +1,378 @@
+package pt.ipbeja.estig.fifteen.load;
+
+import com.sun.management.GarbageCollectionNotificationInfo;
+import pt.ipbeja.estig.fifteen.gui.View;
+import pt.ipbeja.estig.fifteen.metrics.Histogram;
+import pt.ipbeja.estig.fifteen.model.Direction;
+import pt.ipbeja.estig.fifteen.model.FifteenModel;
+import pt.ipbeja.estig.fifteen.model.Move;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+
+/**
+ * Headless load test of the model: many games, each with a synthetic
+ * player, played by a fixed number of threads (each thread takes turns
+ * among its games, so there can be many more games than threads). Players
+ * make random moves, follow the solver, or press keys in bursts.
+ *
+ * Reports moves per second (in total and per thread), the latency of each
+ * move, bytes allocated per move and the GC pauses during the run. Games
+ * per thread is the number of games at a human pace (-r moves per second
+ * per player) that one thread sustains.
+ *
+ * Usage: LoadGenerator [-g games] [-t threads] [-s LINESxCOLS]
+ * [-d seconds | -m moves] [-p random=70,solver=10,burst=20] [-r moves/s]
+ * [--ticks]
+ *
+ * @author João Paulo Barros
+ * @version 2026/10/17
+ */
+public class LoadGenerator {
+    private static final int MIX_MIN = 20;
+    private static final int MIX_MAX = 40;
+    private static final int MAX_BURST = 32;
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    enum Kind {RANDOM, SOLVER, BURST}
+
+    /**
+     * A game with its player; the model is only used by one thread
+     */
+    private static final class Player implements View {
+        private final FifteenModel model;
+        private final Kind kind;
+        private final Random random;
+        private Iterator<Direction> plan; // solver players
+        private long moves;
+        private long wins;
+
+        Player(int nLines, int nCols, Kind kind, long seed, boolean ticks) {
+            this.model = new FifteenModel(nLines, nCols, this);
+            this.kind = kind;
+            this.random = new Random(seed);
+            this.model.setTimerNotifications(ticks);
+            this.newGame();
+        }
+
+        @Override
+        public void notifyView(Move move, Boolean winning, int tValue) {
+            if (move != null) {
+                this.moves++;
+                if (winning) {
+                    this.wins++;
+                }
+            }
+        }
+
+        private void newGame() {
+            this.model.mix(MIX_MIN, MIX_MAX);
+            this.model.resetTimer();
+            this.model.startTimer();
+            this.plan = null;
+        }
+
+        /**
+         * Makes one move, or a burst of moves for burst players
+         */
+        void turn(Histogram latency) {
+            switch (this.kind) {
+                case RANDOM:
+                    this.randomMove(latency);
+                    break;
+                case SOLVER:
+                    if (!this.model.canSolve()) {
+                        this.randomMove(latency); // board too large to solve
+                        break;
+                    }
+                    if (this.plan == null || !this.plan.hasNext()) {
+                        this.plan = this.model.findSolution().iterator();
+                    }
+                    if (this.plan.hasNext()) {
+                        this.move(this.plan.next(), latency);
+                    }
+                    break;
+                case BURST:
+                    for (int n = 1 + this.random.nextInt(MAX_BURST); n > 0; n--) {
+                        this.move(DIRECTIONS[this.random.nextInt(DIRECTIONS.length)], latency);
+                    }
+                    break;
+            }
+            if (this.model.inWinningPositions()) {
+                this.newGame();
+            }
+        }
+
+        /**
+         * Tries random directions until one moves a piece
+         */
+        private void randomMove(Histogram latency) {
+            long before = this.moves;
+            int first = this.random.nextInt(DIRECTIONS.length);
+            for (int i = 0; i < DIRECTIONS.length && this.moves == before; i++) {
+                this.move(DIRECTIONS[(first + i) % DIRECTIONS.length], latency);
+            }
+        }
+
+        private void move(Direction direction, Histogram latency) {
+            long start = System.nanoTime();
+            this.model.keyPressed(direction);
+            latency.record(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Collects the GC pauses reported by the JVM during the run
+     */
+    private static final class GcWatcher implements NotificationListener {
+        private final Histogram pauses = new Histogram(); // milliseconds
+        private final List<NotificationEmitter> emitters = new ArrayList<>();
+        private long startCount;
+        private long startMillis;
+
+        void start() {
+            for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+                this.startCount += gc.getCollectionCount();
+                this.startMillis += gc.getCollectionTime();
+                if (gc instanceof NotificationEmitter) {
+                    ((NotificationEmitter) gc).addNotificationListener(this, null, null);
+                    this.emitters.add((NotificationEmitter) gc);
+                }
+            }
+        }
+
+        @Override
+        public void handleNotification(Notification notification, Object handback) {
+            if (GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION.equals(notification.getType())) {
+                GarbageCollectionNotificationInfo info =
+                        GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData());
+                this.pauses.record(info.getGcInfo().getDuration());
+            }
+        }
+
+        String stop() {
+            long count = -this.startCount;
+            long millis = -this.startMillis;
+            for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+                count += gc.getCollectionCount();
+                millis += gc.getCollectionTime();
+            }
+            for (NotificationEmitter emitter : this.emitters) {
+                try {
+                    emitter.removeNotificationListener(this);
+                } catch (javax.management.ListenerNotFoundException e) {
+                    // nothing to do
+                }
+            }
+            return String.format("%d collections, %d ms in total, pause p50 %d ms, p99 %d ms, max %d ms",
+                    count, millis, this.pauses.getPercentile(0.5), this.pauses.getPercentile(0.99),
+                    this.pauses.getMax());
+        }
+    }
+
+    private final List<Player> players;
+    private final int nThreads;
+    private final Histogram latency;
+    private final LongAdder allocatedBytes;
+    private final AtomicLong movesLeft; // < 0 to play until stopped
+    private volatile boolean stopped;
+
+    /**
+     * @param weights relative number of players of each kind, in Kind order
+     */
+    public LoadGenerator(int nGames, int nThreads, int nLines, int nCols, int[] weights, boolean ticks) {
+        this.players = new ArrayList<>(nGames);
+        int total = 0;
+        for (int w : weights) {
+            total += w;
+        }
+        Random random = new Random(42);
+        for (int i = 0; i < nGames; i++) {
+            int r = random.nextInt(total);
+            int k = 0;
+            while (r >= weights[k]) {
+                r -= weights[k++];
+            }
+            this.players.add(new Player(nLines, nCols, Kind.values()[k], random.nextLong(), ticks));
+        }
+        this.nThreads = nThreads;
+        this.latency = new Histogram();
+        this.allocatedBytes = new LongAdder();
+        this.movesLeft = new AtomicLong(-1);
+    }
+
+    /**
+     * Plays until stop is called or maxMoves have been made
+     *
+     * @param maxMoves number of moves, negative for no limit
+     * @return a latch released when all threads have finished
+     */
+    public CountDownLatch start(long maxMoves) {
+        this.movesLeft.set(maxMoves);
+        CountDownLatch done = new CountDownLatch(this.nThreads);
+        for (int t = 0; t < this.nThreads; t++) {
+            int first = t;
+            Thread thread = new Thread(() -> {
+                this.play(first);
+                done.countDown();
+            }, "player-" + t);
+            thread.setDaemon(true);
+            thread.start();
+        }
+        return done;
+    }
+
+    public void stop() {
+        this.stopped = true;
+    }
+
+    /**
+     * Takes turns among the games first, first + nThreads...
+     */
+    private void play(int first) {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        long allocatedBefore = LoadGenerator.allocatedBytes(threads);
+        Histogram latency = new Histogram(); // per thread, so threads do not contend on it
+        int size = this.players.size();
+        while (!this.stopped && first < size) {
+            for (int i = first; i < size && !this.stopped; i += this.nThreads) {
+                Player player = this.players.get(i);
+                long before = player.moves;
+                player.turn(latency);
+                if (this.movesLeft.get() >= 0 && this.movesLeft.addAndGet(-(player.moves - before)) <= 0) {
+                    this.stopped = true;
+                }
+            }
+        }
+        this.allocatedBytes.add(LoadGenerator.allocatedBytes(threads) - allocatedBefore);
+        this.latency.add(latency);
+    }
+
+    private static long allocatedBytes(ThreadMXBean threads) {
+        if (threads instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) threads).getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return 0; // not available in this JVM
+    }
+
+    /**
+     * @return moves made by all players so far (racy while playing)
+     */
+    public long getMoves() {
+        long moves = 0;
+        for (Player player : this.players) {
+            moves += player.moves;
+        }
+        return moves;
+    }
+
+    public long getWins() {
+        long wins = 0;
+        for (Player player : this.players) {
+            wins += player.wins;
+        }
+        return wins;
+    }
+
+    /**
+     * @return latency of each move, in nanoseconds, once all threads finished
+     */
+    public Histogram getLatency() {
+        return this.latency;
+    }
+
+    /**
+     * @return bytes allocated by the player threads, once all threads finished
+     */
+    public long getAllocatedBytes() {
+        return this.allocatedBytes.sum();
+    }
+
+    private static int[] weights(String mix) {
+        int[] weights = new int[Kind.values().length];
+        for (String part : mix.split(",")) {
+            String[] kv = part.split("=");
+            weights[Kind.valueOf(kv[0].trim().toUpperCase()).ordinal()] = Integer.parseInt(kv[1].trim());
+        }
+        return weights;
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        int nGames = 10_000;
+        int nThreads = Runtime.getRuntime().availableProcessors();
+        int nLines = FifteenModel.N_LINES;
+        int nCols = FifteenModel.N_COLS;
+        int seconds = 10;
+        long maxMoves = -1;
+        String mix = "random=70,solver=10,burst=20";
+        double playerRate = 3; // moves per second of a human player
+        boolean ticks = false;
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "-g": nGames = Integer.parseInt(args[++i]); break;
+                    case "-t": nThreads = Integer.parseInt(args[++i]); break;
+                    case "-s":
+                        String[] size = args[++i].toLowerCase().split("x");
+                        nLines = Integer.parseInt(size[0]);
+                        nCols = Integer.parseInt(size[1]);
+                        break;
+                    case "-d": seconds = Integer.parseInt(args[++i]); break;
+                    case "-m": maxMoves = Long.parseLong(args[++i]); break;
+                    case "-p": mix = args[++i]; break;
+                    case "-r": playerRate = Double.parseDouble(args[++i]); break;
+                    case "--ticks": ticks = true; break;
+                    default: throw new IllegalArgumentException(args[i]);
+                }
+            }
+        } catch (RuntimeException e) {
+            System.err.println("Usage: LoadGenerator [-g games] [-t threads] [-s LINESxCOLS] " +
+                    "[-d seconds | -m moves] [-p random=70,solver=10,burst=20] [-r moves/s] [--ticks]");
+            System.exit(1);
+        }
+
+        LoadGenerator load = new LoadGenerator(nGames, nThreads, nLines, nCols, LoadGenerator.weights(mix), ticks);
+        System.out.printf("%d %dx%d games (%s) on %d threads%n", nGames, nLines, nCols, mix, nThreads);
+        GcWatcher gc = new GcWatcher();
+        gc.start();
+        long start = System.nanoTime();
+        CountDownLatch done = load.start(maxMoves);
+        long previous = 0;
+        for (int s = 1; !done.await(1, TimeUnit.SECONDS); s++) {
+            long moves = load.getMoves();
+            System.out.printf("%4d s %,12d moves/s%n", s, moves - previous);
+            previous = moves;
+            if (maxMoves < 0 && s >= seconds) {
+                load.stop();
+            }
+        }
+        double elapsed = (System.nanoTime() - start) / 1e9;
+
+        long moves = load.getMoves();
+        double perSecond = moves / elapsed;
+        Histogram latency = load.getLatency();
+        System.out.printf("Moves: %,d in %.1f s, %,.0f/s, %,.0f/s per thread, %,d wins%n",
+                moves, elapsed, perSecond, perSecond / nThreads, load.getWins());
+        System.out.printf("Games per thread at %.1f moves/s: %,.0f%n", playerRate, perSecond / nThreads / playerRate);
+        System.out.printf("Move latency: mean %.0f ns, p50 %d ns, p99 %d ns, p99.9 %d ns, max %d us%n",
+                latency.getMean(), latency.getPercentile(0.5), latency.getPercentile(0.99),
+                latency.getPercentile(0.999), latency.getMax() / 1000);
+        System.out.printf("Allocation: %,.1f MB/s, %.0f bytes per move%n",
+                load.getAllocatedBytes() / elapsed / 1e6, (double) load.getAllocatedBytes() / Math.max(1, moves));
+        System.out.println("GC: " + gc.stop());
+        System.exit(0);
+    }
+}
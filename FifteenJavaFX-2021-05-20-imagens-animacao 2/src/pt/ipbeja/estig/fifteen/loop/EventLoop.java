@@ -0,0 +1,115 @@
+package pt.ipbeja.estig.fifteen.loop;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * One thread running commands in the order they were submitted. Any thread
+ * may submit (execute); commands wait in a lock-free queue and the loop
+ * thread parks only when the queue is empty, so a busy loop never blocks
+ * and submitters wake it only after it went to sleep. A command accepted
+ * by execute always runs, even if the loop is shut down meanwhile.
+ *
+ * @author João Paulo Barros
+ * @version 2026/10/17
+ */
+public final class EventLoop implements Executor {
+    private final Queue<Runnable> commands;
+    private final AtomicBoolean sleeping;
+    private final LongAdder executed;
+    private final Thread thread;
+    private volatile boolean running;
+
+    /**
+     * Creates and starts the loop thread (a daemon)
+     *
+     * @param name name of the thread
+     */
+    public EventLoop(String name) {
+        this.commands = new ConcurrentLinkedQueue<>();
+        this.sleeping = new AtomicBoolean(false);
+        this.executed = new LongAdder();
+        this.running = true;
+        this.thread = new Thread(this::run, name);
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    /**
+     * Queues a command, to run on the loop thread after the ones before it
+     *
+     * @throws RejectedExecutionException if the loop was shut down
+     */
+    @Override
+    public void execute(Runnable command) {
+        this.commands.offer(command);
+        // queued before the loop saw the shutdown, or taken back here: never dropped
+        if (!this.running && this.commands.remove(command)) {
+            throw new RejectedExecutionException("Event loop shut down: " + this.thread.getName());
+        }
+        if (this.sleeping.get() && this.sleeping.compareAndSet(true, false)) {
+            LockSupport.unpark(this.thread);
+        }
+    }
+
+    /**
+     * @return true if called from the loop thread
+     */
+    public boolean inLoop() {
+        return Thread.currentThread() == this.thread;
+    }
+
+    /**
+     * @return commands run so far
+     */
+    public long getExecutedCount() {
+        return this.executed.sum();
+    }
+
+    /**
+     * Stops the loop after the commands already queued
+     */
+    public void shutdown() {
+        this.running = false;
+        LockSupport.unpark(this.thread);
+    }
+
+    /**
+     * Waits for the loop thread to end, after shutdown
+     */
+    public void awaitTermination() throws InterruptedException {
+        this.thread.join();
+    }
+
+    private void run() {
+        while (true) {
+            Runnable command = this.commands.poll();
+            if (command == null && !this.running) {
+                command = this.commands.poll(); // queued before the shutdown was seen
+                if (command == null) {
+                    return;
+                }
+            }
+            if (command != null) {
+                try {
+                    command.run();
+                } catch (RuntimeException | Error e) {
+                    // a failed command does not stop the loop
+                    this.thread.getUncaughtExceptionHandler().uncaughtException(this.thread, e);
+                }
+                this.executed.increment();
+            } else {
+                this.sleeping.set(true);
+                if (this.commands.isEmpty() && this.running) {
+                    LockSupport.park(this);
+                }
+                this.sleeping.set(false);
+            }
+        }
+    }
+}
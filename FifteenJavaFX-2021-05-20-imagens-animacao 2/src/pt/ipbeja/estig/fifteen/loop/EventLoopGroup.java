@@ -0,0 +1,70 @@
+package pt.ipbeja.estig.fifteen.loop;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A few event loops shared by many games: each game is given one loop
+ * for its whole life, so its commands run in order on a single thread
+ * while different games run in parallel.
+ *
+ * @author João Paulo Barros
+ * @version 2026/10/17
+ */
+public final class EventLoopGroup {
+    private final EventLoop[] loops;
+    private final AtomicInteger next;
+
+    /**
+     * @param nLoops number of loop threads, usually the number of processors
+     */
+    public EventLoopGroup(int nLoops) {
+        this.loops = new EventLoop[nLoops];
+        for (int i = 0; i < nLoops; i++) {
+            this.loops[i] = new EventLoop("game-loop-" + i);
+        }
+        this.next = new AtomicInteger(0);
+    }
+
+    /**
+     * @return the loops in turn, to spread new games evenly
+     */
+    public EventLoop next() {
+        return this.loops[Math.floorMod(this.next.getAndIncrement(), this.loops.length)];
+    }
+
+    /**
+     * @param key game identifier (e.g. a session or player id)
+     * @return always the same loop for the same key
+     */
+    public EventLoop loopFor(Object key) {
+        int h = key.hashCode();
+        return this.loops[Math.floorMod(h ^ (h >>> 16), this.loops.length)];
+    }
+
+    public int size() {
+        return this.loops.length;
+    }
+
+    /**
+     * @return commands run by all loops so far
+     */
+    public long getExecutedCount() {
+        long n = 0;
+        for (EventLoop loop : this.loops) {
+            n += loop.getExecutedCount();
+        }
+        return n;
+    }
+
+    /**
+     * Stops all loops after the commands already queued and waits for them
+     */
+    public void shutdown() throws InterruptedException {
+        for (EventLoop loop : this.loops) {
+            loop.shutdown();
+        }
+        for (EventLoop loop : this.loops) {
+            loop.awaitTermination();
+        }
+    }
+}
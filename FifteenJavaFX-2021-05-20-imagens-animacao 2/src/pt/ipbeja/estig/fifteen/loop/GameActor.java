@@ -0,0 +1,186 @@
+package pt.ipbeja.estig.fifteen.loop;
+
+import pt.ipbeja.estig.fifteen.gui.View;
+import pt.ipbeja.estig.fifteen.model.Direction;
+import pt.ipbeja.estig.fifteen.model.FifteenModel;
+import pt.ipbeja.estig.fifteen.model.Move;
+import pt.ipbeja.estig.fifteen.model.Position;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * A game driven only through its event loop: commands from any thread are
+ * queued and applied to the model one at a time by the loop thread, so the
+ * model has a single writer and its lock is never contended by players.
+ * Solve and unmix moves still come from the game scheduler (see Playback).
+ * After each change a new GameSnapshot is published, which readers get
+ * without locking or waiting for the loop.
+ *
+ * @author João Paulo Barros
+ * @version 2026/10/17
+ */
+public final class GameActor implements View {
+    private final EventLoop loop;
+    private final FifteenModel model;
+    private final View view;
+    private final AtomicReference<GameSnapshot> snapshot;
+    private long version; // guarded by the model lock
+
+    /**
+     * Creates a game in winning position
+     *
+     * @param loop   the loop that applies all the commands
+     * @param nLines number of lines
+     * @param nCols  number of columns
+     * @param view   notified of each change, after the snapshot is published; may be null
+     */
+    public GameActor(EventLoop loop, int nLines, int nCols, View view) {
+        this.loop = loop;
+        this.view = view;
+        this.model = new FifteenModel(nLines, nCols, this);
+        this.snapshot = new AtomicReference<>();
+        synchronized (this.model) {
+            this.publish();
+        }
+    }
+
+    public EventLoop getLoop() {
+        return this.loop;
+    }
+
+    /**
+     * @return the state after the last change, possibly older than the
+     * commands still queued
+     */
+    public GameSnapshot snapshot() {
+        return this.snapshot.get();
+    }
+
+    /**
+     * @return completed when the move was tried
+     */
+    public CompletableFuture<Void> keyPressed(Direction direction) {
+        return this.submit(model -> model.keyPressed(direction), false);
+    }
+
+    /**
+     * @return completed when the move was tried
+     */
+    public CompletableFuture<Void> pieceSelected(Position position) {
+        return this.submit(model -> model.pieceSelected(position), false);
+    }
+
+    /**
+     * @param tiles pieces in line order
+     * @return completed when the board is replaced, or with an
+     * IllegalArgumentException, leaving the game unchanged, if the board is invalid
+     */
+    public CompletableFuture<Void> setTiles(int[] tiles) {
+        int[] copy = tiles.clone();
+        return this.execute(model -> model.setTiles(copy));
+    }
+
+    public CompletableFuture<Void> scramble() {
+        return this.execute(FifteenModel::scramble);
+    }
+
+    public CompletableFuture<Void> mix(int minMoves, int maxMoves) {
+        return this.execute(model -> model.mix(minMoves, maxMoves));
+    }
+
+    /**
+     * @return completed when the solution playback is started
+     */
+    public CompletableFuture<Void> solve(int sleepTime) {
+        return this.submit(model -> model.solve(sleepTime), false);
+    }
+
+    /**
+     * @return completed when the rewind playback is started
+     */
+    public CompletableFuture<Void> unmix(int sleepTime) {
+        return this.submit(model -> model.unmix(sleepTime), false);
+    }
+
+    /**
+     * Queues any command on the model; a new snapshot is published after it
+     *
+     * @param command runs on the loop thread
+     * @return completed after the command, exceptionally with what it threw
+     * @throws java.util.concurrent.RejectedExecutionException if the loop was shut down
+     */
+    public CompletableFuture<Void> execute(Consumer<FifteenModel> command) {
+        return this.submit(command, true);
+    }
+
+    /**
+     * @param publish true to publish a snapshot after the command, for
+     *                commands that change the model without notifying its view
+     */
+    private CompletableFuture<Void> submit(Consumer<FifteenModel> command, boolean publish) {
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        this.loop.execute(() -> {
+            try {
+                command.accept(this.model);
+                done.complete(null);
+            } catch (Throwable e) {
+                done.completeExceptionally(e); // reported to the caller, not to the loop
+            } finally {
+                if (publish) {
+                    synchronized (this.model) {
+                        this.publish();
+                    }
+                }
+            }
+        });
+        return done;
+    }
+
+    /**
+     * Queues a query, answered after the commands before it
+     *
+     * @param query runs on the loop thread
+     * @return the answer, completed on the loop thread, exceptionally with
+     * what the query threw
+     * @throws java.util.concurrent.RejectedExecutionException if the loop was shut down
+     */
+    public <T> CompletableFuture<T> ask(Function<FifteenModel, T> query) {
+        CompletableFuture<T> answer = new CompletableFuture<>();
+        this.loop.execute(() -> {
+            try {
+                answer.complete(query.apply(this.model));
+            } catch (Throwable e) {
+                answer.completeExceptionally(e);
+            }
+        });
+        return answer;
+    }
+
+    /**
+     * Called by the model, holding its lock for moves and without it for
+     * timer ticks
+     */
+    @Override
+    public void notifyView(Move move, Boolean winning, int tValue) {
+        if (move != null || winning) {
+            this.publish();
+        } else {
+            this.snapshot.updateAndGet(s -> s.withTimerValue(tValue));
+        }
+        if (this.view != null) {
+            this.view.notifyView(move, winning, tValue);
+        }
+    }
+
+    /**
+     * Must hold the model lock
+     */
+    private void publish() {
+        this.version++;
+        this.snapshot.set(new GameSnapshot(this.version, this.model.getNCols(), this.model.getTiles(),
+                this.model.getLastMove(), this.model.getTimerValue(), this.model.inWinningPositions()));
+    }
+}
@@ -0,0 +1,82 @@
+package pt.ipbeja.estig.fifteen.loop;
+
+import pt.ipbeja.estig.fifteen.model.Move;
+
+/**
+ * An unchanging copy of a game state, readable from any thread without
+ * locking
+ *
+ * @author João Paulo Barros
+ * @version 2026/10/17
+ */
+public final class GameSnapshot {
+    private final long version;
+    private final int nCols;
+    private final int[] tiles;
+    private final Move lastMove;
+    private final int timerValue;
+    private final boolean winning;
+
+    GameSnapshot(long version, int nCols, int[] tiles, Move lastMove, int timerValue, boolean winning) {
+        this.version = version;
+        this.nCols = nCols;
+        this.tiles = tiles;
+        this.lastMove = lastMove;
+        this.timerValue = timerValue;
+        this.winning = winning;
+    }
+
+    /**
+     * @return a snapshot equal to this one but for the timer value
+     */
+    GameSnapshot withTimerValue(int timerValue) {
+        return new GameSnapshot(this.version, this.nCols, this.tiles, this.lastMove, timerValue, this.winning);
+    }
+
+    /**
+     * @return number of board changes before this snapshot; a newer
+     * snapshot of the same game has a larger version
+     */
+    public long getVersion() {
+        return this.version;
+    }
+
+    public int getNLines() {
+        return this.tiles.length / this.nCols;
+    }
+
+    public int getNCols() {
+        return this.nCols;
+    }
+
+    /**
+     * @param line line of the position
+     * @param col  column of the position
+     * @return piece at the position, FifteenModel.EMPTY for the empty one
+     */
+    public int pieceAt(int line, int col) {
+        return this.tiles[line * this.nCols + col];
+    }
+
+    /**
+     * @return all the pieces in line order, in a new array
+     */
+    public int[] getTiles() {
+        return this.tiles.clone();
+    }
+
+    /**
+     * @return the last move, null if none
+     */
+    public Move getLastMove() {
+        return this.lastMove;
+    }
+
+    public int getTimerValue() {
+        return this.timerValue;
+    }
+
+    public boolean isWinning() {
+        return this.winning;
+    }
+}
@@ -0,0 +1,278 @@
+package pt.ipbeja.estig.fifteen.metrics;
+
+import pt.ipbeja.estig.fifteen.model.GameClock;
+import pt.ipbeja.estig.fifteen.solver.SolutionCache;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Counters of all games in this JVM. Games and solvers only add to
+ * LongAdders and lock-free histograms, so recording takes no lock and
+ * threads making moves do not contend; rates and percentiles are computed
+ * when a client asks for them. Call register to see them over JMX.
+ *
+ * @author João Paulo Barros
+ * @version 2026/10/17
+ */
+public final class FifteenMetrics implements FifteenMetricsMBean {
+    public static final String OBJECT_NAME = "pt.ipbeja.estig.fifteen:type=Metrics";
+
+    private static final FifteenMetrics INSTANCE = new FifteenMetrics();
+    private static final double NANOS_PER_MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long SAMPLE_SECONDS = 1; // period of the moves per second
+
+    private final LongAdder moves;
+    private final LongAdder sessions;
+    private final LongAdder recordedGames;
+    private final LongAdder droppedFrames;
+    private final LongAdder imageHits;
+    private final LongAdder imageMisses;
+    private final LongAdder imagesDecoded;
+    private final Histogram solveNanos;
+    private final Histogram searchNodes;
+
+    private long sampledMoves; // at the last sample, on the game scheduler only
+    private long sampledNanos;
+    private volatile double movesPerSecond;
+
+    private FifteenMetrics() {
+        this.moves = new LongAdder();
+        this.sessions = new LongAdder();
+        this.recordedGames = new LongAdder();
+        this.droppedFrames = new LongAdder();
+        this.imageHits = new LongAdder();
+        this.imageMisses = new LongAdder();
+        this.imagesDecoded = new LongAdder();
+        this.solveNanos = new Histogram();
+        this.searchNodes = new Histogram();
+        this.sampledMoves = 0;
+        this.sampledNanos = System.nanoTime();
+    }
+
+    /**
+     * @return the metrics of this JVM
+     */
+    public static FifteenMetrics get() {
+        return INSTANCE;
+    }
+
+    /**
+     * Publishes the metrics in the platform MBean server and starts sampling
+     * the moves per second; does nothing if they are already published
+     */
+    public static void register() {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            server.registerMBean(INSTANCE, new ObjectName(OBJECT_NAME));
+            INSTANCE.sampledNanos = System.nanoTime();
+            INSTANCE.sampledMoves = INSTANCE.moves.sum();
+            GameClock.scheduler().scheduleAtFixedRate(INSTANCE::sample, SAMPLE_SECONDS, SAMPLE_SECONDS,
+                    TimeUnit.SECONDS);
+        } catch (InstanceAlreadyExistsException e) {
+            // already registered
+        } catch (JMException e) {
+            throw new IllegalStateException("Cannot register " + OBJECT_NAME, e);
+        }
+    }
+
+    public void moveMade() {
+        this.moves.increment();
+    }
+
+    public void sessionOpened() {
+        this.sessions.increment();
+    }
+
+    public void sessionClosed() {
+        this.sessions.decrement();
+    }
+
+    public void gameRecorded() {
+        this.recordedGames.increment();
+    }
+
+    /**
+     * @param n board states skipped by a GUI frame
+     */
+    public void framesDropped(long n) {
+        this.droppedFrames.add(n);
+    }
+
+    /**
+     * @param cached true if the image was already decoded
+     */
+    public void imageRequested(boolean cached) {
+        (cached ? this.imageHits : this.imageMisses).increment();
+    }
+
+    public void imageDecoded() {
+        this.imagesDecoded.increment();
+    }
+
+    /**
+     * @param nanos time to get a solution, from the cache or by searching
+     */
+    public void solved(long nanos) {
+        this.solveNanos.record(nanos);
+    }
+
+    /**
+     * @param nodes nodes expanded by a search
+     */
+    public void searched(long nodes) {
+        this.searchNodes.record(nodes);
+    }
+
+    public Histogram getSolveNanos() {
+        return this.solveNanos;
+    }
+
+    public Histogram getSearchNodes() {
+        return this.searchNodes;
+    }
+
+    @Override
+    public long getMoves() {
+        return this.moves.sum();
+    }
+
+    @Override
+    public double getMovesPerSecond() {
+        return this.movesPerSecond;
+    }
+
+    /**
+     * Computes the moves per second since the previous sample, so reading
+     * the rate does not change it whoever reads it and how often
+     */
+    private void sample() {
+        long now = System.nanoTime();
+        long total = this.moves.sum();
+        this.movesPerSecond = (total - this.sampledMoves) * 1e9 / Math.max(1, now - this.sampledNanos);
+        this.sampledMoves = total;
+        this.sampledNanos = now;
+    }
+
+    @Override
+    public long getActiveSessions() {
+        return this.sessions.sum();
+    }
+
+    @Override
+    public long getSolves() {
+        return this.solveNanos.getCount();
+    }
+
+    @Override
+    public double getSolveMillisMean() {
+        return this.solveNanos.getMean() / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public double getSolveMillisP50() {
+        return this.solveNanos.getPercentile(0.5) / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public double getSolveMillisP90() {
+        return this.solveNanos.getPercentile(0.9) / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public double getSolveMillisP99() {
+        return this.solveNanos.getPercentile(0.99) / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public double getSolveMillisMax() {
+        return this.solveNanos.getMax() / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public long getSearches() {
+        return this.searchNodes.getCount();
+    }
+
+    @Override
+    public double getNodesPerSearchMean() {
+        return this.searchNodes.getMean();
+    }
+
+    @Override
+    public long getNodesPerSearchP50() {
+        return this.searchNodes.getPercentile(0.5);
+    }
+
+    @Override
+    public long getNodesPerSearchP99() {
+        return this.searchNodes.getPercentile(0.99);
+    }
+
+    @Override
+    public double getSolutionCacheHitRate() {
+        long hits = 0;
+        long total = 0;
+        for (SolutionCache cache : SolutionCache.allShared()) {
+            hits += cache.getHits();
+            total += cache.getHits() + cache.getMisses();
+        }
+        return total == 0 ? 0 : (double) hits / total;
+    }
+
+    @Override
+    public long getSolutionCacheSize() {
+        long size = 0;
+        for (SolutionCache cache : SolutionCache.allShared()) {
+            size += cache.size();
+        }
+        return size;
+    }
+
+    @Override
+    public long getRecordedGames() {
+        return this.recordedGames.sum();
+    }
+
+    @Override
+    public long getDroppedFrames() {
+        return this.droppedFrames.sum();
+    }
+
+    @Override
+    public long getImagesDecoded() {
+        return this.imagesDecoded.sum();
+    }
+
+    @Override
+    public double getImageCacheHitRate() {
+        long hits = this.imageHits.sum();
+        long total = hits + this.imageMisses.sum();
+        return total == 0 ? 0 : (double) hits / total;
+    }
+
+    @Override
+    public int getTimerThreadCount() {
+        return GameClock.getThreadCount();
+    }
+
+    @Override
+    public void resetHistograms() {
+        this.solveNanos.reset();
+        this.searchNodes.reset();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("moves %d, sessions %d, solves %d (p50 %.2f ms, p99 %.2f ms), " +
+                        "nodes/search %.0f, cache hits %.1f%%, timer threads %d",
+                this.getMoves(), this.getActiveSessions(), this.getSolves(), this.getSolveMillisP50(),
+                this.getSolveMillisP99(), this.getNodesPerSearchMean(), 100 * this.getSolutionCacheHitRate(),
+                this.getTimerThreadCount());
+    }
+}
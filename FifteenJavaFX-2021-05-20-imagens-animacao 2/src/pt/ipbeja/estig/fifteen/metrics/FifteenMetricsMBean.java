@@ -0,0 +1,89 @@
+package pt.ipbeja.estig.fifteen.metrics;
+
+/**
+ * Metrics of all games in this JVM, as seen by JMX clients (jconsole,
+ * VisualVM) under FifteenMetrics.OBJECT_NAME
+ *
+ * @author João Paulo Barros
+ * @version 2026/10/17
+ */
+public interface FifteenMetricsMBean {
+    /**
+     * @return moves made in all games (by players, solutions and rewinds)
+     */
+    long getMoves();
+
+    /**
+     * @return moves per second in the last second, 0 until register is
+     * called (see FifteenMetrics.register)
+     */
+    double getMovesPerSecond();
+
+    /**
+     * @return connected server sessions
+     */
+    long getActiveSessions();
+
+    /**
+     * @return solutions asked for, including those found in the cache
+     */
+    long getSolves();
+
+    double getSolveMillisMean();
+
+    double getSolveMillisP50();
+
+    double getSolveMillisP90();
+
+    double getSolveMillisP99();
+
+    double getSolveMillisMax();
+
+    /**
+     * @return searches actually run (solutions not in the cache)
+     */
+    long getSearches();
+
+    double getNodesPerSearchMean();
+
+    long getNodesPerSearchP50();
+
+    long getNodesPerSearchP99();
+
+    /**
+     * @return fraction of solutions found in the caches of all board sizes
+     */
+    double getSolutionCacheHitRate();
+
+    long getSolutionCacheSize();
+
+    /**
+     * @return games appended to game logs (see GameRecorder)
+     */
+    long getRecordedGames();
+
+    /**
+     * @return board states the GUI never showed, skipped to keep up with the moves
+     */
+    long getDroppedFrames();
+
+    /**
+     * @return piece images decoded by the GUI, once per name and size
+     */
+    long getImagesDecoded();
+
+    /**
+     * @return fraction of GUI piece images served without decoding
+     */
+    double getImageCacheHitRate();
+
+    /**
+     * @return threads of the scheduler shared by all game clocks
+     */
+    int getTimerThreadCount();
+
+    /**
+     * Forgets the solve and search histograms
+     */
+    void resetHistograms();
+}
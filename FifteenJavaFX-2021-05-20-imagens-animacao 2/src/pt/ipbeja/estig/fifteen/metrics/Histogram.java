@@ -0,0 +1,129 @@
+package pt.ipbeja.estig.fifteen.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free histogram of non negative values (latencies, node counts).
+ * Values below 16 have a bucket each; larger values share buckets 1/16 of
+ * their power of two wide, so percentiles are within about 6% of the
+ * real value, in a fixed 8 KB whatever the range of values.
+ *
+ * @author João Paulo Barros
+ * @version 2026/10/17
+ */
+public final class Histogram {
+    private static final int SUB_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BITS;
+    private static final int N_BUCKETS = (64 - SUB_BITS) * SUB_BUCKETS;
+
+    private final AtomicLongArray buckets;
+    private final LongAdder count;
+    private final LongAdder sum;
+    private final LongAccumulator max;
+
+    public Histogram() {
+        this.buckets = new AtomicLongArray(N_BUCKETS);
+        this.count = new LongAdder();
+        this.sum = new LongAdder();
+        this.max = new LongAccumulator(Math::max, 0);
+    }
+
+    /**
+     * @param value the value to count, negative values count as 0
+     */
+    public void record(long value) {
+        long v = Math.max(0, value);
+        this.buckets.incrementAndGet(Histogram.bucketOf(v));
+        this.count.increment();
+        this.sum.add(v);
+        this.max.accumulate(v);
+    }
+
+    public long getCount() {
+        return this.count.sum();
+    }
+
+    /**
+     * @return average of the values, 0 if none
+     */
+    public double getMean() {
+        long n = this.count.sum();
+        return n == 0 ? 0 : (double) this.sum.sum() / n;
+    }
+
+    public long getMax() {
+        return this.max.get();
+    }
+
+    /**
+     * @param fraction 0.5 for the median, 0.99 for the 99th percentile...
+     * @return the largest value of the bucket with that fraction of the
+     * values at or below it, 0 if there are no values
+     */
+    public long getPercentile(double fraction) {
+        long total = 0;
+        long[] counts = new long[N_BUCKETS];
+        for (int i = 0; i < N_BUCKETS; i++) {
+            counts[i] = this.buckets.get(i);
+            total += counts[i];
+        }
+        long rank = Math.max(1, (long) Math.ceil(fraction * total));
+        long seen = 0;
+        for (int i = 0; i < N_BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(Histogram.highestIn(i), this.getMax());
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Adds the values of another histogram, e.g. to merge the histograms
+     * kept by each thread
+     *
+     * @param other the histogram to add
+     */
+    public void add(Histogram other) {
+        for (int i = 0; i < N_BUCKETS; i++) {
+            long n = other.buckets.get(i);
+            if (n != 0) {
+                this.buckets.addAndGet(i, n);
+            }
+        }
+        this.count.add(other.count.sum());
+        this.sum.add(other.sum.sum());
+        this.max.accumulate(other.max.get());
+    }
+
+    /**
+     * Forgets all values; values recorded meanwhile may be partly kept
+     */
+    public void reset() {
+        for (int i = 0; i < N_BUCKETS; i++) {
+            this.buckets.set(i, 0);
+        }
+        this.count.reset();
+        this.sum.reset();
+        this.max.reset();
+    }
+
+    static int bucketOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BITS;
+        return (shift + 1) * SUB_BUCKETS + (int) ((value >>> shift) & (SUB_BUCKETS - 1));
+    }
+
+    static long highestIn(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int shift = bucket / SUB_BUCKETS - 1;
+        long lowest = (long) (SUB_BUCKETS + bucket % SUB_BUCKETS) << shift;
+        return lowest + (1L << shift) - 1;
+    }
+}
@@ -0,0 +1,119 @@
+package pt.ipbeja.estig.fifteen.model;
+
+import java.util.Arrays;
+
+/**
+ * Board stored in a flat array in line order, for boards too large to pack
+ *
+ * @author João Paulo Barros
+ * @version 2026/10/17
+ */
+public final class ArrayBoard implements Board {
+    private final int nLines;
+    private final int nCols;
+    private final int[] tiles;
+    private int empty;
+
+    /**
+     * Creates board in winning position
+     *
+     * @param nLines number of lines
+     * @param nCols  number of columns
+     */
+    public ArrayBoard(int nLines, int nCols) {
+        this.nLines = nLines;
+        this.nCols = nCols;
+        this.tiles = new int[nLines * nCols];
+        for (int i = 0; i < this.tiles.length - 1; i++) {
+            this.tiles[i] = i + 1;
+        }
+        this.tiles[this.tiles.length - 1] = FifteenModel.EMPTY;
+        this.empty = this.tiles.length - 1;
+    }
+
+    private ArrayBoard(ArrayBoard other) {
+        this.nLines = other.nLines;
+        this.nCols = other.nCols;
+        this.tiles = other.tiles.clone();
+        this.empty = other.empty;
+    }
+
+    @Override
+    public int getNLines() {
+        return this.nLines;
+    }
+
+    @Override
+    public int getNCols() {
+        return this.nCols;
+    }
+
+    @Override
+    public int get(int index) {
+        return this.tiles[index];
+    }
+
+    @Override
+    public int getEmpty() {
+        return this.empty;
+    }
+
+    @Override
+    public int moveToEmpty(int index) {
+        int piece = this.tiles[index];
+        this.tiles[this.empty] = piece;
+        this.tiles[index] = FifteenModel.EMPTY;
+        this.empty = index;
+        return piece;
+    }
+
+    @Override
+    public void setTiles(int[] tiles) {
+        if (tiles.length != this.tiles.length) {
+            throw new IllegalArgumentException("Expected " + this.tiles.length + " pieces");
+        }
+        System.arraycopy(tiles, 0, this.tiles, 0, tiles.length);
+        for (int i = 0; i < tiles.length; i++) {
+            if (tiles[i] == FifteenModel.EMPTY) {
+                this.empty = i;
+            }
+        }
+    }
+
+    @Override
+    public boolean isGoal() {
+        for (int i = 0; i < this.tiles.length - 1; i++) {
+            if (this.tiles[i] != i + 1) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int[] toArray() {
+        return this.tiles.clone();
+    }
+
+    @Override
+    public ArrayBoard copy() {
+        return new ArrayBoard(this);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(this.tiles);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj)
+            return true;
+        if (obj == null)
+            return false;
+        if (getClass() != obj.getClass())
+            return false;
+        ArrayBoard other = (ArrayBoard) obj;
+        return this.nCols == other.nCols && Arrays.equals(this.tiles, other.tiles);
+    }
+}
@@ -0,0 +1,71 @@
+package pt.ipbeja.estig.fifteen.model;
+
+/**
+ * Pieces of a board with nLines x nCols positions, indexed in line order
+ * (index = line * nCols + col). The winning position has pieces 1, 2, ...
+ * in sequence and the empty position last.
+ *
+ * @author João Paulo Barros
+ * @version 2026/10/17
+ */
+public interface Board {
+
+    /**
+     * Creates board in winning position, packed in a long when small enough
+     *
+     * @param nLines number of lines
+     * @param nCols  number of columns
+     * @return the new board
+     */
+    static Board create(int nLines, int nCols) {
+        if (nLines < 2 || nCols < 2) {
+            throw new IllegalArgumentException("Board must be at least 2x2: " + nLines + "x" + nCols);
+        }
+        if (nLines * nCols <= PackedBoard.MAX_POSITIONS) {
+            return new PackedBoard(nLines, nCols);
+        }
+        return new ArrayBoard(nLines, nCols);
+    }
+
+    int getNLines();
+
+    int getNCols();
+
+    /**
+     * @return piece at index (line * nCols + col)
+     */
+    int get(int index);
+
+    /**
+     * @return index of the empty position
+     */
+    int getEmpty();
+
+    /**
+     * Moves the piece at index to the empty position.
+     * The caller ensures that index is next to the empty position.
+     *
+     * @param index index of the piece to move
+     * @return the moved piece
+     */
+    int moveToEmpty(int index);
+
+    /**
+     * Replaces all pieces
+     *
+     * @param tiles pieces in line order, FifteenModel.EMPTY for the empty position
+     */
+    void setTiles(int[] tiles);
+
+    /**
+     * @return true if all pieces are in the winning position
+     */
+    boolean isGoal();
+
+    /**
+     * @return pieces in line order in a new array
+     */
+    int[] toArray();
+
+    Board copy();
+}
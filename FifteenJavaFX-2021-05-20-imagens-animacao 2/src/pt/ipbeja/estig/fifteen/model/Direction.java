@@ -6,5 +6,14 @@ package pt.ipbeja.estig.fifteen.model;
  * @version 2021/05/18
  */
 public enum Direction {
-    UP, DOWN, LEFT, RIGHT
+    UP, DOWN, LEFT, RIGHT; // declared in opposite pairs
+
+    private static final Direction[] VALUES = Direction.values(); // values() copies the array on each call
+
+    /**
+     * @return the direction that undoes a move in this direction
+     */
+    public Direction opposite() {
+        return VALUES[this.ordinal() ^ 1];
+    }
 }
@@ -1,15 +1,25 @@
 package pt.ipbeja.estig.fifteen.model;
 
 import pt.ipbeja.estig.fifteen.gui.View;
-
-import java.util.ArrayDeque;
+import pt.ipbeja.estig.fifteen.metrics.FifteenMetrics;
+import pt.ipbeja.estig.fifteen.solver.BeamSolver;
+import pt.ipbeja.estig.fifteen.solver.FifteenSolver;
+import pt.ipbeja.estig.fifteen.solver.Heuristic;
+import pt.ipbeja.estig.fifteen.solver.HintSearch;
+import pt.ipbeja.estig.fifteen.solver.ParallelFifteenSolver;
+import pt.ipbeja.estig.fifteen.solver.SolutionCache;
+
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Deque;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Random;
-import java.util.Timer;
-import java.util.TimerTask;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * The fifteen puzzle model
@@ -18,30 +28,57 @@ import java.util.TimerTask;
  * @version 2014/05/19 - 2016/04/03 - 2017/04/19 - 2019/05/06 - 2021/05/18
  */
 public class FifteenModel {
+    /**
+     * Default board size
+     */
     public static final int N_LINES = 4;
     public static final int N_COLS = 4;
     public static final int EMPTY = 0;
 
     private final static Random RAND = new Random();
     private final static int[][] NEIGHBORS = {{-1, 0}, {0, -1}, {0, 1}, {1, 0}};
+    private final static Duration LARGE_BOARD_BUDGET = Duration.ofSeconds(2);
+    private final static long LARGE_BOARD_MEMORY = 32L << 20; // bytes, more than 2 seconds of search need
 
-    private int pieces[][];
-    private Position emptyPosition;
+    private final int nLines;
+    private final int nCols;
+    private final Board board;
+    private int misplaced; // pieces out of their winning position
+    private int manhattan; // sum of the distances of pieces to their winning position
+    private long stateHash; // Zobrist hash of the board
 
-    private Deque<Move> moves;
+    private final MoveLog moves;
+    private int[] initialTiles; // board the move history starts from
+    private Move lastMove;
+    private Playback playback;
 
-    private Timer timer;
-    private int timerValue;
+    private final GameClock clock;
+    private boolean timerNotifications;
 
     private View view;
 
     /**
-     * Creates board in winning position
+     * Creates board with the default size in winning position
      */
     public FifteenModel(View view) {
-        this.moves = new ArrayDeque<>();
-        this.resetBoard();
-        this.timer = new Timer();
+        this(FifteenModel.N_LINES, FifteenModel.N_COLS, view);
+    }
+
+    /**
+     * Creates board with the given size in winning position
+     *
+     * @param nLines number of lines
+     * @param nCols  number of columns
+     */
+    public FifteenModel(int nLines, int nCols, View view) {
+        this.nLines = nLines;
+        this.nCols = nCols;
+        this.moves = new MoveLog();
+        this.board = Board.create(nLines, nCols);
+        this.initialTiles = this.board.toArray();
+        this.updateDistances();
+        this.clock = new GameClock();
+        this.timerNotifications = true;
         this.view = view;
     }
 
@@ -59,28 +96,31 @@ public class FifteenModel {
     }
 
     /**
-     * Puts the board in the winning position (numbers in sequence)
+     * @return number of lines of the board
      */
-    private void resetBoard() {
-        this.pieces = new int[FifteenModel.N_LINES][FifteenModel.N_COLS];
-        int pieceNumber = 1;
-        for (int line = 0; line < FifteenModel.N_LINES; line++) {
-            for (int col = 0; col < FifteenModel.N_COLS; col++) {
-                this.pieces[line][col] = pieceNumber++;
-            }
-        }
-        this.pieces[FifteenModel.N_LINES - 1][FifteenModel.N_COLS - 1] = FifteenModel.EMPTY; // empty
-        this.emptyPosition = new Position(FifteenModel.N_LINES - 1, FifteenModel.N_COLS - 1);
+    public int getNLines() {
+        return this.nLines;
+    }
+
+    /**
+     * @return number of columns of the board
+     */
+    public int getNCols() {
+        return this.nCols;
     }
 
     /**
      * @return fifteen board content in text form
      */
-    public String toString() {
+    public synchronized String toString() {
         StringBuilder s = new StringBuilder();
-        for (int line = 0; line < N_LINES; line++) {
-            for (int col = 0; col < N_COLS; col++) {
-                s.append(String.format("%2d, ", this.pieces[line][col]));
+        for (int line = 0; line < this.nLines; line++) {
+            for (int col = 0; col < this.nCols; col++) {
+                int piece = this.board.get(line * this.nCols + col);
+                if (piece < 10) {
+                    s.append(' ');
+                }
+                s.append(piece).append(", ");
             }
             s.setLength(s.length() - 2);
             s.append("\n");
@@ -94,8 +134,8 @@ public class FifteenModel {
      * @param position to get piece
      * @return the piece at position
      */
-    public int pieceAt(Position position) {
-        return this.pieces[position.getLine()][position.getCol()];
+    public synchronized int pieceAt(Position position) {
+        return this.board.get(this.indexOf(position));
     }
 
     /**
@@ -116,10 +156,10 @@ public class FifteenModel {
      * @param maxMoves maximum of moves
      * @return the moves executed, but in reverse order
      */
-    public void mix(int minMoves, int maxMoves) {
+    public synchronized void mix(int minMoves, int maxMoves) {
         assert (minMoves <= maxMoves);
-        // see http://docs.oracle.com/javase/8/docs/api/java/util/Deque.html
-        Position empty = new Position(N_LINES - 1, N_COLS - 1);
+        this.cancelPlayback();
+        Position empty = this.emptyPosition();
         int nMoves = minMoves + RAND.nextInt(maxMoves - minMoves + 1);
 
         for (int i = 0; i < nMoves; i++) {
@@ -128,41 +168,320 @@ public class FifteenModel {
             this.applyMove(m);
             empty = pieceToMove; // moved piece position is now the empty
             // position
-            this.moves.addFirst(m); // add at head (begin) of deque
+            this.moves.add(m.getDirection());
+            this.lastMove = m;
         }
     }
 
     /**
-     * Solve the puzzle using the stored positions
+     * Replaces the board with a random one, drawn uniformly from all
+     * solvable boards except the winning one. Clears the move history.
      */
-    public void solve() {
-        this.unmix(500);
+    public void scramble() {
+        this.scramble(RAND);
     }
 
     /**
-     * rewinds the puzzle with given moves and applies the reverse of each move
+     * Replaces the board with a random one, drawn uniformly from all
+     * solvable boards except the winning one. Clears the move history.
      *
-     * @param sleepTime time between each move
+     * @param random random number generator, seeded for repeatable boards
      */
-    public void unmix(int sleepTime) {
-        Runnable task = () -> {
-            Move m;
-            while ((m = moves.poll()) != null) {
-                Move mr = m.getReversed();
-                applyMove(mr);
-                FifteenModel.sleep(sleepTime);
-                boolean winning = inWinningPositions();
+    public synchronized void scramble(Random random) {
+        Scrambler scrambler = new Scrambler(this.nLines, this.nCols, random);
+        int[] tiles = new int[this.nLines * this.nCols];
+        do {
+            scrambler.scramble(tiles);
+        } while (tiles[0] == 1 && this.isWinning(tiles));
+        this.setTiles(tiles);
+    }
 
-                notifyViews(mr, winning, timerValue);
+    /**
+     * Replaces the board with the given pieces. Clears the move history.
+     *
+     * @param tiles pieces in line order, EMPTY for the empty position
+     * @throws IllegalArgumentException if tiles is not a solvable board
+     */
+    public synchronized void setTiles(int[] tiles) {
+        if (tiles.length != this.nLines * this.nCols || !this.isPermutation(tiles) ||
+                !new Scrambler(this.nLines, this.nCols, RAND).isSolvable(tiles)) {
+            throw new IllegalArgumentException("Not a solvable board: " + Arrays.toString(tiles));
+        }
+        this.cancelPlayback();
+        this.board.setTiles(tiles);
+        this.updateDistances();
+        this.clearHistory();
+        this.lastMove = null;
+    }
 
-                if (winning) {
-                    moves.clear();
-                    break;
+    private boolean isPermutation(int[] tiles) {
+        boolean[] seen = new boolean[tiles.length];
+        for (int piece : tiles) {
+            if (piece < 0 || piece >= tiles.length || seen[piece]) {
+                return false;
+            }
+            seen[piece] = true;
+        }
+        return true;
+    }
+
+    private boolean isWinning(int[] tiles) {
+        for (int i = 0; i < tiles.length - 1; i++) {
+            if (tiles[i] != i + 1) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Solve the puzzle from the current board with the shortest sequence of
+     * moves, independently of the moves that were made before
+     *
+     * @return the playback of the solution
+     */
+    public Playback solve() {
+        return this.solve(500);
+    }
+
+    /**
+     * Solve the puzzle from the current board: the solution is searched in
+     * the common pool and then played on the shared game scheduler. Any
+     * move by the user, or a new board, cancels it, as does a failed search.
+     * Cancelling the playback stops the search; pausing it during the search
+     * keeps the solution from being played until resumed.
+     *
+     * @param sleepTime time between each move, 0 to play it at once
+     * @return the playback of the solution, playing when it is found
+     * @throws IllegalStateException if the board is too large to solve (see canSolve)
+     */
+    public synchronized Playback solve(int sleepTime) {
+        this.checkCanSolve();
+        int[] start = this.getTiles();
+        AtomicReference<Iterator<Direction>> solution = new AtomicReference<>();
+        Playback solving = this.startPlayback(() -> {
+            if (!solution.get().hasNext()) {
+                return false;
+            }
+            Direction direction = solution.get().next();
+            Move m = this.moveInDirection(direction);
+            this.applyMove(m);
+            this.moves.add(direction);
+            this.lastMove = m;
+            boolean winning = this.inWinningPositions();
+            this.notifyViews(m, winning, this.getTimerValue());
+            if (winning) {
+                this.clock.stop();
+                this.clearHistory();
+            }
+            return true;
+        }, sleepTime, false);
+        solving.hold(); // no move until the solution is found
+        solving.resume();
+        CompletableFuture.supplyAsync(() -> this.findSolution(start, solving)).thenAccept(directions -> {
+            synchronized (this) {
+                if (directions == null || !solving.isActive()) {
+                    return; // cancelled while searching
+                }
+                if (directions.isEmpty()) {
+                    this.clock.stop();
+                    this.notifyViews(null, this.inWinningPositions(), this.getTimerValue());
+                }
+                solution.set(directions.iterator());
+                solving.release();
+            }
+        }).exceptionally(e -> {
+            solving.cancel(); // no solution: the playback ends without moves
+            return null;
+        });
+        return solving;
+    }
+
+    /**
+     * Finds a shortest sequence of moves from the current board, using all
+     * processors when there is more than one. Boards solved before, or met
+     * along a solution found before, are not searched again (see SolutionCache).
+     * Boards of more than 16 positions get a near-shortest sequence instead,
+     * the best found in about 2 seconds (see BeamSolver).
+     *
+     * @return directions to use with keyPressed, in order
+     * @throws IllegalStateException if the board is too large to solve (see
+     *                               canSolve), or is larger than 16 positions
+     *                               and no solution is found in 2 seconds
+     */
+    public List<Direction> findSolution() {
+        this.checkCanSolve();
+        return this.findSolution(this.getTiles(), null);
+    }
+
+    /**
+     * @return true if boards of this size can be solved: the searches of
+     * solve and findSolution do not end for more than 127 positions
+     */
+    public boolean canSolve() {
+        return BeamSolver.isSupported(this.nLines, this.nCols);
+    }
+
+    private void checkCanSolve() {
+        if (!this.canSolve()) {
+            throw new IllegalStateException("Board too large to solve: " + this.nLines + "x" + this.nCols);
+        }
+    }
+
+    /**
+     * @param playback the search stops when it is cancelled, null if none
+     * @return the solution, null if cancelled
+     */
+    private List<Direction> findSolution(int[] tiles, Playback playback) {
+        long start = System.nanoTime();
+        List<Direction> solution;
+        if (tiles.length > PackedBoard.MAX_POSITIONS) {
+            solution = this.search(tiles, playback);
+        } else {
+            SolutionCache cache = SolutionCache.shared(this.nLines, this.nCols);
+            long state = PackedBoard.pack(tiles);
+            solution = cache.get(state);
+            if (solution == null) {
+                solution = this.search(tiles, playback);
+                if (solution == null) {
+                    return null;
                 }
+                cache.put(state, solution);
             }
-        };
-        Thread threadToUnmix = new Thread(task);
-        threadToUnmix.start();
+        }
+        if (solution != null) {
+            FifteenMetrics.get().solved(System.nanoTime() - start);
+        }
+        return solution;
+    }
+
+    private List<Direction> search(int[] tiles, Playback playback) {
+        Heuristic heuristic = FifteenSolver.defaultHeuristic(this.nLines, this.nCols);
+        List<Direction> solution;
+        long nodes;
+        if (tiles.length > PackedBoard.MAX_POSITIONS) {
+            BeamSolver solver = new BeamSolver(this.nLines, this.nCols, heuristic, LARGE_BOARD_MEMORY);
+            this.stopOnCancel(playback, solver::cancel);
+            BeamSolver.Result result = solver.solve(tiles, LARGE_BOARD_BUDGET);
+            solution = result == null ? null : result.getSolution();
+            nodes = result == null ? 0 : result.getBoards();
+        } else if (Runtime.getRuntime().availableProcessors() > 1) {
+            ParallelFifteenSolver solver = new ParallelFifteenSolver(this.nLines, this.nCols, heuristic,
+                    ForkJoinPool.commonPool());
+            this.stopOnCancel(playback, solver::cancel);
+            solution = solver.solve(tiles);
+            nodes = solver.getNodesExpanded();
+        } else {
+            FifteenSolver solver = new FifteenSolver(this.nLines, this.nCols, heuristic);
+            this.stopOnCancel(playback, solver::cancel);
+            solution = solver.solve(tiles);
+            nodes = solver.getNodesExpanded();
+        }
+        FifteenMetrics.get().searched(nodes);
+        return solution;
+    }
+
+    private void stopOnCancel(Playback playback, Runnable cancel) {
+        if (playback != null) {
+            playback.setOnCancel(cancel);
+        }
+    }
+
+    /**
+     * Finds the next move for the current board, in the common pool, taking
+     * at most about budget: the search stops when it proves a move optimal
+     * or the budget ends, and then gives the best move found so far. A
+     * board solved before gets its optimal move at once (see SolutionCache).
+     * Cancelling the returned future stops the search.
+     *
+     * @param budget maximum search time
+     * @return the hint, completed off the calling thread
+     */
+    public CompletableFuture<Hint> hint(Duration budget) {
+        int[] start = this.getTiles();
+        CompletableFuture<Hint> hint = new CompletableFuture<>();
+        if (start.length <= PackedBoard.MAX_POSITIONS) {
+            List<Direction> solution = SolutionCache.shared(this.nLines, this.nCols).get(PackedBoard.pack(start));
+            if (solution != null) {
+                hint.complete(new Hint(solution.isEmpty() ? null : solution.get(0), true, solution.size()));
+                return hint;
+            }
+        }
+        HintSearch search = new HintSearch(this.nLines, this.nCols,
+                FifteenSolver.defaultHeuristic(this.nLines, this.nCols));
+        ScheduledFuture<?> deadline = GameClock.scheduler().schedule(search::cancel, budget.toNanos(),
+                TimeUnit.NANOSECONDS);
+        hint.whenComplete((h, e) -> {
+            deadline.cancel(false);
+            search.cancel(); // if the future was cancelled
+        });
+        ForkJoinPool.commonPool().execute(() -> {
+            try {
+                Hint h = search.search(start);
+                if (search.getSolution() != null && start.length <= PackedBoard.MAX_POSITIONS) {
+                    SolutionCache.shared(this.nLines, this.nCols).put(PackedBoard.pack(start), search.getSolution());
+                }
+                hint.complete(h);
+            } catch (RuntimeException e) {
+                hint.completeExceptionally(e);
+            }
+        });
+        return hint;
+    }
+
+    /**
+     * rewinds the puzzle with given moves and applies the reverse of each
+     * move, on the shared game scheduler. Any move by the user, or a new
+     * board, cancels it.
+     *
+     * @param sleepTime time between each move, 0 to rewind at once
+     * @return the playback of the rewind
+     */
+    public synchronized Playback unmix(int sleepTime) {
+        return this.startPlayback(() -> {
+            Direction d = this.moves.pop();
+            if (d == null) {
+                return false;
+            }
+            Move mr = this.moveInDirection(d.opposite());
+            this.applyMove(mr);
+            this.lastMove = mr;
+            boolean winning = this.inWinningPositions();
+            this.notifyViews(mr, winning, this.getTimerValue());
+            if (winning) {
+                this.clock.stop();
+                this.clearHistory();
+                return false;
+            }
+            return true;
+        }, sleepTime, true);
+    }
+
+    /**
+     * Replaces the current playback, if any
+     *
+     * @param resume true to start playing now
+     */
+    private Playback startPlayback(Playback.Step step, int sleepTime, boolean resume) {
+        this.cancelPlayback();
+        this.playback = new Playback(this, step, sleepTime);
+        if (resume) {
+            this.playback.resume();
+        }
+        return this.playback;
+    }
+
+    private void cancelPlayback() {
+        if (this.playback != null) {
+            this.playback.cancel();
+        }
+    }
+
+    /**
+     * @return the current or last solve or unmix playback, null if none
+     */
+    public synchronized Playback getPlayback() {
+        return this.playback;
     }
 
 
@@ -171,26 +490,56 @@ public class FifteenModel {
      *
      * @return list with all pieces (line order)
      */
-    public List<Integer> getPieces() {
+    public synchronized List<Integer> getPieces() {
         List<Integer> list = new ArrayList<>();
-        for (int line = 0; line < N_LINES; line++) {
-            for (int col = 0; col < N_COLS; col++) {
-                list.add(this.pieces[line][col]);
-            }
+        for (int i = 0; i < this.nLines * this.nCols; i++) {
+            list.add(this.board.get(i));
         }
         return list;
     }
 
-    public void pieceSelected(Position pos) {
+    /**
+     * Get all the pieces in a new array
+     *
+     * @return array with all pieces (line order)
+     */
+    public synchronized int[] getTiles() {
+        return this.board.toArray();
+    }
+
+    /**
+     * @return true if the board is small enough to be packed in a long
+     */
+    public boolean isPacked() {
+        return this.board instanceof PackedBoard;
+    }
+
+    /**
+     * Get all the pieces packed in a long, 4 bits per position (line order)
+     *
+     * @return the packed board, equal for equal boards
+     * @throws IllegalStateException if the board is too large (see isPacked)
+     */
+    public synchronized long getPackedState() {
+        if (!this.isPacked()) {
+            throw new IllegalStateException("Board too large to pack: " + this.nLines + "x" + this.nCols);
+        }
+        return ((PackedBoard) this.board).getState();
+    }
+
+    public synchronized void pieceSelected(Position pos) {
+        this.cancelPlayback();
         this.movePieceAt(pos);
     }
 
-    public void keyPressed(Direction direction) {
+    public synchronized void keyPressed(Direction direction) {
+        this.cancelPlayback();
         Position pos = getPositionNextToEmpty(direction);
         this.movePieceAt(pos);
     }
 
     private Position getPositionNextToEmpty(Direction direction) {
+        Position emptyPosition = this.emptyPosition();
         switch (direction) {
             case UP: return new Position(emptyPosition.getLine() + 1, emptyPosition.getCol());
             case DOWN: return new Position(emptyPosition.getLine() - 1, emptyPosition.getCol());
@@ -200,23 +549,32 @@ public class FifteenModel {
         return null; // should never happen! Added to avoid compilation error
     }
 
+    /**
+     * @return move of the piece next to the empty position in direction,
+     * null if there is no such piece
+     */
+    private Move moveInDirection(Direction direction) {
+        Position pos = this.getPositionNextToEmpty(direction);
+        return pos.isInsideBoard(this.nLines, this.nCols) ? new Move(pos, this.emptyPosition()) : null;
+    }
+
     /**
      * Tries to move a piece at position If moved notifies views
      *
      * @param position position of piece to move
      */
     private void movePieceAt(Position position) {
-        if (position.isInside()) {
+        if (position.isInsideBoard(this.nLines, this.nCols)) {
             Position emptyPos = this.getEmptyInNeighborhood(position);
             if (emptyPos != null) {
                 Move newMove = new Move(position, emptyPos);
                 this.applyMove(newMove);
-                this.moves.addFirst(newMove); // add at head (begin) of deque
+                this.moves.add(newMove.getDirection()); // cancels a move back
+                this.lastMove = newMove;
                 boolean winning = inWinningPositions();
-                this.notifyViews(newMove, winning, timerValue);
+                this.notifyViews(newMove, winning, this.getTimerValue());
                 if (winning) {
-                    timerValue = 0;
-                    timer.cancel();
+                    this.clock.stop();
                 }
             }
         }
@@ -230,17 +588,86 @@ public class FifteenModel {
      * @param tValue  current time count
      */
     private void notifyViews(Move move, Boolean winning, int tValue) {
-
+        if (move != null) {
+            FifteenMetrics.get().moveMade();
+        }
         this.view.notifyView(move, winning, tValue);
     }
 
     /**
      * Gets last executed move
      *
-     * @return the last move
+     * @return the last move, null if no move was made
+     */
+    public synchronized Move getLastMove() {
+        return this.lastMove;
+    }
+
+    /**
+     * Gets the moves from the initial board to the current one, without
+     * pairs of moves that undo each other
+     *
+     * @return a copy of the move history
+     */
+    public synchronized MoveLog getMoveLog() {
+        return new MoveLog(this.moves);
+    }
+
+    /**
+     * @return number of moves in the move history (see getMoveLog)
+     */
+    public synchronized int getMoveCount() {
+        return this.moves.size();
+    }
+
+    /**
+     * Gets the board the move history starts from: applying the moves of
+     * getMoveLog to it gives the current board
+     *
+     * @return pieces in line order, in a new array
+     */
+    public synchronized int[] getInitialTiles() {
+        return this.initialTiles.clone();
+    }
+
+    /**
+     * Makes the current board the start of an empty move history
+     */
+    private void clearHistory() {
+        this.moves.clear();
+        this.initialTiles = this.board.toArray();
+    }
+
+    /**
+     * Gets a 64-bit hash of the board, kept up to date on each move: equal
+     * boards of the same size have equal hashes whatever the moves that led
+     * to them, so it can key caches and tables of boards (see Zobrist)
+     *
+     * @return Zobrist hash of the board
      */
-    public Move getLastMove() {
-        return this.moves.getFirst();
+    public synchronized long getStateHash() {
+        return this.stateHash;
+    }
+
+    /**
+     * Checks if both models have the same board, ignoring the move history
+     * (unlike equals)
+     *
+     * @param other the model to compare with
+     * @return true if the boards have the same size and pieces
+     */
+    public boolean sameState(FifteenModel other) {
+        if (other == this) {
+            return true;
+        }
+        if (this.nLines != other.nLines || this.nCols != other.nCols ||
+                this.getStateHash() != other.getStateHash()) {
+            return false;
+        }
+        if (this.isPacked()) {
+            return this.getPackedState() == other.getPackedState();
+        }
+        return Arrays.equals(this.getTiles(), other.getTiles());
     }
 
     /**
@@ -248,18 +675,29 @@ public class FifteenModel {
      *
      * @return true if winning positions, false otherwise
      */
-    public boolean inWinningPositions() {
-        int n = 1;
-        final int TOTAL = N_LINES * N_COLS;
-        for (int line = 0; line < N_LINES; line++) {
-            for (int col = 0; col < N_COLS; col++) {
-                if (this.pieces[line][col] != n && n < TOTAL) {
-                    return false;
-                }
-                n++;
-            }
-        }
-        return true;
+    public synchronized boolean inWinningPositions() {
+        return this.misplaced == 0;
+    }
+
+    /**
+     * Gets the number of pieces not in their winning position, kept up to
+     * date on each move
+     *
+     * @return misplaced pieces (the empty position is not counted)
+     */
+    public synchronized int getMisplacedCount() {
+        return this.misplaced;
+    }
+
+    /**
+     * Gets the sum of the line and column distances of all pieces to their
+     * winning positions, kept up to date on each move. It is a lower bound
+     * for the number of moves to win.
+     *
+     * @return Manhattan distance of the board
+     */
+    public synchronized int getManhattanDistance() {
+        return this.manhattan;
     }
 
     /**
@@ -269,28 +707,54 @@ public class FifteenModel {
      */
     private void applyMove(Move move) {
         assert (move != null);
-        this.swap(move);
+        assert (this.indexOf(move.getEnd()) == this.board.getEmpty());
+        int from = this.indexOf(move.getBegin());
+        int to = this.board.getEmpty();
+        int piece = this.board.moveToEmpty(from);
+        this.stateHash ^= Zobrist.key(piece, from) ^ Zobrist.key(piece, to);
+        this.misplaced += (piece != to + 1 ? 1 : 0) - (piece != from + 1 ? 1 : 0);
+        this.manhattan += this.distance(piece, to) - this.distance(piece, from);
     }
 
-    private void swap(Move move) {
-        assert (move.getEnd().equals(emptyPosition));
+    /**
+     * Computes misplaced pieces, Manhattan distance and the state hash from
+     * scratch
+     */
+    private void updateDistances() {
+        this.misplaced = 0;
+        this.manhattan = 0;
+        this.stateHash = Zobrist.hash(this.board.toArray());
+        for (int i = 0; i < this.nLines * this.nCols; i++) {
+            int piece = this.board.get(i);
+            if (piece != EMPTY) {
+                this.misplaced += piece != i + 1 ? 1 : 0;
+                this.manhattan += this.distance(piece, i);
+            }
+        }
+    }
 
-        this.swap(move.getBegin(), move.getEnd());
-        this.emptyPosition = move.getBegin();
+    /**
+     * @return lines plus columns from index to the winning index of piece
+     */
+    private int distance(int piece, int index) {
+        int goal = piece - 1;
+        return Math.abs(goal / this.nCols - index / this.nCols) +
+                Math.abs(goal % this.nCols - index % this.nCols);
     }
 
-    private void swap(Position pInit, Position pEnd) {
-        int posXi = pInit.getLine();
-        int posYi = pInit.getCol();
-        int posXe = pEnd.getLine();
-        int posYe = pEnd.getCol();
-        this.swap(posXi, posYi, posXe, posYe);
+    /**
+     * @return the current empty position
+     */
+    private Position emptyPosition() {
+        int empty = this.board.getEmpty();
+        return new Position(empty / this.nCols, empty % this.nCols);
     }
 
-    private void swap(int posXi, int posYi, int posXe, int posYe) {
-        int aux = this.pieces[posXe][posYe];
-        this.pieces[posXe][posYe] = this.pieces[posXi][posYi];
-        this.pieces[posXi][posYi] = aux;
+    /**
+     * @return index of position in line order
+     */
+    private int indexOf(Position position) {
+        return position.getLine() * this.nCols + position.getCol();
     }
 
     /**
@@ -306,7 +770,7 @@ public class FifteenModel {
             int[] pos = NEIGHBORS[RAND.nextInt(NEIGHBORS.length)];
             line = empty.getLine() + pos[0];
             col = empty.getCol() + pos[1];
-        } while (Position.isInside(line, col) == false);
+        } while (Position.isInside(line, col, this.nLines, this.nCols) == false);
         return new Position(line, col);
     }
 
@@ -317,6 +781,7 @@ public class FifteenModel {
      * @return the empty position or null if non-existent in the neighborhood
      */
     private Position getEmptyInNeighborhood(Position center) {
+        Position emptyPosition = this.emptyPosition();
         boolean isNeighbor = Math.abs(center.getLine() - emptyPosition.getLine()) == 1 ^
                 Math.abs(center.getCol() - emptyPosition.getCol()) == 1;
         return isNeighbor ? emptyPosition : null;
@@ -335,13 +800,13 @@ public class FifteenModel {
         }
     }
 
+    /**
+     * From the state hash only, so it takes constant time; models equal
+     * (same board and history) have equal boards and so equal hashes
+     */
     @Override
-    public int hashCode() {
-        final int prime = 31;
-        int result = 1;
-        result = prime * result + ((moves == null) ? 0 : moves.hashCode());
-        result = prime * result + Arrays.deepHashCode(pieces);
-        return result;
+    public synchronized int hashCode() {
+        return Long.hashCode(this.stateHash);
     }
 
     @Override
@@ -353,53 +818,67 @@ public class FifteenModel {
         if (getClass() != obj.getClass())
             return false;
         FifteenModel other = (FifteenModel) obj;
-        if (moves == null) {
-            if (other.moves != null)
-                return false;
-        } else if (!moves.equals(other.moves))
+        if (!moves.equals(other.moves))
             return false;
-        if (!Arrays.deepEquals(pieces, other.pieces))
+        if (nCols != other.nCols || !board.equals(other.board))
             return false;
         return true;
     }
 
     /**
-     * Creates a new timer and sets the timer count to zero
+     * Stops the timer and sets the timer count to zero
      */
     public void resetTimer() {
-        this.timerValue = -1;
-        this.timer = new Timer();
+        this.clock.reset();
     }
 
     /**
-     * Starts timer
+     * Starts timer from zero. Views are notified every second, on a thread
+     * shared by all games, unless timer notifications are off.
      */
     public void startTimer() {
-        this.resetTimer();
-        TimerTask timerTask = new TimerTask() {
-            @Override
-            public void run() {
-                timerValue++;
-                notifyViews(null, false, timerValue);
-            }
-        };
-        this.timer.schedule(timerTask, 0, 1000);
+        this.clock.start();
+        if (this.timerNotifications) {
+            this.clock.subscribe(() -> notifyViews(null, false, this.getTimerValue()));
+        }
     }
 
     /**
-     * Stops the current timer
+     * Stops the current timer, keeping its value
      */
     public void stopTimer() {
-        timer.cancel();
+        this.clock.stop();
+    }
+
+    /**
+     * @return true if the timer counts; it stops when the board is won
+     */
+    public boolean isTimerRunning() {
+        return this.clock.isRunning();
+    }
+
+    /**
+     * Turns the notification of views every second on or off. Without them
+     * a game costs no timer work at all; the time is still counted.
+     *
+     * @param on true to notify views every second
+     */
+    public void setTimerNotifications(boolean on) {
+        this.timerNotifications = on;
+        if (!on) {
+            this.clock.unsubscribe();
+        } else if (this.clock.isRunning()) {
+            this.clock.subscribe(() -> notifyViews(null, false, this.getTimerValue()));
+        }
     }
 
     /**
-     * Get current timer value
+     * Get current timer value, computed when asked for
      *
      * @return time in seconds
      */
     public int getTimerValue() {
-        return this.timerValue;
+        return this.clock.getSeconds();
     }
 
 }
@@ -0,0 +1,126 @@
+package pt.ipbeja.estig.fifteen.model;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Game time derived from System.nanoTime() when asked for, so an idle game
+ * costs no thread and no wakeups. Games that want a notification every
+ * second subscribe to one scheduler thread shared by all games.
+ *
+ * @author João Paulo Barros
+ * @version 2026/10/17
+ */
+public final class GameClock {
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+    private static final ScheduledThreadPoolExecutor SCHEDULER = GameClock.createScheduler();
+
+    private long startNanos;
+    private long stoppedNanos; // elapsed time while not running
+    private boolean running;
+    private ScheduledFuture<?> ticks;
+
+    /**
+     * Creates a stopped clock at zero
+     */
+    public GameClock() {
+        this.running = false;
+        this.stoppedNanos = 0;
+    }
+
+    private static ScheduledThreadPoolExecutor createScheduler() {
+        ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1, r -> {
+            Thread t = new Thread(r, "game-clock");
+            t.setDaemon(true);
+            return t;
+        });
+        scheduler.setRemoveOnCancelPolicy(true); // cancelled games leave nothing behind
+        return scheduler;
+    }
+
+    /**
+     * @return the scheduler shared by all games
+     */
+    public static ScheduledExecutorService scheduler() {
+        return SCHEDULER;
+    }
+
+    /**
+     * @return number of threads used by all game clocks
+     */
+    public static int getThreadCount() {
+        return SCHEDULER.getPoolSize();
+    }
+
+    /**
+     * Sets the time to zero and starts counting
+     */
+    public synchronized void start() {
+        this.startNanos = System.nanoTime();
+        this.running = true;
+    }
+
+    /**
+     * Stops counting, keeping the current time, and stops notifications
+     */
+    public synchronized void stop() {
+        if (this.running) {
+            this.stoppedNanos = System.nanoTime() - this.startNanos;
+            this.running = false;
+        }
+        this.unsubscribe();
+    }
+
+    /**
+     * Stops the clock at zero
+     */
+    public synchronized void reset() {
+        this.stop();
+        this.stoppedNanos = 0;
+    }
+
+    public synchronized boolean isRunning() {
+        return this.running;
+    }
+
+    /**
+     * @return elapsed time in nanoseconds
+     */
+    public synchronized long getNanos() {
+        return this.running ? System.nanoTime() - this.startNanos : this.stoppedNanos;
+    }
+
+    /**
+     * @return elapsed time in whole seconds
+     */
+    public int getSeconds() {
+        return (int) (this.getNanos() / NANOS_PER_SECOND);
+    }
+
+    /**
+     * Runs onTick on the shared scheduler now and at every whole second of
+     * game time until stop or unsubscribe. Replaces a previous subscription.
+     *
+     * @param onTick action to run, must be short
+     */
+    public synchronized void subscribe(Runnable onTick) {
+        this.unsubscribe();
+        long delay = NANOS_PER_SECOND - this.getNanos() % NANOS_PER_SECOND;
+        if (delay == NANOS_PER_SECOND) {
+            delay = 0;
+        }
+        this.ticks = SCHEDULER.scheduleAtFixedRate(onTick, delay, NANOS_PER_SECOND, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Stops notifications, the clock keeps counting
+     */
+    public synchronized void unsubscribe() {
+        if (this.ticks != null) {
+            this.ticks.cancel(false);
+            this.ticks = null;
+        }
+    }
+}
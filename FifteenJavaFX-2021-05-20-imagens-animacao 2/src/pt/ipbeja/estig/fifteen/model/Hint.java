@@ -0,0 +1,52 @@
+package pt.ipbeja.estig.fifteen.model;
+
+/**
+ * The suggested next move for a board, found within a time budget
+ *
+ * @author João Paulo Barros
+ * @version 2026/10/17
+ */
+public final class Hint {
+    private final Direction direction;
+    private final boolean optimal;
+    private final int moves;
+
+    /**
+     * @param direction the move to make, null if the board is already won
+     * @param optimal   true if the move starts a shortest solution
+     * @param moves     length of the solution if optimal, else a lower bound
+     *                  for the solutions starting with the move
+     */
+    public Hint(Direction direction, boolean optimal, int moves) {
+        this.direction = direction;
+        this.optimal = optimal;
+        this.moves = moves;
+    }
+
+    /**
+     * @return the move to make, to use with keyPressed; null if the board is won
+     */
+    public Direction getDirection() {
+        return this.direction;
+    }
+
+    /**
+     * @return true if the move is proven to start a shortest solution
+     */
+    public boolean isOptimal() {
+        return this.optimal;
+    }
+
+    /**
+     * @return moves to win if optimal, else the least moves to win after
+     * this move that the search could not rule out
+     */
+    public int getMoves() {
+        return this.moves;
+    }
+
+    @Override
+    public String toString() {
+        return this.direction + (this.optimal ? " (optimal, " : " (at least ") + this.moves + " moves)";
+    }
+}
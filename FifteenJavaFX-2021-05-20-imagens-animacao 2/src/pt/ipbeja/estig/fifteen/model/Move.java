@@ -29,6 +29,20 @@ public class Move
 		return begin.isInside() && end.isInside() ? new Move(begin, end) : null;
 	}
 
+	/**
+	 * Created move only if begin and end are inside a board with the given size
+	 * 
+	 * @param begin
+	 * @param end
+	 * @param nLines number of lines of the board
+	 * @param nCols number of columns of the board
+	 * @return new Move object if begin and end are inside, null otherwise
+	 */
+	public static Move createMove(Position begin, Position end, int nLines, int nCols)
+	{
+		return begin.isInsideBoard(nLines, nCols) && end.isInsideBoard(nLines, nCols) ? new Move(begin, end) : null;
+	}
+
 	/**
 	 * @return the begin position
 	 */
@@ -45,6 +59,22 @@ public class Move
 		return this.end;
 	}
 
+	/**
+	 * Get the direction of the piece movement (begin and end are neighbors)
+	 * 
+	 * @return the direction from begin to end
+	 */
+	public Direction getDirection()
+	{
+		if (this.end.getLine() > this.begin.getLine())
+			return Direction.DOWN;
+		if (this.end.getLine() < this.begin.getLine())
+			return Direction.UP;
+		if (this.end.getCol() > this.begin.getCol())
+			return Direction.RIGHT;
+		return Direction.LEFT;
+	}
+
 	/**
 	 * Get the reversed move
 	 * 
@@ -0,0 +1,164 @@
+package pt.ipbeja.estig.fifteen.model;
+
+import java.util.Arrays;
+
+/**
+ * Move history stored as directions of the moved pieces, 2 bits per move,
+ * 32 moves per long. Adding a move that undoes the last one removes both,
+ * so the log only keeps the net path from the initial board.
+ *
+ * @author João Paulo Barros
+ * @version 2026/10/17
+ */
+public final class MoveLog {
+    private static final int MOVES_PER_WORD = 32;
+    private static final int INITIAL_WORDS = 4;
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    private long[] words;
+    private int size;
+
+    public MoveLog() {
+        this.clear();
+    }
+
+    /**
+     * Creates a log with the moves of another
+     */
+    public MoveLog(MoveLog other) {
+        this.words = other.words.clone();
+        this.size = other.size;
+    }
+
+    /**
+     * Adds a move, or removes the last one if direction undoes it
+     *
+     * @param direction direction of the moved piece
+     */
+    public void add(Direction direction) {
+        if (this.size > 0 && this.code(this.size - 1) == MoveLog.opposite(direction.ordinal())) {
+            this.size--;
+        } else {
+            this.push(direction);
+        }
+    }
+
+    /**
+     * Adds a move, without cancelling it against the last one
+     *
+     * @param direction direction of the moved piece
+     */
+    public void push(Direction direction) {
+        int word = this.size / MOVES_PER_WORD;
+        if (word == this.words.length) {
+            this.words = Arrays.copyOf(this.words, 2 * this.words.length);
+        }
+        int shift = 2 * (this.size % MOVES_PER_WORD);
+        this.words[word] = (this.words[word] & ~(3L << shift)) | ((long) direction.ordinal() << shift);
+        this.size++;
+    }
+
+    /**
+     * Removes the last move
+     *
+     * @return direction of the piece in the last move, null if empty
+     */
+    public Direction pop() {
+        if (this.size == 0) {
+            return null;
+        }
+        this.size--;
+        return DIRECTIONS[this.code(this.size)];
+    }
+
+    /**
+     * @return direction of the piece in the last move, null if empty
+     */
+    public Direction peek() {
+        return this.size == 0 ? null : DIRECTIONS[this.code(this.size - 1)];
+    }
+
+    /**
+     * @param index move number, 0 is the first move
+     * @return direction of the piece in that move
+     */
+    public Direction get(int index) {
+        if (index < 0 || index >= this.size) {
+            throw new IndexOutOfBoundsException("Move " + index + " of " + this.size);
+        }
+        return DIRECTIONS[this.code(index)];
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    /**
+     * Removes all moves and releases the memory used by long logs
+     */
+    public void clear() {
+        this.words = new long[INITIAL_WORDS];
+        this.size = 0;
+    }
+
+    private int code(int index) {
+        return (int) (this.words[index / MOVES_PER_WORD] >>> (2 * (index % MOVES_PER_WORD))) & 3;
+    }
+
+    /**
+     * Same as Direction.opposite, on codes
+     */
+    private static int opposite(int code) {
+        return code ^ 1;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = this.size;
+        int nWords = (this.size + MOVES_PER_WORD - 1) / MOVES_PER_WORD;
+        for (int i = 0; i < nWords; i++) {
+            result = 31 * result + Long.hashCode(this.masked(i));
+        }
+        return result;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj)
+            return true;
+        if (obj == null)
+            return false;
+        if (getClass() != obj.getClass())
+            return false;
+        MoveLog other = (MoveLog) obj;
+        if (this.size != other.size)
+            return false;
+        int nWords = (this.size + MOVES_PER_WORD - 1) / MOVES_PER_WORD;
+        for (int i = 0; i < nWords; i++) {
+            if (this.masked(i) != other.masked(i))
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * @return word i without the bits after the last move
+     */
+    private long masked(int i) {
+        int used = Math.min(MOVES_PER_WORD, this.size - i * MOVES_PER_WORD);
+        return used == MOVES_PER_WORD ? this.words[i] : this.words[i] & ((1L << (2 * used)) - 1);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder s = new StringBuilder();
+        for (int i = 0; i < this.size; i++) {
+            s.append(DIRECTIONS[this.code(i)].name().charAt(0));
+        }
+        return s.toString();
+    }
+}
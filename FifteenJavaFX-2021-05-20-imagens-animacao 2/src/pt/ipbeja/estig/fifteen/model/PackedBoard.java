@@ -0,0 +1,196 @@
+package pt.ipbeja.estig.fifteen.model;
+
+/**
+ * Board with up to 16 positions packed in a single long, 4 bits per
+ * position (position 0 in the lowest bits). The empty position index is
+ * kept separately so a move is a couple of shifts and masks.
+ *
+ * @author João Paulo Barros
+ * @version 2026/10/17
+ */
+public final class PackedBoard implements Board {
+    public static final int MAX_POSITIONS = 16;
+    private static final long NIBBLE = 0xFL;
+
+    private final int nLines;
+    private final int nCols;
+    private final long goal;
+    private long state;
+    private int empty;
+
+    /**
+     * Creates board in winning position
+     *
+     * @param nLines number of lines
+     * @param nCols  number of columns
+     */
+    public PackedBoard(int nLines, int nCols) {
+        if (nLines * nCols > MAX_POSITIONS) {
+            throw new IllegalArgumentException("Board too large to pack: " + nLines + "x" + nCols);
+        }
+        this.nLines = nLines;
+        this.nCols = nCols;
+        this.goal = PackedBoard.goalState(nLines * nCols);
+        this.state = this.goal;
+        this.empty = nLines * nCols - 1;
+    }
+
+    /**
+     * Creates board with the given pieces
+     *
+     * @param nLines number of lines
+     * @param nCols  number of columns
+     * @param tiles  pieces in line order, FifteenModel.EMPTY for the empty position
+     */
+    public PackedBoard(int nLines, int nCols, int[] tiles) {
+        this(nLines, nCols);
+        this.setTiles(tiles);
+    }
+
+    private PackedBoard(PackedBoard other) {
+        this.nLines = other.nLines;
+        this.nCols = other.nCols;
+        this.goal = other.goal;
+        this.state = other.state;
+        this.empty = other.empty;
+    }
+
+    /**
+     * @return packed winning position for a board with nPositions
+     */
+    public static long goalState(int nPositions) {
+        long s = 0;
+        for (int i = 0; i < nPositions - 1; i++) {
+            s |= (long) (i + 1) << (i << 2);
+        }
+        return s;
+    }
+
+    /**
+     * Packs pieces in line order into a long
+     *
+     * @param tiles pieces in line order (at most 16, each below 16)
+     * @return the packed board
+     */
+    public static long pack(int[] tiles) {
+        long s = 0;
+        for (int i = 0; i < tiles.length; i++) {
+            s |= (long) tiles[i] << (i << 2);
+        }
+        return s;
+    }
+
+    /**
+     * Unpacks a packed board into tiles
+     *
+     * @param state packed board
+     * @param tiles destination, its length is the number of positions
+     */
+    public static void unpack(long state, int[] tiles) {
+        for (int i = 0; i < tiles.length; i++) {
+            tiles[i] = PackedBoard.get(state, i);
+        }
+    }
+
+    /**
+     * @return piece at index of a packed board
+     */
+    public static int get(long state, int index) {
+        return (int) (state >>> (index << 2) & NIBBLE);
+    }
+
+    /**
+     * Moves the piece at index to the empty position of a packed board
+     *
+     * @param state packed board
+     * @param empty index of the empty position
+     * @param index index of the piece to move (next to empty)
+     * @return the packed board after the move, with the empty position at index
+     */
+    public static long move(long state, int empty, int index) {
+        long piece = state >>> (index << 2) & NIBBLE;
+        return (state & ~(NIBBLE << (index << 2))) | (piece << (empty << 2));
+    }
+
+    @Override
+    public int getNLines() {
+        return this.nLines;
+    }
+
+    @Override
+    public int getNCols() {
+        return this.nCols;
+    }
+
+    @Override
+    public int get(int index) {
+        return PackedBoard.get(this.state, index);
+    }
+
+    @Override
+    public int getEmpty() {
+        return this.empty;
+    }
+
+    /**
+     * @return the packed pieces
+     */
+    public long getState() {
+        return this.state;
+    }
+
+    @Override
+    public int moveToEmpty(int index) {
+        int piece = this.get(index);
+        this.state = PackedBoard.move(this.state, this.empty, index);
+        this.empty = index;
+        return piece;
+    }
+
+    @Override
+    public void setTiles(int[] tiles) {
+        if (tiles.length != this.nLines * this.nCols) {
+            throw new IllegalArgumentException("Expected " + this.nLines * this.nCols + " pieces");
+        }
+        this.state = PackedBoard.pack(tiles);
+        for (int i = 0; i < tiles.length; i++) {
+            if (tiles[i] == FifteenModel.EMPTY) {
+                this.empty = i;
+            }
+        }
+    }
+
+    @Override
+    public boolean isGoal() {
+        return this.state == this.goal;
+    }
+
+    @Override
+    public int[] toArray() {
+        int[] tiles = new int[this.nLines * this.nCols];
+        PackedBoard.unpack(this.state, tiles);
+        return tiles;
+    }
+
+    @Override
+    public PackedBoard copy() {
+        return new PackedBoard(this);
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(this.state * 0x9E3779B97F4A7C15L);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj)
+            return true;
+        if (obj == null)
+            return false;
+        if (getClass() != obj.getClass())
+            return false;
+        PackedBoard other = (PackedBoard) obj;
+        return this.nLines == other.nLines && this.nCols == other.nCols && this.state == other.state;
+    }
+}
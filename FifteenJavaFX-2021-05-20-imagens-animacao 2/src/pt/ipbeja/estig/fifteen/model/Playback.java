@@ -0,0 +1,254 @@
+package pt.ipbeja.estig.fifteen.model;
+
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Plays a sequence of moves one at a time on the scheduler shared by all
+ * games (see GameClock), so a playing game holds no thread while waiting.
+ * It can be paused, resumed, sped up or slowed down, and cancelled, and
+ * tells when it ends.
+ *
+ * @author João Paulo Barros
+ * @version 2026/10/17
+ */
+public final class Playback {
+    /**
+     * One move of the sequence
+     */
+    public interface Step {
+        /**
+         * Makes the next move, called while holding the playback lock
+         *
+         * @return false if there was no move left to make
+         */
+        boolean next();
+    }
+
+    private enum State {PLAYING, PAUSED, CANCELLED, DONE}
+
+    private final Object lock;
+    private final Step step;
+    private long delayNanos;
+    private State state;
+    private ScheduledFuture<?> scheduled;
+    private int generation; // tells apart stale scheduled moves
+    private Runnable onEnd;
+    private boolean held; // moves not known yet: nothing is scheduled until release
+    private Runnable onCancel;
+
+    /**
+     * Creates a paused playback; use resume to start it
+     *
+     * @param lock        object locked during each move (the model)
+     * @param step        makes each move
+     * @param delayMillis time between moves, 0 to play all moves at once
+     */
+    public Playback(Object lock, Step step, long delayMillis) {
+        this.lock = lock;
+        this.step = step;
+        this.delayNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, delayMillis));
+        this.state = State.PAUSED;
+    }
+
+    /**
+     * Starts or continues playing, the next move after the current delay
+     */
+    public void resume() {
+        synchronized (this.lock) {
+            if (this.state == State.PAUSED) {
+                this.state = State.PLAYING;
+                this.schedule();
+            }
+        }
+    }
+
+    /**
+     * Stops playing until resume
+     */
+    public void pause() {
+        synchronized (this.lock) {
+            if (this.state == State.PLAYING) {
+                this.state = State.PAUSED;
+                this.unschedule();
+            }
+        }
+    }
+
+    /**
+     * Stops playing for good; no move is made after this returns
+     */
+    public void cancel() {
+        synchronized (this.lock) {
+            if (this.state == State.PLAYING || this.state == State.PAUSED) {
+                this.unschedule();
+                this.end(State.CANCELLED);
+            }
+        }
+    }
+
+    /**
+     * Holds the moves back while they are still being searched: resume and
+     * pause only record whether to play them once release is called
+     */
+    void hold() {
+        synchronized (this.lock) {
+            this.held = true;
+        }
+    }
+
+    /**
+     * Ends a hold, playing the moves now unless paused
+     */
+    void release() {
+        synchronized (this.lock) {
+            if (this.held) {
+                this.held = false;
+                if (this.state == State.PLAYING) {
+                    this.schedule();
+                }
+            }
+        }
+    }
+
+    /**
+     * Sets the action to run when the playback is cancelled, e.g. to stop
+     * the search for its moves; it runs at once if it was already cancelled
+     */
+    void setOnCancel(Runnable action) {
+        synchronized (this.lock) {
+            if (this.state == State.CANCELLED) {
+                action.run();
+            } else {
+                this.onCancel = action;
+            }
+        }
+    }
+
+    /**
+     * Sets the action to run when the playback is done or cancelled, on
+     * the thread that ends it and holding the lock; it runs at once if the
+     * playback already ended. Replaces a previous action.
+     *
+     * @param action a short action, e.g. to update a view
+     */
+    public void setOnEnd(Runnable action) {
+        synchronized (this.lock) {
+            this.onEnd = action;
+            if (!this.isActive()) {
+                this.end(this.state);
+            }
+        }
+    }
+
+    /**
+     * Changes the time between moves, taking effect from the next move
+     *
+     * @param delayMillis time between moves, 0 to play the remaining moves at once
+     */
+    public void setDelay(long delayMillis) {
+        synchronized (this.lock) {
+            this.delayNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, delayMillis));
+            if (this.state == State.PLAYING) {
+                this.unschedule();
+                this.schedule();
+            }
+        }
+    }
+
+    /**
+     * @return time between moves in milliseconds
+     */
+    public long getDelay() {
+        synchronized (this.lock) {
+            return TimeUnit.NANOSECONDS.toMillis(this.delayNanos);
+        }
+    }
+
+    public boolean isPaused() {
+        synchronized (this.lock) {
+            return this.state == State.PAUSED;
+        }
+    }
+
+    public boolean isCancelled() {
+        synchronized (this.lock) {
+            return this.state == State.CANCELLED;
+        }
+    }
+
+    /**
+     * @return true if all moves were played
+     */
+    public boolean isDone() {
+        synchronized (this.lock) {
+            return this.state == State.DONE;
+        }
+    }
+
+    /**
+     * @return true if there may be more moves to play
+     */
+    public boolean isActive() {
+        synchronized (this.lock) {
+            return this.state == State.PLAYING || this.state == State.PAUSED;
+        }
+    }
+
+    private void end(State state) {
+        this.state = state;
+        Runnable stop = this.onCancel;
+        this.onCancel = null;
+        if (stop != null && state == State.CANCELLED) {
+            stop.run();
+        }
+        Runnable action = this.onEnd;
+        this.onEnd = null;
+        if (action != null) {
+            action.run();
+        }
+    }
+
+    private void schedule() {
+        int current = ++this.generation;
+        if (this.held) {
+            return; // scheduled on release
+        }
+        if (this.delayNanos == 0) {
+            this.scheduled = null;
+            GameClock.scheduler().execute(() -> this.play(current));
+        } else {
+            this.scheduled = GameClock.scheduler().schedule(() -> this.play(current),
+                    this.delayNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void unschedule() {
+        this.generation++;
+        if (this.scheduled != null) {
+            this.scheduled.cancel(false);
+            this.scheduled = null;
+        }
+    }
+
+    /**
+     * Makes one move, or all of them without delay, then schedules the next
+     */
+    private void play(int scheduledGeneration) {
+        synchronized (this.lock) {
+            if (this.state != State.PLAYING || scheduledGeneration != this.generation) {
+                return; // paused, cancelled or rescheduled after being scheduled
+            }
+            if (this.delayNanos == 0) {
+                while (this.step.next()) {
+                    // play all remaining moves at once
+                }
+                this.end(State.DONE);
+            } else if (this.step.next()) {
+                this.schedule();
+            } else {
+                this.end(State.DONE);
+            }
+        }
+    }
+}
@@ -41,24 +41,49 @@ public class Position
    }
 
    /**
-    * Checks if position is inside the board
+    * Checks if position is inside the default board
+    * (FifteenModel.N_LINES x FifteenModel.N_COLS)
     * @return true if inside, false otherwise
     */
    public boolean isInside()
    {
       return Position.isInside(this.getLine(), this.getCol());
    }
+
+   /**
+    * Checks if position is inside a board with the given size
+    * @param nLines number of lines of the board
+    * @param nCols number of columns of the board
+    * @return true if inside, false otherwise
+    */
+   public boolean isInsideBoard(int nLines, int nCols)
+   {
+      return Position.isInside(this.getLine(), this.getCol(), nLines, nCols);
+   }
    
    /**
-    * Checks if line col are inside tha board
+    * Checks if line col are inside the default board
     * @param line
     * @param col
     * @return true if inside, false otherwise
     */
    public static boolean isInside(int line, int col)
    {
-      return 0 <= line && line < FifteenModel.N_LINES && 
-             0 <= col && col < FifteenModel.N_COLS;
+      return Position.isInside(line, col, FifteenModel.N_LINES, FifteenModel.N_COLS);
+   }
+
+   /**
+    * Checks if line col are inside a board with the given size
+    * @param line
+    * @param col
+    * @param nLines number of lines of the board
+    * @param nCols number of columns of the board
+    * @return true if inside, false otherwise
+    */
+   public static boolean isInside(int line, int col, int nLines, int nCols)
+   {
+      return 0 <= line && line < nLines && 
+             0 <= col && col < nCols;
    }
 
    /* automatically generated in eclipse, 
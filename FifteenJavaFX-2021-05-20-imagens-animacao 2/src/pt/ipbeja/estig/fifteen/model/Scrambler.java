@@ -0,0 +1,89 @@
+package pt.ipbeja.estig.fifteen.model;
+
+import java.util.Random;
+
+/**
+ * Draws boards uniformly from all solvable boards.
+ * A Fisher-Yates shuffle gives every arrangement with the same probability;
+ * half of them cannot be solved and are fixed by swapping the first two
+ * pieces. That swap pairs each unsolvable board with exactly one solvable
+ * board with the empty position in the same place, so the result is still
+ * uniform. No memory is allocated per board.
+ *
+ * @author João Paulo Barros
+ * @version 2026/10/17
+ */
+public final class Scrambler {
+    private final int nLines;
+    private final int nCols;
+    private final Random random;
+    private final boolean[] visited;
+
+    /**
+     * @param nLines number of lines
+     * @param nCols  number of columns
+     * @param random random number generator, seeded for repeatable boards
+     */
+    public Scrambler(int nLines, int nCols, Random random) {
+        this.nLines = nLines;
+        this.nCols = nCols;
+        this.random = random;
+        this.visited = new boolean[nLines * nCols];
+    }
+
+    /**
+     * Fills tiles with a random solvable board
+     *
+     * @param tiles destination with nLines * nCols positions, in line order
+     */
+    public void scramble(int[] tiles) {
+        int n = tiles.length;
+        for (int i = 0; i < n; i++) {
+            tiles[i] = (i + 1) % n; // the empty position is EMPTY (0)
+        }
+        for (int i = n - 1; i > 0; i--) {
+            int j = this.random.nextInt(i + 1);
+            int aux = tiles[i];
+            tiles[i] = tiles[j];
+            tiles[j] = aux;
+        }
+        if (!this.isSolvable(tiles)) {
+            int first = tiles[0] == FifteenModel.EMPTY ? 1 : 0;
+            int second = tiles[first + 1] == FifteenModel.EMPTY ? first + 2 : first + 1;
+            int aux = tiles[first];
+            tiles[first] = tiles[second];
+            tiles[second] = aux;
+        }
+    }
+
+    /**
+     * Checks if tiles can reach the winning position: the parity of the
+     * arrangement (the empty position counted as the last piece) must be
+     * the parity of the distance from the empty position to its winning
+     * position. Computed in O(positions) by counting cycles.
+     *
+     * @param tiles a permutation of the pieces, in line order
+     * @return true if solvable, false otherwise
+     */
+    public boolean isSolvable(int[] tiles) {
+        int n = tiles.length;
+        int cycles = 0;
+        int empty = 0;
+        for (int i = 0; i < n; i++) {
+            this.visited[i] = false;
+        }
+        for (int i = 0; i < n; i++) {
+            if (tiles[i] == FifteenModel.EMPTY) {
+                empty = i;
+            }
+            if (!this.visited[i]) {
+                cycles++;
+                for (int j = i; !this.visited[j]; j = (tiles[j] + n - 1) % n) {
+                    this.visited[j] = true;
+                }
+            }
+        }
+        int emptyDistance = (this.nLines - 1 - empty / this.nCols) + (this.nCols - 1 - empty % this.nCols);
+        return (n - cycles) % 2 == emptyDistance % 2;
+    }
+}
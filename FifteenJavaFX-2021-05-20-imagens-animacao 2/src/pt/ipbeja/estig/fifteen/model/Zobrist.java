@@ -0,0 +1,52 @@
+package pt.ipbeja.estig.fifteen.model;
+
+/**
+ * Zobrist hashing of boards: a random-looking 64-bit key for each piece at
+ * each position, XORed over the pieces of the board. Moving a piece changes
+ * the hash by two XORs (its key at the old and at the new position). Keys
+ * are computed from the piece and position by a 64-bit mixing function
+ * instead of being stored, so boards of any size need no memory for them;
+ * they are the same in every run, so hashes can be stored.
+ *
+ * @author João Paulo Barros
+ * @version 2026/10/17
+ */
+public final class Zobrist {
+    private static final long SEED = 0x9E3779B97F4A7C15L;
+
+    private Zobrist() {
+    }
+
+    /**
+     * Gets the key of a piece at a position. Different (piece, position)
+     * pairs have different keys: the mixing function is a bijection.
+     *
+     * @param piece    the piece, FifteenModel.EMPTY for the empty position
+     * @param position index of the position in line order
+     * @return the key, 0 for the empty position (given by the pieces)
+     */
+    public static long key(int piece, int position) {
+        if (piece == FifteenModel.EMPTY) {
+            return 0;
+        }
+        long z = (((long) piece << 32) | (position & 0xFFFFFFFFL)) + SEED;
+        // finalizer of SplitMix64 (Steele, Lea and Flood)
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Computes the hash from scratch
+     *
+     * @param tiles board in line order, FifteenModel.EMPTY for the empty position
+     * @return the hash, equal for equal boards
+     */
+    public static long hash(int[] tiles) {
+        long h = 0;
+        for (int i = 0; i < tiles.length; i++) {
+            h ^= Zobrist.key(tiles[i], i);
+        }
+        return h;
+    }
+}
@@ -0,0 +1,174 @@
+package pt.ipbeja.estig.fifteen.recording;
+
+import pt.ipbeja.estig.fifteen.model.Direction;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Reads the games of a GameLog one at a time, in place: next() moves to
+ * the following game and the getters decode its fields from the mapped
+ * log, so the same cursor object stands for every game. Values read from
+ * a game are only valid until the next call to next().
+ *
+ * @author João Paulo Barros
+ * @version 2026/10/17
+ */
+public final class GameCursor {
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    private final ByteBuffer log;
+    private int next; // offset of the next record
+    private int offset; // offset of the current record, -1 if none
+    private int position; // while decoding
+
+    private int nLines;
+    private int nCols;
+    private int tilesOffset;
+    private int timerValue;
+    private boolean win;
+    private int nMoves;
+    private int movesOffset;
+
+    GameCursor(ByteBuffer log) {
+        this.log = log;
+        this.next = log.position();
+        this.offset = -1;
+    }
+
+    /**
+     * Moves to the next game. A record cut short at the end of the log (the
+     * recorder stopped while writing it), or with fields that do not fit in
+     * it, ends the iteration.
+     *
+     * @return true if there is a next game
+     */
+    public boolean next() {
+        int limit = this.log.limit();
+        if (this.next >= limit) {
+            return false;
+        }
+        this.position = this.next;
+        int length = this.readVarint(limit);
+        int end = this.position + length;
+        if (length < 0 || end > limit || end < 0 || !this.decode(end)) {
+            this.next = limit;
+            return false;
+        }
+        this.offset = this.next;
+        this.next = end;
+        return true;
+    }
+
+    /**
+     * Reads the fields of the record ending at end
+     *
+     * @return false if they are not valid or do not fit in the record
+     */
+    private boolean decode(int end) {
+        this.nLines = this.readVarint(end);
+        this.nCols = this.readVarint(end);
+        if (this.nLines < 1 || this.nCols < 1 || this.nLines > GameRecorder.MAX_POSITIONS
+                || this.nCols > GameRecorder.MAX_POSITIONS
+                || this.nLines * this.nCols > GameRecorder.MAX_POSITIONS) {
+            return false;
+        }
+        this.tilesOffset = this.position;
+        this.position += this.nLines * this.nCols;
+        this.timerValue = this.readVarint(end);
+        if (this.timerValue < 0 || this.position >= end) {
+            return false;
+        }
+        this.win = (this.log.get(this.position++) & GameRecorder.WIN) != 0;
+        this.nMoves = this.readVarint(end);
+        this.movesOffset = this.position;
+        return this.nMoves >= 0 && this.movesOffset + (this.nMoves + 3L) / 4 <= end;
+    }
+
+    /**
+     * Goes back to the game at the given offset (see getOffset)
+     *
+     * @param offset offset of a record in the log
+     */
+    public void seek(int offset) {
+        this.next = offset;
+        this.offset = -1;
+    }
+
+    /**
+     * @return offset of the current game in the log
+     */
+    public int getOffset() {
+        return this.offset;
+    }
+
+    public int getNLines() {
+        return this.nLines;
+    }
+
+    public int getNCols() {
+        return this.nCols;
+    }
+
+    /**
+     * @param index position in line order
+     * @return initial piece at the position
+     */
+    public int getTile(int index) {
+        return this.log.get(this.tilesOffset + index) & 0xFF;
+    }
+
+    /**
+     * Copies the initial pieces
+     *
+     * @param tiles array with at least getNLines() * getNCols() elements
+     * @return tiles
+     */
+    public int[] getTiles(int[] tiles) {
+        for (int i = 0; i < this.nLines * this.nCols; i++) {
+            tiles[i] = this.getTile(i);
+        }
+        return tiles;
+    }
+
+    /**
+     * @return time played, in seconds
+     */
+    public int getTimerValue() {
+        return this.timerValue;
+    }
+
+    /**
+     * @return true if the game ended in the winning position
+     */
+    public boolean isWin() {
+        return this.win;
+    }
+
+    public int getMoveCount() {
+        return this.nMoves;
+    }
+
+    /**
+     * @param index move number, from 0
+     * @return direction of the moved piece, to use with keyPressed
+     */
+    public Direction getMove(int index) {
+        int packed = this.log.get(this.movesOffset + (index >> 2));
+        return DIRECTIONS[(packed >> ((index & 3) << 1)) & 3];
+    }
+
+    /**
+     * @return -1 if the varint does not end before limit
+     */
+    private int readVarint(int limit) {
+        int value = 0;
+        for (int shift = 0; shift < 32 && this.position < limit; shift += 7) {
+            int b = this.log.get(this.position++);
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,74 @@
+package pt.ipbeja.estig.fifteen.recording;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A game log written by GameRecorder, memory-mapped for reading. Games are
+ * read with a GameCursor, which decodes them in place, so iterating over
+ * the log allocates nothing per game. Games appended after opening are not
+ * seen; logs are limited to 2 GB (one mapping).
+ *
+ * @author João Paulo Barros
+ * @version 2026/10/17
+ */
+public final class GameLog implements Closeable {
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+
+    private GameLog(FileChannel channel, MappedByteBuffer buffer) {
+        this.channel = channel;
+        this.buffer = buffer;
+    }
+
+    /**
+     * Maps a game log
+     *
+     * @param file the log file
+     * @return the open log
+     * @throws IOException if the file cannot be mapped or is not a game log
+     */
+    public static GameLog open(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Game log larger than 2 GB: " + file);
+            }
+            GameRecorder.checkHeader(channel);
+            return new GameLog(channel, channel.map(FileChannel.MapMode.READ_ONLY, 0, size));
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * @return a new cursor before the first game; each thread needs its own
+     */
+    public GameCursor cursor() {
+        ByteBuffer games = this.buffer.duplicate();
+        games.position(GameRecorder.HEADER_SIZE);
+        return new GameCursor(games);
+    }
+
+    /**
+     * @return size of the log in bytes
+     */
+    public int size() {
+        return this.buffer.capacity();
+    }
+
+    /**
+     * Closes the file; the mapping is released when the log is garbage collected
+     */
+    @Override
+    public void close() throws IOException {
+        this.channel.close();
+    }
+}
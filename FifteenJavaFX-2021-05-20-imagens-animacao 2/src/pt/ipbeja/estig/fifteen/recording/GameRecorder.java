@@ -0,0 +1,202 @@
+package pt.ipbeja.estig.fifteen.recording;
+
+import pt.ipbeja.estig.fifteen.metrics.FifteenMetrics;
+import pt.ipbeja.estig.fifteen.model.Direction;
+import pt.ipbeja.estig.fifteen.model.FifteenModel;
+import pt.ipbeja.estig.fifteen.model.MoveLog;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Appends finished games to a binary log. The log starts with a header
+ * (magic "F15G" and a version byte) followed by one record per game:
+ *
+ * <pre>
+ * varint  length of the rest of the record
+ * varint  number of lines
+ * varint  number of columns
+ * byte    initial piece at each position, in line order
+ * varint  timer value (seconds)
+ * byte    flags (bit 0: win)
+ * varint  number of moves
+ * byte    moves, 2 bits each (Direction ordinal), 4 per byte, first move in the low bits
+ * </pre>
+ *
+ * A 4x4 game of 50 moves takes 35 bytes. Records are only appended, so a
+ * record cut short by a crash is at the end and is ignored by GameCursor.
+ *
+ * @author João Paulo Barros
+ * @version 2026/10/17
+ */
+public class GameRecorder implements Closeable {
+    static final int MAGIC = 0x46313547; // "F15G"
+    static final byte VERSION = 1;
+    static final int HEADER_SIZE = 5;
+    static final int MAX_POSITIONS = 256; // pieces must fit in a byte
+    static final int WIN = 1;
+
+    private final FileChannel channel;
+    private ByteBuffer buffer; // reused for each record
+    private long games;
+
+    /**
+     * Opens the log for appending, creating it if needed
+     *
+     * @param file the log file
+     * @throws IOException if the file cannot be opened or is not a game log
+     */
+    public GameRecorder(Path file) throws IOException {
+        if (Files.exists(file) && Files.size(file) > 0) {
+            try (FileChannel log = FileChannel.open(file, StandardOpenOption.READ)) {
+                GameRecorder.checkHeader(log);
+            }
+        }
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        this.buffer = ByteBuffer.allocate(256);
+        this.games = 0;
+        if (this.channel.size() == 0) {
+            this.buffer.putInt(MAGIC).put(VERSION).flip();
+            try {
+                this.write();
+            } catch (IOException e) {
+                this.channel.close();
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * @throws IOException if the channel does not start with a game log header
+     */
+    static void checkHeader(FileChannel channel) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        while (header.hasRemaining() && channel.read(header, header.position()) >= 0) {
+            // reads the whole header
+        }
+        header.flip();
+        if (header.remaining() < HEADER_SIZE || header.getInt() != MAGIC || header.get() != VERSION) {
+            throw new IOException("Not a game log (version " + VERSION + ")");
+        }
+    }
+
+    /**
+     * Appends the game of a model: its initial board, the moves since then,
+     * the timer value and whether it is won
+     *
+     * @param model the game to record
+     * @throws IOException if the record cannot be written
+     */
+    public void record(FifteenModel model) throws IOException {
+        synchronized (model) {
+            this.record(model.getNLines(), model.getNCols(), model.getInitialTiles(), model.getMoveLog(),
+                    model.getTimerValue(), model.inWinningPositions());
+        }
+    }
+
+    /**
+     * Appends a game
+     *
+     * @param nLines     number of lines
+     * @param nCols      number of columns
+     * @param tiles      initial pieces in line order
+     * @param moves      moves from the initial board (directions of the moved pieces)
+     * @param timerValue time played, in seconds
+     * @param win        true if the game ended in the winning position
+     * @throws IOException              if the record cannot be written
+     * @throws IllegalArgumentException if the board has more than 256 positions
+     */
+    public synchronized void record(int nLines, int nCols, int[] tiles, MoveLog moves, int timerValue,
+                                    boolean win) throws IOException {
+        if (tiles.length != nLines * nCols || tiles.length > MAX_POSITIONS) {
+            throw new IllegalArgumentException("Cannot record a " + nLines + "x" + nCols + " board");
+        }
+        int nMoves = moves.size();
+        int length = varintSize(nLines) + varintSize(nCols) + tiles.length + varintSize(timerValue) + 1
+                + varintSize(nMoves) + (nMoves + 3) / 4;
+        this.reserve(varintSize(length) + length);
+        putVarint(this.buffer, length);
+        putVarint(this.buffer, nLines);
+        putVarint(this.buffer, nCols);
+        for (int piece : tiles) {
+            this.buffer.put((byte) piece);
+        }
+        putVarint(this.buffer, timerValue);
+        this.buffer.put((byte) (win ? WIN : 0));
+        putVarint(this.buffer, nMoves);
+        int packed = 0;
+        for (int i = 0; i < nMoves; i++) {
+            Direction d = moves.get(i);
+            packed |= d.ordinal() << ((i & 3) << 1);
+            if ((i & 3) == 3) {
+                this.buffer.put((byte) packed);
+                packed = 0;
+            }
+        }
+        if ((nMoves & 3) != 0) {
+            this.buffer.put((byte) packed);
+        }
+        this.buffer.flip();
+        this.write();
+        this.games++;
+        FifteenMetrics.get().gameRecorded();
+    }
+
+    /**
+     * @return number of games recorded since the log was opened
+     */
+    public synchronized long getGameCount() {
+        return this.games;
+    }
+
+    /**
+     * Writes the recorded games to the storage device
+     */
+    public synchronized void flush() throws IOException {
+        this.channel.force(false);
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        this.channel.close();
+    }
+
+    private void reserve(int size) {
+        if (this.buffer.capacity() < size) {
+            this.buffer = ByteBuffer.allocate(Math.max(size, 2 * this.buffer.capacity()));
+        }
+        this.buffer.clear();
+    }
+
+    private void write() throws IOException {
+        while (this.buffer.hasRemaining()) {
+            this.channel.write(this.buffer);
+        }
+        this.buffer.clear();
+    }
+
+    static int varintSize(int value) {
+        int size = 1;
+        while ((value >>>= 7) != 0) {
+            size++;
+        }
+        return size;
+    }
+
+    /**
+     * Writes value 7 bits per byte, low bits first; the high bit of each
+     * byte but the last is set
+     */
+    static void putVarint(ByteBuffer buffer, int value) {
+        while ((value & ~0x7F) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+}
@@ -0,0 +1,135 @@
+package pt.ipbeja.estig.fifteen.recording;
+
+import pt.ipbeja.estig.fifteen.gui.View;
+import pt.ipbeja.estig.fifteen.model.Direction;
+import pt.ipbeja.estig.fifteen.model.FifteenModel;
+import pt.ipbeja.estig.fifteen.model.Playback;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Replays recorded games in a model, at full speed or at the pace they
+ * were played, so the views of the model show them as they happened.
+ * Replayed moves are the net moves of the game (see MoveLog).
+ *
+ * Usage: GameReplay log-file (replays all the games at full speed and
+ * checks that each one ends as recorded)
+ *
+ * @author João Paulo Barros
+ * @version 2026/10/17
+ */
+public final class GameReplay {
+    /**
+     * Ignores all notifications
+     */
+    public static final View NO_VIEW = (move, winning, tValue) -> {
+    };
+
+    private GameReplay() {
+    }
+
+    /**
+     * Creates a model for replaying the game, without timer notifications
+     *
+     * @param game the current game of a cursor
+     * @param view the view to notify of the replayed moves
+     * @return a model of the size of the game
+     */
+    public static FifteenModel createModel(GameCursor game, View view) {
+        FifteenModel model = new FifteenModel(game.getNLines(), game.getNCols(), view);
+        model.setTimerNotifications(false);
+        return model;
+    }
+
+    /**
+     * Sets the initial board of the game and makes all its moves, in the
+     * calling thread
+     *
+     * @param game  the current game of a cursor
+     * @param model a model of the size of the game
+     * @param tiles array of the board size, to avoid allocating one per game
+     * @throws IllegalArgumentException if the model size is not the game size
+     */
+    public static void replay(GameCursor game, FifteenModel model, int[] tiles) {
+        checkSize(game, model);
+        model.setTiles(game.getTiles(tiles));
+        for (int i = 0; i < game.getMoveCount(); i++) {
+            model.keyPressed(game.getMove(i));
+        }
+    }
+
+    /**
+     * Sets the initial board of the game and plays its moves on the shared
+     * game scheduler, evenly spread over the recorded time (all at once if
+     * it is 0). The game is copied, so the cursor can move on.
+     *
+     * @param game  the current game of a cursor
+     * @param model a model of the size of the game
+     * @param speed 1 for the recorded pace, 2 for twice as fast...
+     * @return the running playback
+     * @throws IllegalArgumentException if the model size is not the game size
+     */
+    public static Playback play(GameCursor game, FifteenModel model, double speed) {
+        checkSize(game, model);
+        int n = game.getMoveCount();
+        Direction[] moves = new Direction[n];
+        for (int i = 0; i < n; i++) {
+            moves[i] = game.getMove(i);
+        }
+        long delay = n == 0 ? 0 : Math.round(game.getTimerValue() * 1000.0 / n / speed);
+        int[] next = {0};
+        synchronized (model) {
+            model.setTiles(game.getTiles(new int[game.getNLines() * game.getNCols()]));
+            Playback playback = new Playback(model, () -> {
+                if (next[0] == n) {
+                    return false;
+                }
+                model.keyPressed(moves[next[0]++]);
+                return true;
+            }, delay);
+            playback.resume();
+            return playback;
+        }
+    }
+
+    private static void checkSize(GameCursor game, FifteenModel model) {
+        if (model.getNLines() != game.getNLines() || model.getNCols() != game.getNCols()) {
+            throw new IllegalArgumentException("Game is " + game.getNLines() + "x" + game.getNCols() +
+                    ", model is " + model.getNLines() + "x" + model.getNCols());
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            System.err.println("Usage: GameReplay log-file");
+            System.exit(2);
+        }
+        long start = System.nanoTime();
+        long games = 0;
+        long moves = 0;
+        long mismatches = 0;
+        Map<Integer, FifteenModel> models = new HashMap<>(); // one per board size
+        Map<Integer, int[]> tiles = new HashMap<>();
+        try (GameLog log = GameLog.open(Paths.get(args[0]))) {
+            GameCursor game = log.cursor();
+            while (game.next()) {
+                int size = game.getNLines() << 16 | game.getNCols();
+                FifteenModel model = models.computeIfAbsent(size, k -> createModel(game, NO_VIEW));
+                replay(game, model, tiles.computeIfAbsent(size, k -> new int[game.getNLines() * game.getNCols()]));
+                if (model.inWinningPositions() != game.isWin()) {
+                    mismatches++;
+                    System.err.println("Game at " + game.getOffset() + " does not end as recorded");
+                }
+                games++;
+                moves += game.getMoveCount();
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("%d games, %d moves, %d mismatches in %.2f s (%.0f games/s)%n",
+                games, moves, mismatches, seconds, games / seconds);
+        System.exit(mismatches == 0 ? 0 : 1);
+    }
+}
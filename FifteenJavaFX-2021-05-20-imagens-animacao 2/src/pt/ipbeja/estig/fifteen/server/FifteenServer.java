@@ -0,0 +1,215 @@
+package pt.ipbeja.estig.fifteen.server;
+
+import pt.ipbeja.estig.fifteen.metrics.FifteenMetrics;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Headless fifteen server: many games in one process, one per connection,
+ * all served by a single thread with a non-blocking selector.
+ * Each connection owns a FifteenModel whose view is the connection itself
+ * (see Session for the line protocol).
+ *
+ * @author João Paulo Barros
+ * @version 2026/10/17
+ */
+public class FifteenServer implements Runnable {
+    public static final int DEFAULT_PORT = 1515;
+
+    private final Selector selector;
+    private final ServerSocketChannel serverChannel;
+    private final Queue<Session> toFlush;
+    private volatile boolean running;
+    private Thread loopThread;
+    private volatile int nSessions;
+
+    /**
+     * Opens the server on localhost
+     *
+     * @param port port to listen on, 0 for any free port
+     * @throws IOException if the port cannot be opened
+     */
+    public FifteenServer(int port) throws IOException {
+        this.selector = Selector.open();
+        this.serverChannel = ServerSocketChannel.open();
+        this.serverChannel.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 1024);
+        this.serverChannel.configureBlocking(false);
+        this.serverChannel.register(this.selector, SelectionKey.OP_ACCEPT);
+        this.toFlush = new ConcurrentLinkedQueue<>();
+        this.running = true;
+    }
+
+    /**
+     * @return the port the server listens on
+     */
+    public int getPort() {
+        return this.serverChannel.socket().getLocalPort();
+    }
+
+    /**
+     * @return number of open connections
+     */
+    public int getSessionCount() {
+        return this.nSessions;
+    }
+
+    /**
+     * Serves connections until stop is called
+     */
+    @Override
+    public void run() {
+        this.loopThread = Thread.currentThread();
+        try {
+            while (this.running) {
+                this.selector.select();
+                Iterator<SelectionKey> keys = this.selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    this.handle(key);
+                }
+                this.flushPending();
+            }
+        } catch (IOException e) {
+            System.err.println("Server error: " + e.getMessage());
+        } finally {
+            this.close();
+        }
+    }
+
+    /**
+     * Stops the server and closes all connections
+     */
+    public void stop() {
+        this.running = false;
+        this.selector.wakeup();
+    }
+
+    private void handle(SelectionKey key) {
+        try {
+            if (!key.isValid()) {
+                return;
+            }
+            if (key.isAcceptable()) {
+                this.accept();
+            } else {
+                Session session = (Session) key.attachment();
+                if (key.isReadable() && !session.read()) {
+                    this.disconnect(key);
+                    return;
+                }
+                if (key.isValid() && key.isWritable() && !session.flush()) {
+                    this.disconnect(key);
+                }
+            }
+        } catch (IOException e) {
+            this.disconnect(key);
+        } catch (RuntimeException | Error e) {
+            this.failed(key, e);
+        }
+    }
+
+    /**
+     * Disconnects a session whose command failed, keeping the other sessions
+     * (and the server, if accepting failed)
+     */
+    private void failed(SelectionKey key, Throwable e) {
+        System.err.println("Session error: " + e);
+        if (key.channel() != this.serverChannel) {
+            this.disconnect(key);
+        }
+    }
+
+    private void accept() throws IOException {
+        SocketChannel channel;
+        while ((channel = this.serverChannel.accept()) != null) {
+            channel.configureBlocking(false);
+            channel.socket().setTcpNoDelay(true);
+            SelectionKey key = channel.register(this.selector, SelectionKey.OP_READ);
+            key.attach(new Session(this, key, channel));
+            this.nSessions++;
+            FifteenMetrics.get().sessionOpened();
+        }
+    }
+
+    private void disconnect(SelectionKey key) {
+        Session session = (Session) key.attachment();
+        if (session != null) {
+            session.close();
+            this.nSessions--;
+            FifteenMetrics.get().sessionClosed();
+        }
+        key.cancel();
+        try {
+            key.channel().close();
+        } catch (IOException e) {
+            // nothing to do, closing anyway
+        }
+    }
+
+    /**
+     * Asks the server thread to write a session's pending output.
+     * Called from any thread.
+     */
+    void requestFlush(Session session) {
+        this.toFlush.add(session);
+        if (Thread.currentThread() != this.loopThread) {
+            this.selector.wakeup();
+        }
+    }
+
+    private void flushPending() {
+        Session session;
+        while ((session = this.toFlush.poll()) != null) {
+            SelectionKey key = session.getKey();
+            if (!key.isValid()) {
+                continue;
+            }
+            try {
+                if (!session.flush()) {
+                    this.disconnect(key);
+                }
+            } catch (IOException e) {
+                this.disconnect(key);
+            } catch (RuntimeException | Error e) {
+                this.failed(key, e);
+            }
+        }
+    }
+
+    private void close() {
+        for (SelectionKey key : this.selector.keys()) {
+            if (key.attachment() instanceof Session) {
+                this.disconnect(key);
+            }
+        }
+        try {
+            this.serverChannel.close();
+            this.selector.close();
+        } catch (IOException e) {
+            // nothing to do, closing anyway
+        }
+    }
+
+    /**
+     * Start server
+     *
+     * @param args optional port (default 1515)
+     */
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        FifteenServer server = new FifteenServer(port);
+        FifteenMetrics.register();
+        System.out.println("Fifteen server on localhost:" + server.getPort());
+        server.run();
+    }
+}
@@ -0,0 +1,279 @@
+package pt.ipbeja.estig.fifteen.server;
+
+import pt.ipbeja.estig.fifteen.gui.View;
+import pt.ipbeja.estig.fifteen.model.Direction;
+import pt.ipbeja.estig.fifteen.model.FifteenModel;
+import pt.ipbeja.estig.fifteen.model.Move;
+import pt.ipbeja.estig.fifteen.model.Playback;
+import pt.ipbeja.estig.fifteen.model.Position;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * One connection of the fifteen server, with its own game.
+ * It is the view of its model: moves and timer ticks are written to the
+ * connection.
+ *
+ * Commands, one per line:
+ * U, D, L, R (move piece in direction), P line col (select piece),
+ * NEW [lines cols] (new scrambled game, 2 to 32 lines and columns), BOARD, TIME, TICKS ON|OFF,
+ * SOLVE (at most 36 positions, one at a time), QUIT.
+ *
+ * Answers and events, one per line:
+ * MOVE line1 col1 line2 col2 [WIN], TIME seconds, BOARD lines cols pieces...,
+ * NONE (nothing to move), OK, ERROR message, BYE.
+ *
+ * @author João Paulo Barros
+ * @version 2026/10/17
+ */
+class Session implements View {
+    private static final int MAX_LINE = 256;
+    private static final int BUFFER_SIZE = 4096;
+    private static final int MAX_QUEUED = 1 << 20; // bytes waiting to be written, for a client that does not read
+    private static final int MIN_SIDE = 2;
+    private static final int MAX_SIDE = 32; // the size comes from the network
+    private static final int MAX_SOLVED = 36; // positions: larger boards take too much memory and time per session
+
+    private final FifteenServer server;
+    private final SelectionKey key;
+    private final SocketChannel channel;
+    private final ByteBuffer input;
+    private final Queue<String> outgoing;
+    private final AtomicInteger queued; // bytes in outgoing
+    private volatile boolean overflowed;
+    private final AtomicBoolean flushRequested;
+    private ByteBuffer output;
+    private FifteenModel model;
+    private Playback solving; // the last SOLVE, null if none
+    private boolean closing;
+
+    Session(FifteenServer server, SelectionKey key, SocketChannel channel) {
+        this.server = server;
+        this.key = key;
+        this.channel = channel;
+        this.input = ByteBuffer.allocate(MAX_LINE);
+        this.outgoing = new ConcurrentLinkedQueue<>();
+        this.queued = new AtomicInteger();
+        this.flushRequested = new AtomicBoolean(false);
+        this.output = null;
+        this.newGame(FifteenModel.N_LINES, FifteenModel.N_COLS);
+    }
+
+    SelectionKey getKey() {
+        return this.key;
+    }
+
+    @Override
+    public void notifyView(Move move, Boolean winning, int tValue) {
+        if (move == null) {
+            this.send("TIME " + tValue);
+        } else {
+            this.send("MOVE " + move.getBegin().getLine() + " " + move.getBegin().getCol() + " " +
+                    move.getEnd().getLine() + " " + move.getEnd().getCol() + (winning ? " WIN" : ""));
+        }
+    }
+
+    /**
+     * Reads available bytes and runs all complete commands
+     *
+     * @return false if the connection was closed by the client
+     */
+    boolean read() throws IOException {
+        int n = this.channel.read(this.input);
+        if (n < 0) {
+            return false;
+        }
+        this.input.flip();
+        int start = 0;
+        for (int i = 0; i < this.input.limit(); i++) {
+            if (this.input.get(i) == '\n') {
+                String line = new String(this.input.array(), start, i - start, StandardCharsets.US_ASCII);
+                this.execute(line.trim());
+                start = i + 1;
+            }
+        }
+        this.input.position(start);
+        this.input.compact();
+        if (!this.input.hasRemaining()) {
+            this.input.clear();
+            this.send("ERROR line too long");
+        }
+        return true;
+    }
+
+    private void execute(String line) {
+        String[] words = line.split("\\s+");
+        try {
+            switch (words[0].toUpperCase()) {
+                case "U": this.keyPressed(Direction.UP); break;
+                case "D": this.keyPressed(Direction.DOWN); break;
+                case "L": this.keyPressed(Direction.LEFT); break;
+                case "R": this.keyPressed(Direction.RIGHT); break;
+                case "P":
+                    Move before = this.model.getLastMove();
+                    this.model.pieceSelected(new Position(Integer.parseInt(words[1]), Integer.parseInt(words[2])));
+                    this.checkMoved(before);
+                    break;
+                case "NEW":
+                    if (words.length == 3) {
+                        int nLines = Integer.parseInt(words[1]);
+                        int nCols = Integer.parseInt(words[2]);
+                        if (nLines < MIN_SIDE || nLines > MAX_SIDE || nCols < MIN_SIDE || nCols > MAX_SIDE) {
+                            this.send("ERROR lines and columns must be " + MIN_SIDE + " to " + MAX_SIDE);
+                            break;
+                        }
+                        this.newGame(nLines, nCols);
+                    } else {
+                        this.newGame(this.model.getNLines(), this.model.getNCols());
+                    }
+                    this.send("OK");
+                    break;
+                case "BOARD": this.sendBoard(); break;
+                case "TIME": this.send("TIME " + this.model.getTimerValue()); break;
+                case "TICKS":
+                    this.model.setTimerNotifications(words.length > 1 && words[1].equalsIgnoreCase("ON"));
+                    this.send("OK");
+                    break;
+                case "SOLVE": this.solve(); break;
+                case "QUIT":
+                    this.send("BYE");
+                    this.closing = true;
+                    break;
+                case "": break;
+                default: this.send("ERROR unknown command " + words[0]);
+            }
+        } catch (RuntimeException e) {
+            this.send("ERROR " + e.getMessage());
+        }
+    }
+
+    private void keyPressed(Direction direction) {
+        Move before = this.model.getLastMove();
+        this.model.keyPressed(direction);
+        this.checkMoved(before);
+    }
+
+    /**
+     * Every command gets an answer: NONE when nothing could be moved
+     */
+    private void checkMoved(Move before) {
+        if (this.model.getLastMove() == before) {
+            this.send("NONE");
+        }
+    }
+
+    private void solve() {
+        if (this.solving != null && this.solving.isActive()) {
+            this.send("ERROR already solving");
+        } else if (this.model.getNLines() * this.model.getNCols() > MAX_SOLVED) {
+            this.send("ERROR only boards of up to " + MAX_SOLVED + " positions can be solved");
+        } else {
+            this.solving = this.model.solve(0);
+        }
+    }
+
+    private void newGame(int nLines, int nCols) {
+        if (this.model != null) {
+            this.stopSolving();
+            this.model.stopTimer();
+        }
+        this.model = new FifteenModel(nLines, nCols, this);
+        this.model.setTimerNotifications(false);
+        this.model.scramble();
+        this.model.startTimer();
+    }
+
+    private void sendBoard() {
+        StringBuilder s = new StringBuilder("BOARD ");
+        s.append(this.model.getNLines()).append(' ').append(this.model.getNCols());
+        for (int piece : this.model.getTiles()) {
+            s.append(' ').append(piece);
+        }
+        this.send(s.toString());
+    }
+
+    /**
+     * Queues a line to write; may be called from any thread. Past
+     * MAX_QUEUED bytes the line is dropped and the session disconnected.
+     */
+    private void send(String line) {
+        if (this.queued.addAndGet(line.length() + 1) > MAX_QUEUED) {
+            this.overflowed = true;
+        } else {
+            this.outgoing.add(line);
+        }
+        if (this.flushRequested.compareAndSet(false, true)) {
+            this.server.requestFlush(this);
+        }
+    }
+
+    /**
+     * Writes queued lines; called from the server thread only
+     *
+     * @return false if the session ended (QUIT) and all its lines were
+     * written, or too many lines were waiting, so the server must
+     * disconnect it
+     */
+    boolean flush() throws IOException {
+        this.flushRequested.set(false);
+        if (this.overflowed) {
+            return false;
+        }
+        if (this.output == null) {
+            this.output = ByteBuffer.allocateDirect(BUFFER_SIZE);
+            this.output.flip();
+        }
+        while (true) {
+            if (!this.output.hasRemaining()) {
+                this.output.clear();
+                String line;
+                while ((line = this.outgoing.peek()) != null) {
+                    if (line.length() + 1 > this.output.remaining()) {
+                        if (this.output.position() > 0) {
+                            break; // write the lines before it first
+                        }
+                        // a line longer than the buffer: a larger one, kept for the next long lines
+                        this.output = ByteBuffer.allocateDirect(2 * Integer.highestOneBit(line.length() + 1));
+                    }
+                    this.outgoing.poll();
+                    this.queued.addAndGet(-(line.length() + 1));
+                    this.output.put(line.getBytes(StandardCharsets.US_ASCII)).put((byte) '\n');
+                }
+                this.output.flip();
+                if (!this.output.hasRemaining()) {
+                    break; // nothing left to write
+                }
+            }
+            this.channel.write(this.output);
+            if (this.output.hasRemaining()) {
+                this.key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+                return true; // socket full, continue when writable
+            }
+        }
+        this.key.interestOps(SelectionKey.OP_READ);
+        return !this.closing;
+    }
+
+    void close() {
+        this.stopSolving();
+        this.model.stopTimer();
+    }
+
+    /**
+     * Stops the search and the moves of the last SOLVE, if any
+     */
+    private void stopSolving() {
+        if (this.solving != null) {
+            this.solving.cancel();
+            this.solving = null;
+        }
+    }
+}
@@ -0,0 +1,498 @@
+package pt.ipbeja.estig.fifteen.solver;
+
+import pt.ipbeja.estig.fifteen.model.Direction;
+import pt.ipbeja.estig.fifteen.model.FifteenModel;
+import pt.ipbeja.estig.fifteen.model.Scrambler;
+import pt.ipbeja.estig.fifteen.model.Zobrist;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Near-shortest solutions for boards too large for the optimal solvers
+ * (5x5 to 7x7). Beam search: at each depth only the width boards with
+ * the lowest heuristic value are kept and expanded. Each kept board is
+ * remembered by its parent and move (5 bytes), so the memory used is
+ * bounded by the number of boards, given by a memory cap. Each move changes
+ * the parity of the empty position, so a board can only come back two
+ * depths later: children are checked against the boards of their depth and
+ * of two depths before (hash sets), and longer cycles are cut from the
+ * solution at the end.
+ *
+ * solve(start, budget) searches with wider and wider beams while the
+ * time budget allows, keeping the shortest solution; its length is
+ * compared with the heuristic value of the start board, a lower bound.
+ *
+ * Usage: BeamSolver [LINESxCOLS] [boards] [seconds] (random boards)
+ *
+ * @author João Paulo Barros
+ * @version 2026/10/17
+ */
+public class BeamSolver {
+    public static final long DEFAULT_MEMORY = 256L << 20;
+    public static final int MIN_WIDTH = 64;
+
+    /**
+     * Parent and move of a board
+     */
+    private static final int BYTES_PER_BOARD = 4 + 1;
+    private static final int MAX_POSITIONS = 127; // pieces stored in a byte
+    private static final int ROOT_MOVE = -1;
+    private static final int MAX_DEPTH_FACTOR = 4; // times the lower bound, for a beam going nowhere
+    private static final int STALL_FACTOR = 2; // times the board size, depths without a better board
+
+    /**
+     * Outcome of solve
+     */
+    public static final class Result {
+        private final List<Direction> solution;
+        private final int lowerBound;
+        private final int width;
+        private final long boards;
+
+        Result(List<Direction> solution, int lowerBound, int width, long boards) {
+            this.solution = solution;
+            this.lowerBound = lowerBound;
+            this.width = width;
+            this.boards = boards;
+        }
+
+        /**
+         * @return directions to use with FifteenModel.keyPressed, in order
+         */
+        public List<Direction> getSolution() {
+            return this.solution;
+        }
+
+        public int getLength() {
+            return this.solution.size();
+        }
+
+        /**
+         * @return least number of moves any solution has (heuristic of the start board)
+         */
+        public int getLowerBound() {
+            return this.lowerBound;
+        }
+
+        /**
+         * @return extra moves of the solution at most, compared with a shortest one
+         */
+        public int getGap() {
+            return this.solution.size() - this.lowerBound;
+        }
+
+        /**
+         * @return beam width that found the solution
+         */
+        public int getWidth() {
+            return this.width;
+        }
+
+        /**
+         * @return boards stored by all the searches
+         */
+        public long getBoards() {
+            return this.boards;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d moves, lower bound %d (gap %d, %.1f%%), width %d, %d boards",
+                    this.getLength(), this.lowerBound, this.getGap(),
+                    this.lowerBound == 0 ? 0 : 100.0 * this.getGap() / this.lowerBound, this.width, this.boards);
+        }
+    }
+
+    private final int nLines;
+    private final int nCols;
+    private final int n;
+    private final Heuristic heuristic;
+    private final int maxBoards;
+    private long deadline;
+    private int maxLength; // of a useful solution, shorter than the best one found
+    private volatile boolean cancelled;
+
+    // boards reached by the current search, by number
+    private int[] parent;
+    private byte[] moveTo; // empty position move that reached each board
+    private int nBoards;
+
+    public BeamSolver(int nLines, int nCols, Heuristic heuristic) {
+        this(nLines, nCols, heuristic, DEFAULT_MEMORY);
+    }
+
+    /**
+     * @param memory bytes the search may use for the boards it reaches
+     * @throws IllegalArgumentException if the board has more than 127 positions
+     */
+    public BeamSolver(int nLines, int nCols, Heuristic heuristic, long memory) {
+        if (!BeamSolver.isSupported(nLines, nCols)) {
+            throw new IllegalArgumentException("Board too large: " + nLines + "x" + nCols);
+        }
+        this.nLines = nLines;
+        this.nCols = nCols;
+        this.n = nLines * nCols;
+        this.heuristic = heuristic;
+        this.maxBoards = (int) Math.min(Integer.MAX_VALUE - 8, memory / BYTES_PER_BOARD);
+        this.deadline = Long.MAX_VALUE;
+        this.maxLength = Integer.MAX_VALUE;
+    }
+
+    /**
+     * Stops the current search as soon as possible, and any later one
+     */
+    public void cancel() {
+        this.cancelled = true;
+    }
+
+    public boolean isCancelled() {
+        return this.cancelled;
+    }
+
+    /**
+     * @return true if boards of this size can be solved (at most 127 positions)
+     */
+    public static boolean isSupported(int nLines, int nCols) {
+        return nLines * nCols <= MAX_POSITIONS;
+    }
+
+    /**
+     * Searches with beam widths MIN_WIDTH, twice that and so on, until the
+     * budget would be exceeded, the memory cap is reached or the solution
+     * is proven shortest. The time of a search grows with its width, so the
+     * last search is given the widest beam that fits in the rest of the
+     * budget. A search still running when the budget ends is stopped, the
+     * first one included.
+     *
+     * @param start  board in line order, FifteenModel.EMPTY for the empty position
+     * @param budget time for all the searches
+     * @return the shortest solution found, null if the search was cancelled
+     * @throws IllegalArgumentException if the board cannot be solved
+     * @throws IllegalStateException    if no solution is found within the
+     *                                  budget and the memory cap
+     */
+    public Result solve(int[] start, Duration budget) {
+        if (!FifteenSolver.isSolvable(start, this.nLines, this.nCols)) {
+            throw new IllegalArgumentException("Board cannot be solved: " + Arrays.toString(start));
+        }
+        long begin = System.nanoTime();
+        long end = begin + budget.toNanos();
+        int lowerBound = this.heuristic.reset(start.clone());
+        List<Direction> best = null;
+        int bestWidth = 0;
+        long boards = 0;
+        long lastRun = 0;
+        int lastWidth = 0;
+        for (int width = MIN_WIDTH; width > lastWidth; width = (int) Math.min(2L * width, Integer.MAX_VALUE / 4)) {
+            long runStart = System.nanoTime();
+            if (best != null && runStart + 2 * lastRun > end) {
+                // the next search takes about twice as long as the last one: narrow it to the rest
+                // of the budget, less a margin
+                width = (int) Math.min(width, lastWidth * 0.8 * (end - runStart) / Math.max(1, lastRun));
+                if (width <= lastWidth) {
+                    break;
+                }
+            }
+            this.deadline = end;
+            this.maxLength = best == null ? Integer.MAX_VALUE : best.size() - 1;
+            List<Direction> solution = this.solve(start, width);
+            boards += this.nBoards;
+            lastRun = System.nanoTime() - runStart;
+            boolean narrowed = width < 2 * lastWidth;
+            lastWidth = width;
+            if (this.cancelled) {
+                return null;
+            }
+            if (solution == null) {
+                if (this.nBoards == this.maxBoards || System.nanoTime() > end) {
+                    break; // memory cap or deadline
+                }
+                continue; // too narrow: died out, stalled or wandered too deep
+            }
+            if (best == null || solution.size() < best.size()) {
+                best = solution;
+                bestWidth = width;
+            }
+            if (best.size() == lowerBound || (long) width * 2 * 3 > this.maxBoards || narrowed) {
+                break;
+            }
+        }
+        if (best == null) {
+            throw new IllegalStateException("No solution within " + budget.toMillis() + " ms and "
+                    + this.maxBoards + " boards");
+        }
+        return new Result(best, lowerBound, bestWidth, boards);
+    }
+
+    /**
+     * One beam search
+     *
+     * @param start board in line order, FifteenModel.EMPTY for the empty position
+     * @param width number of boards kept at each depth
+     * @return the solution found, null if the beam died out, went deeper
+     * than MAX_DEPTH_FACTOR times the lower bound (plus the board size) or
+     * than the best solution of solve(start, budget), found no board closer
+     * to the solution (lower heuristic value) for STALL_FACTOR times the
+     * board size depths, the memory cap was reached, the deadline passed or
+     * the search was cancelled
+     */
+    public List<Direction> solve(int[] start, int width) {
+        int n = this.n;
+        this.parent = new int[Math.min(this.maxBoards, 1024)];
+        this.moveTo = new byte[this.parent.length];
+        this.nBoards = 0;
+        LongIntMap before = new LongIntMap(width); // boards two depths before the children
+        LongIntMap beam = new LongIntMap(width);
+        LongIntMap children = new LongIntMap(width);
+
+        // beam at the current depth
+        byte[] tiles = new byte[width * n];
+        int[] board = new int[width];
+        int[] empty = new int[width];
+        long[] hash = new long[width];
+        int[] value = new int[width]; // heuristic value
+        int size = 1;
+        // children of the beam
+        int capacity = 3 * width + 1;
+        int[] childOf = new int[capacity];
+        byte[] childMove = new byte[capacity];
+        int[] childH = new int[capacity];
+        long[] childHash = new long[capacity];
+        int[] order = new int[capacity]; // children by heuristic value
+        int[] count = new int[16]; // children per heuristic value, then first index in order
+        byte[] nextTiles = new byte[width * n];
+        int[] nextBoard = new int[width];
+        int[] nextEmpty = new int[width];
+        long[] nextHash = new long[width];
+        int[] nextValue = new int[width];
+        int[] work = new int[n];
+        value[0] = this.heuristic.reset(start.clone());
+        int maxDepth = Math.min(MAX_DEPTH_FACTOR * value[0] + n, this.maxLength - 1);
+        int bestH = value[0];
+        int bestDepth = 0;
+
+        for (int i = 0; i < n; i++) {
+            tiles[i] = (byte) start[i];
+        }
+        empty[0] = FifteenSolver.indexOfEmpty(start);
+        hash[0] = this.hash(start);
+        board[0] = this.addBoard(0, ROOT_MOVE);
+        beam.putIfAbsent(hash[0], 0);
+        if (value[0] == 0 && FifteenSolver.isSolved(start)) {
+            return FifteenSolver.toDirections(new int[0], 0);
+        }
+
+        for (int depth = 0; size > 0; depth++) {
+            if (depth > maxDepth || depth - bestDepth > STALL_FACTOR * n || System.nanoTime() > this.deadline
+                    || this.cancelled) {
+                return null;
+            }
+            int nChildren = 0;
+            int minH = Integer.MAX_VALUE;
+            int maxH = 0;
+            for (int b = 0; b < size; b++) {
+                for (int i = 0; i < n; i++) {
+                    work[i] = tiles[b * n + i];
+                }
+                int e = empty[b];
+                int previous = this.moveTo[board[b]];
+                for (int move = 0; move < FifteenSolver.N_MOVES; move++) {
+                    int target = FifteenSolver.target(e, move, this.nLines, this.nCols);
+                    if (target < 0 || move == 3 - previous) {
+                        continue;
+                    }
+                    int tile = work[target];
+                    long h2 = hash[b] ^ Zobrist.key(tile, target) ^ Zobrist.key(tile, e);
+                    if (h2 == 0) {
+                        h2 = 1;
+                    }
+                    if (before.get(h2) != LongIntMap.ABSENT) {
+                        continue;
+                    }
+                    work[e] = tile;
+                    work[target] = FifteenModel.EMPTY;
+                    int h = value[b] + this.heuristic.delta(work, tile, target, e);
+                    work[target] = tile;
+                    work[e] = FifteenModel.EMPTY;
+
+                    childOf[nChildren] = b;
+                    childMove[nChildren] = (byte) move;
+                    childH[nChildren] = h;
+                    childHash[nChildren] = h2;
+                    nChildren++;
+                    minH = Math.min(minH, h);
+                    maxH = Math.max(maxH, h);
+                }
+            }
+            if (nChildren == 0) {
+                break;
+            }
+
+            // keep the best width children, by heuristic value (counting sort)
+            if (maxH - minH + 1 > count.length) {
+                count = new int[2 * (maxH - minH + 1)];
+            }
+            Arrays.fill(count, 0, maxH - minH + 1, 0);
+            for (int c = 0; c < nChildren; c++) {
+                count[childH[c] - minH]++;
+            }
+            for (int h = 0, first = 0; h <= maxH - minH; h++) {
+                int k = count[h];
+                count[h] = first;
+                first += k;
+            }
+            for (int c = 0; c < nChildren; c++) {
+                order[count[childH[c] - minH]++] = c;
+            }
+            if (minH < bestH) {
+                bestH = minH;
+                bestDepth = depth;
+            }
+            int nextSize = 0;
+            for (int i = 0; i < nChildren && nextSize < width; i++) {
+                int c = order[i];
+                int h = childH[c];
+                if (!children.putIfAbsent(childHash[c], this.nBoards)) {
+                    continue;
+                }
+                if (this.nBoards == this.maxBoards) {
+                    return null;
+                }
+                int b = childOf[c];
+                int move = childMove[c];
+                int node = this.addBoard(board[b], move);
+                int e = empty[b];
+                int target = FifteenSolver.target(e, move, this.nLines, this.nCols);
+                System.arraycopy(tiles, b * n, nextTiles, nextSize * n, n);
+                nextTiles[nextSize * n + e] = tiles[b * n + target];
+                nextTiles[nextSize * n + target] = FifteenModel.EMPTY;
+                if (h == 0 && this.isSolved(nextTiles, nextSize * n)) {
+                    return this.path(node, start);
+                }
+                nextBoard[nextSize] = node;
+                nextEmpty[nextSize] = target;
+                nextHash[nextSize] = childHash[c];
+                nextValue[nextSize] = h;
+                nextSize++;
+            }
+
+            byte[] t = tiles; tiles = nextTiles; nextTiles = t;
+            int[] bd = board; board = nextBoard; nextBoard = bd;
+            int[] em = empty; empty = nextEmpty; nextEmpty = em;
+            long[] hs = hash; hash = nextHash; nextHash = hs;
+            int[] v = value; value = nextValue; nextValue = v;
+            size = nextSize;
+            LongIntMap m = before; before = beam; beam = children; children = m;
+            children.clear();
+        }
+        return null; // every child was reached before
+    }
+
+    /**
+     * @return boards reached by the last search
+     */
+    public int getBoardCount() {
+        return this.nBoards;
+    }
+
+    /**
+     * @return the most boards a search may reach, from the memory cap
+     */
+    public int getMaxBoards() {
+        return this.maxBoards;
+    }
+
+    private int addBoard(int parentBoard, int move) {
+        if (this.nBoards == this.parent.length) {
+            int length = (int) Math.min(this.maxBoards, 2L * this.parent.length);
+            this.parent = Arrays.copyOf(this.parent, length);
+            this.moveTo = Arrays.copyOf(this.moveTo, length);
+        }
+        int node = this.nBoards++;
+        this.parent[node] = parentBoard;
+        this.moveTo[node] = (byte) move;
+        return node;
+    }
+
+    /**
+     * @return the Zobrist hash of the board, 1 instead of 0 (not a LongIntMap key)
+     */
+    private long hash(int[] tiles) {
+        long h = Zobrist.hash(tiles);
+        return h == 0 ? 1 : h;
+    }
+
+    private boolean isSolved(byte[] tiles, int offset) {
+        for (int i = 0; i < this.n - 1; i++) {
+            if (tiles[offset + i] != i + 1) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return the moves to a board, without the cycles (moves from a board
+     * back to itself)
+     */
+    private List<Direction> path(int node, int[] start) {
+        int length = 0;
+        for (int b = node; b != 0; b = this.parent[b]) {
+            length++;
+        }
+        int[] moves = new int[length];
+        for (int b = node, i = length - 1; b != 0; b = this.parent[b], i--) {
+            moves[i] = this.moveTo[b];
+        }
+        int[] tiles = start.clone();
+        int empty = FifteenSolver.indexOfEmpty(tiles);
+        long h = this.hash(tiles);
+        Map<Long, Integer> seen = new HashMap<>(); // board -> number of moves kept before it
+        long[] hashes = new long[length + 1];
+        seen.put(h, 0);
+        hashes[0] = h;
+        int kept = 0;
+        for (int i = 0; i < length; i++) {
+            int target = FifteenSolver.target(empty, moves[i], this.nLines, this.nCols);
+            int tile = tiles[target];
+            tiles[empty] = tile;
+            tiles[target] = FifteenModel.EMPTY;
+            h = this.hash(tiles);
+            empty = target;
+            Integer earlier = seen.get(h);
+            if (earlier != null) {
+                for (int j = earlier + 1; j <= kept; j++) {
+                    seen.remove(hashes[j]);
+                }
+                kept = earlier; // back at a board met before
+            } else {
+                moves[kept++] = moves[i];
+                hashes[kept] = h;
+                seen.put(h, kept);
+            }
+        }
+        return FifteenSolver.toDirections(moves, kept);
+    }
+
+    public static void main(String[] args) {
+        String[] size = (args.length > 0 ? args[0] : "5x5").toLowerCase().split("x");
+        int nLines = Integer.parseInt(size[0]);
+        int nCols = Integer.parseInt(size[1]);
+        int nBoards = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+        Duration budget = Duration.ofSeconds(args.length > 2 ? Long.parseLong(args[2]) : 5);
+        Scrambler scrambler = new Scrambler(nLines, nCols, new Random(42));
+        BeamSolver solver = new BeamSolver(nLines, nCols, new ManhattanHeuristic(nLines, nCols));
+        int[] tiles = new int[nLines * nCols];
+        for (int p = 0; p < nBoards; p++) {
+            scrambler.scramble(tiles);
+            long t0 = System.nanoTime();
+            Result result = solver.solve(tiles, budget);
+            System.out.printf("board %d: %s, %.2f s%n", p, result, (System.nanoTime() - t0) / 1e9);
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package pt.ipbeja.estig.fifteen.solver;
+
+import pt.ipbeja.estig.fifteen.model.Direction;
+import pt.ipbeja.estig.fifteen.model.PackedBoard;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Optimal solver for short solutions: breadth first search from the start
+ * board and from the winning board at the same time, one whole level at a
+ * time on the side with fewer boards, until both meet. Boards are packed in
+ * a long (at most 16 positions) and kept in primitive hash maps.
+ * A solution of length d costs about 2 * 2.1^(d/2) boards instead of 2.1^d.
+ *
+ * @author João Paulo Barros
+ * @version 2026/10/17
+ */
+public class BidirectionalSolver {
+    /**
+     * Longest solution looked for before using IDA*, about a millisecond of search
+     */
+    public static final int DEFAULT_MAX_DEPTH = 20;
+    private static final int MAX_BOARDS = 1 << 21;
+
+    /*
+     * Map values: depth << 8 | empty index << 3 | (empty move from the parent + 1), 0 for the root
+     */
+    private static final int NO_MOVE = 0;
+
+    private final int nLines;
+    private final int nCols;
+    private long nodesExpanded;
+
+    public BidirectionalSolver(int nLines, int nCols) {
+        if (nLines * nCols > PackedBoard.MAX_POSITIONS) {
+            throw new IllegalArgumentException("Board too large to pack: " + nLines + "x" + nCols);
+        }
+        this.nLines = nLines;
+        this.nCols = nCols;
+    }
+
+    /**
+     * Finds a shortest sequence of moves to the winning position, if it has
+     * at most maxDepth moves
+     *
+     * @param start    solvable board in line order
+     * @param maxDepth largest solution length to look for
+     * @return directions to use with FifteenModel.keyPressed, in order, or
+     * null if there is no solution of at most maxDepth moves
+     */
+    public List<Direction> solve(int[] start, int maxDepth) {
+        this.nodesExpanded = 0;
+        long startState = PackedBoard.pack(start);
+        long goalState = PackedBoard.goalState(start.length);
+        int startEmpty = FifteenSolver.indexOfEmpty(start);
+        if (startState == goalState) {
+            return FifteenSolver.toDirections(new int[0], 0);
+        }
+        LongIntMap forward = new LongIntMap(1024);
+        LongIntMap backward = new LongIntMap(1024);
+        forward.putIfAbsent(startState, startEmpty << 3 | NO_MOVE);
+        backward.putIfAbsent(goalState, (start.length - 1) << 3 | NO_MOVE);
+        long[] forwardLevel = {startState};
+        long[] backwardLevel = {goalState};
+        int forwardDepth = 0;
+        int backwardDepth = 0;
+
+        while (forwardDepth + backwardDepth < maxDepth && forwardLevel.length > 0 && backwardLevel.length > 0) {
+            long[] meeting = {0, Integer.MAX_VALUE}; // board, total length
+            if (forwardLevel.length <= backwardLevel.length) {
+                forwardLevel = this.expand(forwardLevel, forward, backward, ++forwardDepth, meeting);
+            } else {
+                backwardLevel = this.expand(backwardLevel, backward, forward, ++backwardDepth, meeting);
+            }
+            if (meeting[0] != 0) { // the first level where both sides meet has the shortest path
+                return meeting[1] <= maxDepth ? this.path(meeting[0], forward, backward) : null;
+            }
+            if (forward.size() + backward.size() > MAX_BOARDS) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return boards expanded by the last call to solve
+     */
+    public long getNodesExpanded() {
+        return this.nodesExpanded;
+    }
+
+    /**
+     * Expands one level of one side, noting the shortest meeting with the other
+     *
+     * @param level   boards at depth - 1 on this side
+     * @param visited boards seen on this side
+     * @param other   boards seen on the other side
+     * @param depth   depth of the new level
+     * @param meeting receives the board and length of the shortest meeting
+     * @return boards at depth
+     */
+    private long[] expand(long[] level, LongIntMap visited, LongIntMap other, int depth, long[] meeting) {
+        long[] next = new long[level.length * 3 + 1]; // the root has 4 children, others at most 3
+        int n = 0;
+        for (long state : level) {
+            int value = visited.get(state);
+            int empty = value >>> 3 & 0x1F;
+            int previous = (value & 0x7) - 1;
+            this.nodesExpanded++;
+            for (int move = 0; move < FifteenSolver.N_MOVES; move++) {
+                if (move == 3 - previous) {
+                    continue; // do not undo the previous move
+                }
+                int target = FifteenSolver.target(empty, move, this.nLines, this.nCols);
+                if (target < 0) {
+                    continue;
+                }
+                long child = PackedBoard.move(state, empty, target);
+                if (!visited.putIfAbsent(child, depth << 8 | target << 3 | (move + 1))) {
+                    continue;
+                }
+                next[n++] = child;
+                int found = other.get(child);
+                if (found != LongIntMap.ABSENT && depth + (found >>> 8) < meeting[1]) {
+                    meeting[0] = child;
+                    meeting[1] = depth + (found >>> 8);
+                }
+            }
+        }
+        return Arrays.copyOf(next, n);
+    }
+
+    /**
+     * @return the solution through the meeting board
+     */
+    private List<Direction> path(long meeting, LongIntMap forward, LongIntMap backward) {
+        int[] moves = new int[(forward.get(meeting) >>> 8) + (backward.get(meeting) >>> 8)];
+        int i = forward.get(meeting) >>> 8;
+        long state = meeting;
+        for (int value = forward.get(state); (value & 0x7) != NO_MOVE; value = forward.get(state)) {
+            int move = (value & 0x7) - 1;
+            moves[--i] = move;
+            state = this.undo(state, value >>> 3 & 0x1F, move);
+        }
+        i = forward.get(meeting) >>> 8;
+        state = meeting;
+        for (int value = backward.get(state); (value & 0x7) != NO_MOVE; value = backward.get(state)) {
+            int move = 3 - ((value & 0x7) - 1); // back towards the winning board
+            moves[i++] = move;
+            state = this.undo(state, value >>> 3 & 0x1F, (value & 0x7) - 1);
+        }
+        return FifteenSolver.toDirections(moves, moves.length);
+    }
+
+    /**
+     * @return board before the empty position, now at empty, made move
+     */
+    private long undo(long state, int empty, int move) {
+        return PackedBoard.move(state, empty, FifteenSolver.target(empty, 3 - move, this.nLines, this.nCols));
+    }
+}
@@ -0,0 +1,309 @@
+package pt.ipbeja.estig.fifteen.solver;
+
+import pt.ipbeja.estig.fifteen.model.Direction;
+import pt.ipbeja.estig.fifteen.model.FifteenModel;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Optimal solver for the fifteen puzzle using IDA*
+ * (iterative deepening A*). Works from any solvable board, independently
+ * of the moves that produced it.
+ *
+ * @author João Paulo Barros
+ * @version 2026/10/17
+ */
+public class FifteenSolver {
+    static final int FOUND = -1;
+
+    /**
+     * Empty position moves, in the same order as the model neighbors:
+     * up, left, right, down. The opposite of move m is 3 - m.
+     */
+    static final int EMPTY_UP = 0;
+    static final int EMPTY_LEFT = 1;
+    static final int EMPTY_RIGHT = 2;
+    static final int EMPTY_DOWN = 3;
+    static final int N_MOVES = 4;
+
+    /**
+     * Direction of the piece that moves when the empty position moves
+     */
+    private static final Direction[] PIECE_DIRECTION = {
+            Direction.DOWN, Direction.RIGHT, Direction.LEFT, Direction.UP};
+
+    private final int nLines;
+    private final int nCols;
+    private final Heuristic heuristic;
+
+    private int[] tiles;
+    private int empty;
+    private int[] path;
+    private int solutionLength;
+    private long nodesExpanded;
+    private volatile boolean cancelled;
+
+    /**
+     * Creates a solver for the model board using the best heuristic
+     * currently available
+     */
+    public FifteenSolver() {
+        this(FifteenModel.N_LINES, FifteenModel.N_COLS,
+                FifteenSolver.defaultHeuristic(FifteenModel.N_LINES, FifteenModel.N_COLS));
+    }
+
+    public FifteenSolver(int nLines, int nCols, Heuristic heuristic) {
+        this.nLines = nLines;
+        this.nCols = nCols;
+        this.heuristic = heuristic;
+    }
+
+    /**
+     * The pattern database heuristic for 4x4 boards once the database is
+     * loaded (see PatternDatabase.getDefault), else walking distance for boards small enough, else
+     * Manhattan distance plus linear conflicts
+     *
+     * @return a new heuristic for boards of nLines x nCols
+     */
+    public static Heuristic defaultHeuristic(int nLines, int nCols) {
+        if (nLines == 4 && nCols == 4) {
+            PatternDatabase db = PatternDatabase.getDefault();
+            if (db != null) {
+                return db.heuristic();
+            }
+        }
+        if (WalkingDistanceHeuristic.isSupported(nLines, nCols)) {
+            return new WalkingDistanceHeuristic(nLines, nCols);
+        }
+        return new ManhattanHeuristic(nLines, nCols);
+    }
+
+    /**
+     * Finds a shortest sequence of moves to the winning position
+     *
+     * @param start board in line order, FifteenModel.EMPTY for the empty position
+     * @return directions to use with FifteenModel.keyPressed, in order,
+     * or null if the search was cancelled
+     * @throws IllegalArgumentException if the board cannot be solved
+     */
+    public List<Direction> solve(int[] start) {
+        if (!FifteenSolver.isSolvable(start, this.nLines, this.nCols)) {
+            throw new IllegalArgumentException("Board cannot be solved: " + Arrays.toString(start));
+        }
+        this.tiles = start.clone();
+        this.empty = FifteenSolver.indexOfEmpty(this.tiles);
+        this.path = new int[64];
+        this.nodesExpanded = 0;
+        this.cancelled = false;
+
+        int h = this.heuristic.reset(this.tiles);
+        int bound = h;
+        while (true) {
+            int t = this.search(0, bound, h, -1);
+            if (t == FOUND) {
+                return this.solution();
+            }
+            if (this.cancelled || t == Integer.MAX_VALUE) {
+                return null;
+            }
+            bound = t;
+        }
+    }
+
+    /**
+     * Runs a single depth first search bounded by bound, starting from a
+     * board reached from the start board with the moves in prefix.
+     * Used to split one search among several threads.
+     *
+     * @param tiles  board after the prefix moves
+     * @param prefix empty position moves from the start board
+     * @param depth  number of moves in prefix
+     * @param bound  maximum estimated total cost
+     * @return FOUND or the smallest estimated cost that exceeded bound
+     */
+    int searchFrom(int[] tiles, int[] prefix, int depth, int bound) {
+        this.tiles = tiles.clone();
+        this.empty = FifteenSolver.indexOfEmpty(this.tiles);
+        this.path = Arrays.copyOf(prefix, Math.max(64, 2 * depth));
+        return this.search(depth, bound, this.heuristic.reset(this.tiles), depth > 0 ? prefix[depth - 1] : -1);
+    }
+
+    /**
+     * Stops the current search as soon as possible; the next call to solve
+     * starts a new search
+     */
+    public void cancel() {
+        this.cancelled = true;
+    }
+
+    public boolean isCancelled() {
+        return this.cancelled;
+    }
+
+    Heuristic getHeuristic() {
+        return this.heuristic;
+    }
+
+    /**
+     * @return nodes expanded by the last call to solve
+     */
+    public long getNodesExpanded() {
+        return this.nodesExpanded;
+    }
+
+    /**
+     * Depth first search limited by bound on the estimated total cost
+     *
+     * @return FOUND or the smallest estimated cost that exceeded bound
+     */
+    private int search(int depth, int bound, int h, int previous) {
+        int f = depth + h;
+        if (f > bound) {
+            return f;
+        }
+        if (h == 0 && this.isSolved()) {
+            this.solutionLength = depth;
+            return FOUND;
+        }
+        this.nodesExpanded++;
+        if (depth == this.path.length) {
+            this.path = Arrays.copyOf(this.path, 2 * depth);
+        }
+
+        int min = Integer.MAX_VALUE;
+        for (int move = 0; move < N_MOVES; move++) {
+            if (move == 3 - previous) {
+                continue; // do not undo the previous move
+            }
+            int target = this.target(move);
+            if (target < 0) {
+                continue;
+            }
+            int oldEmpty = this.empty;
+            int tile = this.tiles[target];
+            this.tiles[oldEmpty] = tile;
+            this.tiles[target] = FifteenModel.EMPTY;
+            this.empty = target;
+            this.path[depth] = move;
+
+            int t = this.search(depth + 1, bound, this.heuristic.update(this.tiles, tile, target, oldEmpty), move);
+
+            this.tiles[target] = tile;
+            this.tiles[oldEmpty] = FifteenModel.EMPTY;
+            this.empty = oldEmpty;
+            this.heuristic.update(this.tiles, tile, oldEmpty, target);
+
+            if (t == FOUND) {
+                return FOUND;
+            }
+            if (this.cancelled) {
+                return Integer.MAX_VALUE;
+            }
+            if (t < min) {
+                min = t;
+            }
+        }
+        return min;
+    }
+
+    private int target(int move) {
+        return FifteenSolver.target(this.empty, move, this.nLines, this.nCols);
+    }
+
+    private boolean isSolved() {
+        return FifteenSolver.isSolved(this.tiles);
+    }
+
+    /**
+     * @return index where the empty position goes with move, or -1 if outside
+     */
+    static int target(int empty, int move, int nLines, int nCols) {
+        switch (move) {
+            case EMPTY_UP: return empty >= nCols ? empty - nCols : -1;
+            case EMPTY_LEFT: return empty % nCols > 0 ? empty - 1 : -1;
+            case EMPTY_RIGHT: return empty % nCols < nCols - 1 ? empty + 1 : -1;
+            case EMPTY_DOWN: return empty < (nLines - 1) * nCols ? empty + nCols : -1;
+        }
+        return -1; // should never happen
+    }
+
+    /**
+     * @return true if tiles are in the winning position
+     */
+    static boolean isSolved(int[] tiles) {
+        for (int i = 0; i < tiles.length - 1; i++) {
+            if (tiles[i] != i + 1) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return the direction of the piece moved by an empty position move
+     */
+    static Direction pieceDirection(int move) {
+        return PIECE_DIRECTION[move];
+    }
+
+    /**
+     * @return the directions of the pieces moved by the empty position moves
+     */
+    static List<Direction> toDirections(int[] moves, int length) {
+        List<Direction> directions = new ArrayList<>(length);
+        for (int i = 0; i < length; i++) {
+            directions.add(PIECE_DIRECTION[moves[i]]);
+        }
+        return directions;
+    }
+
+    /**
+     * @return the solution found by the last search
+     */
+    List<Direction> solution() {
+        return FifteenSolver.toDirections(this.path, this.solutionLength);
+    }
+
+    static int indexOfEmpty(int[] tiles) {
+        for (int i = 0; i < tiles.length; i++) {
+            if (tiles[i] == FifteenModel.EMPTY) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("Board without empty position");
+    }
+
+    /**
+     * Checks if the winning position (empty at the end) can be reached.
+     * Each move keeps the parity of inversions plus, for an even number of
+     * columns, the line distance of the empty position to the last line.
+     *
+     * @param tiles  board in line order
+     * @param nLines number of lines
+     * @param nCols  number of columns
+     * @return true if solvable, false otherwise
+     */
+    public static boolean isSolvable(int[] tiles, int nLines, int nCols) {
+        if (tiles.length != nLines * nCols) {
+            return false;
+        }
+        int inversions = 0;
+        for (int i = 0; i < tiles.length; i++) {
+            if (tiles[i] == FifteenModel.EMPTY) {
+                continue;
+            }
+            for (int j = i + 1; j < tiles.length; j++) {
+                if (tiles[j] != FifteenModel.EMPTY && tiles[j] < tiles[i]) {
+                    inversions++;
+                }
+            }
+        }
+        if (nCols % 2 == 1) {
+            return inversions % 2 == 0;
+        }
+        int emptyLine = FifteenSolver.indexOfEmpty(tiles) / nCols;
+        return (inversions + nLines - 1 - emptyLine) % 2 == 0;
+    }
+}
@@ -0,0 +1,59 @@
+package pt.ipbeja.estig.fifteen.solver;
+
+import pt.ipbeja.estig.fifteen.model.FifteenModel;
+
+/**
+ * Admissible estimate of the number of moves still needed to solve a board.
+ * Implementations keep their own state so they can be updated incrementally
+ * while the solver moves tiles back and forth.
+ *
+ * @author João Paulo Barros
+ * @version 2026/10/17
+ */
+public interface Heuristic {
+
+    /**
+     * Computes the estimate from scratch
+     *
+     * @param tiles board in line order, EMPTY for the empty position
+     * @return estimated number of moves to the winning position
+     */
+    int reset(int[] tiles);
+
+    /**
+     * Updates the estimate after a tile was moved (tiles already changed)
+     *
+     * @param tiles board after the move
+     * @param tile  the moved tile
+     * @param from  index where the tile was
+     * @param to    index where the tile is now
+     * @return estimated number of moves to the winning position
+     */
+    int update(int[] tiles, int tile, int from, int to);
+
+    /**
+     * Computes the change of the estimate made by a move, for boards scored
+     * in any order (e.g. by a beam search). Leaves the state undefined: call
+     * reset before the next update.
+     *
+     * @param tiles board after the move, unchanged on return
+     * @param tile  the moved tile
+     * @param from  index where the tile was
+     * @param to    index where the tile is now
+     * @return estimate after the move minus estimate before it
+     */
+    default int delta(int[] tiles, int tile, int from, int to) {
+        int after = this.reset(tiles);
+        tiles[from] = tile;
+        tiles[to] = FifteenModel.EMPTY;
+        int before = this.reset(tiles);
+        tiles[to] = tile;
+        tiles[from] = FifteenModel.EMPTY;
+        return after - before;
+    }
+
+    /**
+     * @return a new heuristic with the same configuration but independent state
+     */
+    Heuristic copy();
+}
@@ -0,0 +1,124 @@
+package pt.ipbeja.estig.fifteen.solver;
+
+import pt.ipbeja.estig.fifteen.model.Direction;
+import pt.ipbeja.estig.fifteen.model.FifteenModel;
+import pt.ipbeja.estig.fifteen.model.Hint;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Anytime search for the next move: IDA* run separately below each first
+ * move, keeping for each one the best lower bound on the solutions that
+ * start with it. When stopped (cancel) it answers the first move with the
+ * lowest bound; when a solution is found within the current bound, which
+ * IDA* makes the shortest, the hint is optimal.
+ *
+ * @author João Paulo Barros
+ * @version 2026/10/17
+ */
+public class HintSearch {
+    private final int nLines;
+    private final int nCols;
+    private final FifteenSolver solver;
+    private List<Direction> solution;
+
+    public HintSearch(int nLines, int nCols, Heuristic heuristic) {
+        this.nLines = nLines;
+        this.nCols = nCols;
+        this.solver = new FifteenSolver(nLines, nCols, heuristic);
+    }
+
+    /**
+     * Searches until a shortest solution is found or the search is cancelled
+     *
+     * @param start board in line order, FifteenModel.EMPTY for the empty position
+     * @return the best move found
+     * @throws IllegalArgumentException if the board cannot be solved
+     */
+    public Hint search(int[] start) {
+        if (!FifteenSolver.isSolvable(start, this.nLines, this.nCols)) {
+            throw new IllegalArgumentException("Board cannot be solved: " + Arrays.toString(start));
+        }
+        if (FifteenSolver.isSolved(start)) {
+            return new Hint(null, true, 0);
+        }
+        int empty = FifteenSolver.indexOfEmpty(start);
+        int[] bound = new int[FifteenSolver.N_MOVES]; // lower bound through each first move
+        int[][] boards = new int[FifteenSolver.N_MOVES][];
+        Heuristic heuristic = this.solver.getHeuristic();
+        for (int move = 0; move < FifteenSolver.N_MOVES; move++) {
+            int target = FifteenSolver.target(empty, move, this.nLines, this.nCols);
+            if (target < 0) {
+                bound[move] = Integer.MAX_VALUE;
+                continue;
+            }
+            int[] tiles = start.clone();
+            tiles[empty] = tiles[target];
+            tiles[target] = FifteenModel.EMPTY;
+            boards[move] = tiles;
+            bound[move] = 1 + heuristic.reset(tiles);
+        }
+
+        int[] prefix = new int[1];
+        int limit = HintSearch.min(bound);
+        while (!this.solver.isCancelled()) {
+            int next = Integer.MAX_VALUE;
+            for (int move = 0; move < FifteenSolver.N_MOVES; move++) {
+                if (boards[move] == null) {
+                    continue;
+                }
+                if (bound[move] <= limit) {
+                    prefix[0] = move;
+                    int t = this.solver.searchFrom(boards[move], prefix, 1, limit);
+                    if (t == FifteenSolver.FOUND) {
+                        this.solution = this.solver.solution();
+                        return new Hint(this.solution.get(0), true, this.solution.size());
+                    }
+                    if (this.solver.isCancelled()) {
+                        break;
+                    }
+                    bound[move] = t;
+                }
+                next = Math.min(next, bound[move]);
+            }
+            limit = next;
+        }
+        int best = 0;
+        for (int move = 1; move < FifteenSolver.N_MOVES; move++) {
+            if (bound[move] < bound[best]) {
+                best = move;
+            }
+        }
+        return new Hint(FifteenSolver.pieceDirection(best), false, bound[best]);
+    }
+
+    private static int min(int[] values) {
+        int min = Integer.MAX_VALUE;
+        for (int v : values) {
+            min = Math.min(min, v);
+        }
+        return min;
+    }
+
+    /**
+     * Stops the search as soon as possible; search then returns the best move so far
+     */
+    public void cancel() {
+        this.solver.cancel();
+    }
+
+    /**
+     * @return the shortest solution, if the last search found it, else null
+     */
+    public List<Direction> getSolution() {
+        return this.solution;
+    }
+
+    /**
+     * @return nodes expanded by the search
+     */
+    public long getNodesExpanded() {
+        return this.solver.getNodesExpanded();
+    }
+}
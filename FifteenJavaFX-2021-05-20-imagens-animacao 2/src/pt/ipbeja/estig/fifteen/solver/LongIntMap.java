@@ -0,0 +1,97 @@
+package pt.ipbeja.estig.fifteen.solver;
+
+import java.util.Arrays;
+
+/**
+ * Hash map from long keys to non negative int values, with open
+ * addressing in two primitive arrays, so no boxing and no node objects.
+ * The key 0 is not allowed (it marks a free slot); no packed board is 0.
+ *
+ * @author João Paulo Barros
+ * @version 2026/10/17
+ */
+final class LongIntMap {
+    static final int ABSENT = -1;
+    private static final long MIX = 0x9E3779B97F4A7C15L;
+
+    private long[] keys;
+    private int[] values;
+    private int mask;
+    private int size;
+
+    /**
+     * @param expected number of keys expected, the map grows beyond it if needed
+     */
+    LongIntMap(int expected) {
+        int capacity = Integer.highestOneBit(Math.max(8, expected) * 2 - 1) << 1;
+        this.keys = new long[capacity];
+        this.values = new int[capacity];
+        this.mask = capacity - 1;
+    }
+
+    /**
+     * @return the value of key, ABSENT if there is none
+     */
+    int get(long key) {
+        for (int i = this.slot(key); ; i = (i + 1) & this.mask) {
+            long k = this.keys[i];
+            if (k == key) {
+                return this.values[i];
+            }
+            if (k == 0) {
+                return ABSENT;
+            }
+        }
+    }
+
+    /**
+     * Adds key with value, unless key is already in the map
+     *
+     * @return true if key was added
+     */
+    boolean putIfAbsent(long key, int value) {
+        int i = this.slot(key);
+        for (; this.keys[i] != 0; i = (i + 1) & this.mask) {
+            if (this.keys[i] == key) {
+                return false;
+            }
+        }
+        this.keys[i] = key;
+        this.values[i] = value;
+        if (++this.size > this.keys.length >> 1) {
+            this.grow();
+        }
+        return true;
+    }
+
+    int size() {
+        return this.size;
+    }
+
+    void clear() {
+        Arrays.fill(this.keys, 0);
+        this.size = 0;
+    }
+
+    private int slot(long key) {
+        return (int) ((key * MIX) >>> 32) & this.mask;
+    }
+
+    private void grow() {
+        long[] oldKeys = this.keys;
+        int[] oldValues = this.values;
+        this.keys = new long[oldKeys.length * 2];
+        this.values = new int[oldValues.length * 2];
+        this.mask = this.keys.length - 1;
+        for (int j = 0; j < oldKeys.length; j++) {
+            if (oldKeys[j] != 0) {
+                int i = this.slot(oldKeys[j]);
+                while (this.keys[i] != 0) {
+                    i = (i + 1) & this.mask;
+                }
+                this.keys[i] = oldKeys[j];
+                this.values[i] = oldValues[j];
+            }
+        }
+    }
+}
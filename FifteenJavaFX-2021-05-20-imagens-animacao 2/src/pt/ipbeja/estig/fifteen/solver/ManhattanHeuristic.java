@@ -0,0 +1,177 @@
+package pt.ipbeja.estig.fifteen.solver;
+
+import pt.ipbeja.estig.fifteen.model.FifteenModel;
+
+/**
+ * Manhattan distance plus linear conflicts.
+ * Two tiles in their goal line (or column) but in reversed order must
+ * leave that line to pass each other, which adds two moves per tile that
+ * has to get out of the way.
+ *
+ * @author João Paulo Barros
+ * @version 2026/10/17
+ */
+public class ManhattanHeuristic implements Heuristic {
+    private final int nLines;
+    private final int nCols;
+
+    private int manhattan;
+    private int conflicts;
+    private final int[] lineConflicts;
+    private final int[] colConflicts;
+    private final int[] buffer;
+    private final int[] lis;
+
+    public ManhattanHeuristic(int nLines, int nCols) {
+        this.nLines = nLines;
+        this.nCols = nCols;
+        this.lineConflicts = new int[nLines];
+        this.colConflicts = new int[nCols];
+        int max = Math.max(nLines, nCols);
+        this.buffer = new int[max];
+        this.lis = new int[max];
+    }
+
+    @Override
+    public int reset(int[] tiles) {
+        this.manhattan = 0;
+        for (int i = 0; i < tiles.length; i++) {
+            if (tiles[i] != FifteenModel.EMPTY) {
+                this.manhattan += this.distance(tiles[i], i);
+            }
+        }
+        this.conflicts = 0;
+        for (int line = 0; line < this.nLines; line++) {
+            this.lineConflicts[line] = this.lineConflicts(tiles, line);
+            this.conflicts += this.lineConflicts[line];
+        }
+        for (int col = 0; col < this.nCols; col++) {
+            this.colConflicts[col] = this.colConflicts(tiles, col);
+            this.conflicts += this.colConflicts[col];
+        }
+        return this.manhattan + 2 * this.conflicts;
+    }
+
+    @Override
+    public int update(int[] tiles, int tile, int from, int to) {
+        this.manhattan += this.distance(tile, to) - this.distance(tile, from);
+        int lineFrom = from / this.nCols;
+        int lineTo = to / this.nCols;
+        if (lineFrom == lineTo) {
+            // horizontal move: line order unchanged, both columns change
+            this.updateCol(tiles, from % this.nCols);
+            this.updateCol(tiles, to % this.nCols);
+        } else {
+            this.updateLine(tiles, lineFrom);
+            this.updateLine(tiles, lineTo);
+        }
+        return this.manhattan + 2 * this.conflicts;
+    }
+
+    /**
+     * Without state: only the goal line (or column) of the tile can change
+     * its conflicts, and only if the tile enters or leaves it.
+     */
+    @Override
+    public int delta(int[] tiles, int tile, int from, int to) {
+        int d = this.distance(tile, to) - this.distance(tile, from);
+        int goal = tile - 1;
+        int lineFrom = from / this.nCols;
+        int lineTo = to / this.nCols;
+        if (lineFrom == lineTo) {
+            int col = goal % this.nCols;
+            if (col != from % this.nCols && col != to % this.nCols) {
+                return d;
+            }
+            int after = this.colConflicts(tiles, col);
+            tiles[from] = tile;
+            tiles[to] = FifteenModel.EMPTY;
+            int before = this.colConflicts(tiles, col);
+            tiles[to] = tile;
+            tiles[from] = FifteenModel.EMPTY;
+            return d + 2 * (after - before);
+        }
+        int line = goal / this.nCols;
+        if (line != lineFrom && line != lineTo) {
+            return d;
+        }
+        int after = this.lineConflicts(tiles, line);
+        tiles[from] = tile;
+        tiles[to] = FifteenModel.EMPTY;
+        int before = this.lineConflicts(tiles, line);
+        tiles[to] = tile;
+        tiles[from] = FifteenModel.EMPTY;
+        return d + 2 * (after - before);
+    }
+
+    @Override
+    public Heuristic copy() {
+        return new ManhattanHeuristic(this.nLines, this.nCols);
+    }
+
+    /**
+     * Manhattan distance of tile at index to its goal index (tile - 1)
+     */
+    int distance(int tile, int index) {
+        int goal = tile - 1;
+        return Math.abs(goal / this.nCols - index / this.nCols) +
+                Math.abs(goal % this.nCols - index % this.nCols);
+    }
+
+    private void updateLine(int[] tiles, int line) {
+        int c = this.lineConflicts(tiles, line);
+        this.conflicts += c - this.lineConflicts[line];
+        this.lineConflicts[line] = c;
+    }
+
+    private void updateCol(int[] tiles, int col) {
+        int c = this.colConflicts(tiles, col);
+        this.conflicts += c - this.colConflicts[col];
+        this.colConflicts[col] = c;
+    }
+
+    /**
+     * Number of tiles that must leave the line so the others are in order
+     */
+    private int lineConflicts(int[] tiles, int line) {
+        int n = 0;
+        for (int col = 0; col < this.nCols; col++) {
+            int tile = tiles[line * this.nCols + col];
+            if (tile != FifteenModel.EMPTY && (tile - 1) / this.nCols == line) {
+                this.buffer[n++] = (tile - 1) % this.nCols;
+            }
+        }
+        return n - this.longestIncreasing(n);
+    }
+
+    /**
+     * Number of tiles that must leave the column so the others are in order
+     */
+    private int colConflicts(int[] tiles, int col) {
+        int n = 0;
+        for (int line = 0; line < this.nLines; line++) {
+            int tile = tiles[line * this.nCols + col];
+            if (tile != FifteenModel.EMPTY && (tile - 1) % this.nCols == col) {
+                this.buffer[n++] = (tile - 1) / this.nCols;
+            }
+        }
+        return n - this.longestIncreasing(n);
+    }
+
+    /**
+     * Length of the longest increasing subsequence of the first n buffer values
+     */
+    private int longestIncreasing(int n) {
+        int best = 0;
+        for (int i = 0; i < n; i++) {
+            this.lis[i] = 1;
+            for (int j = 0; j < i; j++) {
+                if (this.buffer[j] < this.buffer[i] && this.lis[j] + 1 > this.lis[i]) {
+                    this.lis[i] = this.lis[j] + 1;
+                }
+            }
+            best = Math.max(best, this.lis[i]);
+        }
+        return best;
+    }
+}
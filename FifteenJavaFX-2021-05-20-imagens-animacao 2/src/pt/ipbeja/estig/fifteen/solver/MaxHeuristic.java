@@ -0,0 +1,46 @@
+package pt.ipbeja.estig.fifteen.solver;
+
+/**
+ * The largest estimate of several admissible heuristics, which is also
+ * admissible and at least as good as each of them.
+ *
+ * @author João Paulo Barros
+ * @version 2026/10/17
+ */
+public class MaxHeuristic implements Heuristic {
+    private final Heuristic[] heuristics;
+
+    public MaxHeuristic(Heuristic... heuristics) {
+        if (heuristics.length == 0) {
+            throw new IllegalArgumentException("No heuristics to combine");
+        }
+        this.heuristics = heuristics.clone();
+    }
+
+    @Override
+    public int reset(int[] tiles) {
+        int max = 0;
+        for (Heuristic h : this.heuristics) {
+            max = Math.max(max, h.reset(tiles));
+        }
+        return max;
+    }
+
+    @Override
+    public int update(int[] tiles, int tile, int from, int to) {
+        int max = 0;
+        for (Heuristic h : this.heuristics) {
+            max = Math.max(max, h.update(tiles, tile, from, to)); // all must see every move
+        }
+        return max;
+    }
+
+    @Override
+    public Heuristic copy() {
+        Heuristic[] copies = new Heuristic[this.heuristics.length];
+        for (int i = 0; i < copies.length; i++) {
+            copies[i] = this.heuristics[i].copy();
+        }
+        return new MaxHeuristic(copies);
+    }
+}
@@ -0,0 +1,304 @@
+package pt.ipbeja.estig.fifteen.solver;
+
+import pt.ipbeja.estig.fifteen.model.Direction;
+import pt.ipbeja.estig.fifteen.model.FifteenModel;
+import pt.ipbeja.estig.fifteen.model.PackedBoard;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * IDA* split among the threads of a ForkJoinPool.
+ * The search tree is expanded breadth first to a shallow depth and each
+ * node becomes a work unit searched by one thread for every threshold.
+ * All solutions found for a threshold have the optimal length; the one from
+ * the first work unit is returned, so the answer does not depend on thread
+ * timing. Units after one with a solution are cancelled.
+ *
+ * @author João Paulo Barros
+ * @version 2026/10/17
+ */
+public class ParallelFifteenSolver {
+    private static final int UNITS_PER_THREAD = 16;
+    private static final int MAX_SPLIT_DEPTH = 12;
+
+    private final int nLines;
+    private final int nCols;
+    private final Heuristic heuristic;
+    private final ForkJoinPool pool;
+    private final LongAdder nodesExpanded;
+    private volatile boolean cancelled;
+    private volatile Iteration current;
+
+    /**
+     * Creates a solver for the model board using the best heuristic
+     * currently available and the common pool
+     */
+    public ParallelFifteenSolver() {
+        this(FifteenModel.N_LINES, FifteenModel.N_COLS,
+                FifteenSolver.defaultHeuristic(FifteenModel.N_LINES, FifteenModel.N_COLS),
+                ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param heuristic prototype heuristic, copied for each work unit
+     */
+    public ParallelFifteenSolver(int nLines, int nCols, Heuristic heuristic, ForkJoinPool pool) {
+        this.nLines = nLines;
+        this.nCols = nCols;
+        this.heuristic = heuristic;
+        this.pool = pool;
+        this.nodesExpanded = new LongAdder();
+    }
+
+    /**
+     * Finds a shortest sequence of moves to the winning position
+     *
+     * @param start board in line order, FifteenModel.EMPTY for the empty position
+     * @return directions to use with FifteenModel.keyPressed, in order,
+     * or null if the search was cancelled
+     * @throws IllegalArgumentException if the board cannot be solved
+     */
+    public List<Direction> solve(int[] start) {
+        if (!FifteenSolver.isSolvable(start, this.nLines, this.nCols)) {
+            throw new IllegalArgumentException("Board cannot be solved: " + Arrays.toString(start));
+        }
+        this.nodesExpanded.reset();
+        if (FifteenSolver.isSolved(start)) {
+            return Collections.emptyList();
+        }
+        int bound = this.heuristic.copy().reset(start);
+        if (bound <= BidirectionalSolver.DEFAULT_MAX_DEPTH && start.length <= PackedBoard.MAX_POSITIONS) {
+            // short solutions: splitting among threads costs more than a bidirectional search
+            BidirectionalSolver bfs = new BidirectionalSolver(this.nLines, this.nCols);
+            List<Direction> solution = bfs.solve(start, BidirectionalSolver.DEFAULT_MAX_DEPTH);
+            this.nodesExpanded.add(bfs.getNodesExpanded());
+            if (solution != null) {
+                return solution;
+            }
+        }
+        List<Unit> units = new ArrayList<>();
+        List<Direction> shallow = this.split(start, units);
+        if (shallow != null) {
+            return shallow;
+        }
+
+        while (!this.cancelled) {
+            Iteration iteration = new Iteration(units, bound);
+            this.current = iteration;
+            this.pool.invoke(iteration);
+            if (iteration.solution != null) {
+                return iteration.solution;
+            }
+            bound = iteration.nextBound.get();
+        }
+        return null;
+    }
+
+    /**
+     * Stops the current search as soon as possible, and any later one
+     */
+    public void cancel() {
+        this.cancelled = true;
+        Iteration iteration = this.current;
+        if (iteration != null) {
+            iteration.cancelAll();
+        }
+    }
+
+    public boolean isCancelled() {
+        return this.cancelled;
+    }
+
+    /**
+     * @return nodes expanded by all threads in the last call to solve
+     */
+    public long getNodesExpanded() {
+        return this.nodesExpanded.sum();
+    }
+
+    /**
+     * Expands the tree breadth first until there are enough nodes for all
+     * threads. A winning node found on the way is a shortest solution.
+     *
+     * @param units receives the work units
+     * @return a shortest solution if shallower than the split, null otherwise
+     */
+    private List<Direction> split(int[] start, List<Unit> units) {
+        int wanted = UNITS_PER_THREAD * this.pool.getParallelism();
+        units.add(new Unit(start, new int[0]));
+        for (int depth = 0; units.size() < wanted && depth < MAX_SPLIT_DEPTH; depth++) {
+            List<Unit> next = new ArrayList<>(4 * units.size());
+            for (Unit unit : units) {
+                int empty = FifteenSolver.indexOfEmpty(unit.tiles);
+                int previous = depth > 0 ? unit.prefix[depth - 1] : -1;
+                for (int move = 0; move < FifteenSolver.N_MOVES; move++) {
+                    int to = FifteenSolver.target(empty, move, this.nLines, this.nCols);
+                    if (move == 3 - previous || to < 0) {
+                        continue;
+                    }
+                    int[] tiles = unit.tiles.clone();
+                    tiles[empty] = tiles[to];
+                    tiles[to] = FifteenModel.EMPTY;
+                    int[] prefix = Arrays.copyOf(unit.prefix, depth + 1);
+                    prefix[depth] = move;
+                    if (FifteenSolver.isSolved(tiles)) {
+                        return FifteenSolver.toDirections(prefix, depth + 1);
+                    }
+                    next.add(new Unit(tiles, prefix));
+                }
+            }
+            units.clear();
+            units.addAll(next);
+        }
+        return null;
+    }
+
+    /**
+     * Node of the shallow tree: its board and the moves that reached it
+     */
+    private static class Unit {
+        private final int[] tiles;
+        private final int[] prefix;
+
+        Unit(int[] tiles, int[] prefix) {
+            this.tiles = tiles;
+            this.prefix = prefix;
+        }
+    }
+
+    /**
+     * One IDA* iteration: searches all units with the same bound
+     */
+    private class Iteration extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final List<Unit> units;
+        private final int bound;
+        private final AtomicInteger nextBound;
+        private final AtomicInteger firstFound;
+        private final FifteenSolver[] solvers;
+        private volatile List<Direction> solution;
+
+        Iteration(List<Unit> units, int bound) {
+            this.units = units;
+            this.bound = bound;
+            this.nextBound = new AtomicInteger(Integer.MAX_VALUE);
+            this.firstFound = new AtomicInteger(units.size());
+            this.solvers = new FifteenSolver[units.size()];
+        }
+
+        @Override
+        protected void compute() {
+            List<ForkJoinTask<?>> tasks = new ArrayList<>(this.units.size());
+            for (int i = 0; i < this.units.size(); i++) {
+                final int index = i;
+                tasks.add(ForkJoinTask.adapt(() -> this.searchUnit(index)));
+            }
+            ForkJoinTask.invokeAll(tasks);
+        }
+
+        private void searchUnit(int index) {
+            if (index > this.firstFound.get()) {
+                return; // an earlier unit already has a solution
+            }
+            Unit unit = this.units.get(index);
+            FifteenSolver solver = new FifteenSolver(nLines, nCols, heuristic.copy());
+            synchronized (this) {
+                if (cancelled) {
+                    return;
+                }
+                this.solvers[index] = solver; // cancelled by cancelAll from now on
+            }
+            int t = solver.searchFrom(unit.tiles, unit.prefix, unit.prefix.length, this.bound);
+            nodesExpanded.add(solver.getNodesExpanded());
+            if (t == FifteenSolver.FOUND) {
+                this.found(index, solver.solution());
+            } else if (!solver.isCancelled()) {
+                this.nextBound.accumulateAndGet(t, Math::min);
+            }
+        }
+
+        private synchronized void found(int index, List<Direction> directions) {
+            if (index < this.firstFound.get()) {
+                this.firstFound.set(index);
+                this.solution = directions;
+                for (int i = index + 1; i < this.solvers.length; i++) {
+                    if (this.solvers[i] != null) {
+                        this.solvers[i].cancel();
+                    }
+                }
+            }
+        }
+
+        private synchronized void cancelAll() {
+            for (FifteenSolver solver : this.solvers) {
+                if (solver != null) {
+                    solver.cancel();
+                }
+            }
+        }
+    }
+
+    /**
+     * Compares this solver with the single threaded one on random scrambles,
+     * both using Manhattan distance plus linear conflicts
+     *
+     * @param args number of puzzles (default 10) and random walk length (default 200)
+     */
+    public static void main(String[] args) {
+        int nPuzzles = args.length > 0 ? Integer.parseInt(args[0]) : 10;
+        int walk = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+        int nLines = FifteenModel.N_LINES;
+        int nCols = FifteenModel.N_COLS;
+        int n = nLines * nCols;
+        Random rand = new Random(42);
+        long sequentialTime = 0;
+        long parallelTime = 0;
+        int mismatches = 0;
+        for (int p = 0; p < nPuzzles; p++) {
+            int[] tiles = new int[n];
+            for (int i = 0; i < n - 1; i++) {
+                tiles[i] = i + 1;
+            }
+            int empty = n - 1;
+            for (int i = 0; i < walk; i++) {
+                int target = FifteenSolver.target(empty, rand.nextInt(FifteenSolver.N_MOVES), nLines, nCols);
+                if (target >= 0) {
+                    tiles[empty] = tiles[target];
+                    tiles[target] = FifteenModel.EMPTY;
+                    empty = target;
+                }
+            }
+            long t0 = System.nanoTime();
+            int sequentialLength = new FifteenSolver(nLines, nCols,
+                    new ManhattanHeuristic(nLines, nCols)).solve(tiles).size();
+            long t1 = System.nanoTime();
+            int parallelLength = new ParallelFifteenSolver(nLines, nCols,
+                    new ManhattanHeuristic(nLines, nCols), ForkJoinPool.commonPool()).solve(tiles).size();
+            long t2 = System.nanoTime();
+            sequentialTime += t1 - t0;
+            parallelTime += t2 - t1;
+            System.out.printf("puzzle %d: %d moves, sequential %.1f ms, parallel %.1f ms%n",
+                    p, parallelLength, (t1 - t0) / 1e6, (t2 - t1) / 1e6);
+            if (sequentialLength != parallelLength) {
+                System.out.printf("puzzle %d: sequential solution has %d moves, parallel %d%n",
+                        p, sequentialLength, parallelLength);
+                mismatches++;
+            }
+        }
+        System.out.printf("threads %d, speedup %.2f, %d length mismatches%n",
+                ForkJoinPool.commonPool().getParallelism(), (double) sequentialTime / parallelTime, mismatches);
+        if (mismatches > 0) {
+            System.exit(1);
+        }
+    }
+}
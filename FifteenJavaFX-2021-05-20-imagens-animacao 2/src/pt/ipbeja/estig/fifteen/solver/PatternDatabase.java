@@ -0,0 +1,428 @@
+package pt.ipbeja.estig.fifteen.solver;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Additive disjoint pattern database.
+ * The tiles are split in groups; for each group a table gives the minimum
+ * number of moves of that group's tiles needed to bring them home, for
+ * every placement of the group. Moves of other tiles are free, so the
+ * values of all groups can be added and the sum is still admissible.
+ *
+ * Tables are built once by a backward breadth first search from the
+ * winning position, saved to a file and then memory-mapped.
+ *
+ * @author João Paulo Barros
+ * @version 2026/10/17
+ */
+public class PatternDatabase {
+    /**
+     * 6-6-3 partition of the 4x4 board (Korf and Felner)
+     */
+    public static final int[][] GROUPS_6_6_3 = {
+            {1, 5, 6, 9, 10, 13},
+            {7, 8, 11, 12, 14, 15},
+            {2, 3, 4}};
+
+    private static final int MAGIC = 0x46313550; // "F15P"
+    private static final int VERSION = 1;
+    private static final int UNKNOWN = 0xFF;
+    private static final int MAX_GROUP_SIZE = 8;
+    private final static int[][] NEIGHBORS = {{-1, 0}, {0, -1}, {0, 1}, {1, 0}};
+
+    private static final long RETRY_NANOS = 60_000_000_000L; // after a failed load of the default database
+
+    private static volatile PatternDatabase defaultDatabase;
+    private static boolean defaultLoading;
+    private static long defaultFailedAt; // System.nanoTime of the last failed load, 0 if none
+    private static volatile Exception defaultError; // of the last load, null if none
+
+    private final int nLines;
+    private final int nCols;
+    private final int[][] groups;
+    private final int[] groupOf;
+    private final ByteBuffer[] tables;
+
+    private PatternDatabase(int nLines, int nCols, int[][] groups, ByteBuffer[] tables) {
+        this.nLines = nLines;
+        this.nCols = nCols;
+        this.groups = groups;
+        this.tables = tables;
+        this.groupOf = new int[nLines * nCols];
+        Arrays.fill(this.groupOf, -1);
+        for (int g = 0; g < groups.length; g++) {
+            for (int tile : groups[g]) {
+                this.groupOf[tile] = g;
+            }
+        }
+    }
+
+    /**
+     * Gets the 6-6-3 database for the 4x4 board if it is ready. The first call
+     * starts loading defaultFile() in the background. The file is only built
+     * (about 30 s) and saved if it does not exist and the property
+     * fifteen.pdb.build is true; otherwise use loadOrBuild or
+     * BatchSolver --pdb to build it. A missing or damaged file is tried
+     * again after a minute; see getDefaultError for why it was not loaded.
+     *
+     * @return the database, or null while it is not ready
+     */
+    public static PatternDatabase getDefault() {
+        PatternDatabase db = defaultDatabase;
+        if (db == null) {
+            PatternDatabase.requestDefault();
+        }
+        return db;
+    }
+
+    private static synchronized void requestDefault() {
+        if (defaultLoading || defaultDatabase != null
+                || (defaultFailedAt != 0 && System.nanoTime() - defaultFailedAt < RETRY_NANOS)) {
+            return;
+        }
+        defaultLoading = true;
+        Thread loader = new Thread(() -> {
+            Path file = PatternDatabase.defaultFile();
+            PatternDatabase db = null;
+            Exception error = null;
+            try {
+                if (Boolean.getBoolean("fifteen.pdb.build")) {
+                    db = PatternDatabase.loadOrBuild(file, 4, 4, GROUPS_6_6_3);
+                } else if (Files.exists(file)) {
+                    db = PatternDatabase.load(file, 4, 4, GROUPS_6_6_3);
+                }
+            } catch (IOException | RuntimeException e) {
+                error = e;
+            }
+            PatternDatabase.defaultLoaded(db, error);
+        }, "pattern-database-loader");
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    /**
+     * Tells why the last load of the default database failed, e.g. to show
+     * it when getDefault keeps returning null
+     *
+     * @return the error reading or building defaultFile(), null if the last
+     * load succeeded, found no file or did not end yet
+     */
+    public static Exception getDefaultError() {
+        return defaultError;
+    }
+
+    private static synchronized void defaultLoaded(PatternDatabase db, Exception error) {
+        defaultError = error;
+        defaultDatabase = db;
+        defaultLoading = false;
+        defaultFailedAt = db == null ? System.nanoTime() | 1 : 0;
+    }
+
+    /**
+     * @return file for the default database, property fifteen.pdb or
+     * .fifteen/pdb-4x4-663.bin in the user home
+     */
+    public static Path defaultFile() {
+        String name = System.getProperty("fifteen.pdb");
+        if (name != null) {
+            return Paths.get(name);
+        }
+        return Paths.get(System.getProperty("user.home"), ".fifteen", "pdb-4x4-663.bin");
+    }
+
+    /**
+     * Loads the database in file, building and saving it first if needed
+     */
+    public static PatternDatabase loadOrBuild(Path file, int nLines, int nCols, int[][] groups) throws IOException {
+        if (!Files.exists(file)) {
+            PatternDatabase.build(nLines, nCols, groups).save(file);
+        }
+        return PatternDatabase.load(file, nLines, nCols, groups);
+    }
+
+    /**
+     * Loads a database, checking it has the expected configuration
+     */
+    static PatternDatabase load(Path file, int nLines, int nCols, int[][] groups) throws IOException {
+        PatternDatabase db = PatternDatabase.load(file);
+        if (db.nLines != nLines || db.nCols != nCols || !Arrays.deepEquals(db.groups, groups)) {
+            throw new IOException("Pattern database " + file + " has a different configuration");
+        }
+        return db;
+    }
+
+    /**
+     * Memory-maps a database saved with save
+     *
+     * @throws IOException if the file cannot be read, is not a pattern
+     *                     database or is truncated
+     */
+    public static PatternDatabase load(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer all = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (all.remaining() < 8 || all.getInt() != MAGIC || all.getInt() != VERSION) {
+                throw new IOException("Not a pattern database: " + file);
+            }
+            int nLines = all.getInt();
+            int nCols = all.getInt();
+            int n = nLines * nCols;
+            int nGroups = all.getInt();
+            if (nLines <= 0 || nCols <= 0 || n > 16 || nGroups <= 0 || nGroups >= n) {
+                throw new IOException("Corrupt pattern database: " + file);
+            }
+            int[][] groups = new int[nGroups][];
+            long size = all.position();
+            for (int g = 0; g < groups.length; g++) {
+                int k = all.getInt();
+                if (k <= 0 || k > MAX_GROUP_SIZE) {
+                    throw new IOException("Corrupt pattern database: " + file);
+                }
+                groups[g] = new int[k];
+                for (int i = 0; i < k; i++) {
+                    groups[g][i] = all.getInt();
+                    if (groups[g][i] <= 0 || groups[g][i] >= n) {
+                        throw new IOException("Corrupt pattern database: " + file);
+                    }
+                }
+                size += 4 + 4 * k + PatternDatabase.tableSize(n, k);
+            }
+            if (size != all.capacity()) {
+                throw new IOException("Truncated pattern database: " + file);
+            }
+            ByteBuffer[] tables = new ByteBuffer[groups.length];
+            for (int g = 0; g < groups.length; g++) {
+                int tableSize = (int) PatternDatabase.tableSize(n, groups[g].length);
+                all.limit(all.position() + tableSize);
+                tables[g] = all.slice();
+                all.position(all.limit());
+                all.limit(all.capacity());
+            }
+            return new PatternDatabase(nLines, nCols, groups, tables);
+        } catch (BufferUnderflowException e) {
+            throw new IOException("Truncated pattern database: " + file);
+        }
+    }
+
+    /**
+     * Saves the database, writing to a temporary file first so a partial
+     * file is never loaded
+     */
+    public void save(Path file) throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (OutputStream os = Files.newOutputStream(tmp);
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(os))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(this.nLines);
+            out.writeInt(this.nCols);
+            out.writeInt(this.groups.length);
+            for (int[] group : this.groups) {
+                out.writeInt(group.length);
+                for (int tile : group) {
+                    out.writeInt(tile);
+                }
+            }
+            for (ByteBuffer table : this.tables) {
+                ByteBuffer t = table.duplicate();
+                t.clear();
+                while (t.hasRemaining()) {
+                    out.write(t.get());
+                }
+            }
+        }
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Builds all tables in memory
+     *
+     * @param nLines number of lines (at most 16 positions)
+     * @param nCols  number of columns
+     * @param groups disjoint tile groups covering all tiles
+     */
+    public static PatternDatabase build(int nLines, int nCols, int[][] groups) {
+        int n = nLines * nCols;
+        if (n > 16) {
+            throw new IllegalArgumentException("Pattern databases need at most 16 positions");
+        }
+        ByteBuffer[] tables = new ByteBuffer[groups.length];
+        for (int g = 0; g < groups.length; g++) {
+            if (groups[g].length > MAX_GROUP_SIZE) {
+                throw new IllegalArgumentException("Group too large: " + groups[g].length);
+            }
+            tables[g] = ByteBuffer.wrap(PatternDatabase.buildTable(nLines, nCols, groups[g]));
+        }
+        return new PatternDatabase(nLines, nCols, groups.clone(), tables);
+    }
+
+    /**
+     * Backward 0-1 breadth first search over (group placement, empty position).
+     * Moving the empty position over a tile of another group costs nothing.
+     * States are packed in a long: 4 bits per group tile position and
+     * 4 bits for the empty position.
+     */
+    private static byte[] buildTable(int nLines, int nCols, int[] group) {
+        int n = nLines * nCols;
+        int k = group.length;
+        byte[] table = new byte[(int) PatternDatabase.tableSize(n, k)];
+        Arrays.fill(table, (byte) UNKNOWN);
+        long[] visited = new long[(int) ((table.length * (long) n + 63) / 64)];
+
+        long start = 0;
+        for (int i = 0; i < k; i++) {
+            start |= (long) (group[i] - 1) << (4 * i);
+        }
+        start |= (long) (n - 1) << (4 * k);
+
+        LongStack current = new LongStack();
+        LongStack next = new LongStack();
+        current.push(start);
+        int[] positions = new int[k];
+        int cost = 0;
+        while (!current.isEmpty()) {
+            while (!current.isEmpty()) {
+                long state = current.pop();
+                int empty = (int) (state >>> (4 * k)) & 0xF;
+                int owners = 0; // bit set of positions with a group tile
+                for (int i = 0; i < k; i++) {
+                    positions[i] = (int) (state >>> (4 * i)) & 0xF;
+                    owners |= 1 << positions[i];
+                }
+                int rank = PatternDatabase.rank(positions, k, n);
+                long bit = (long) rank * n + empty;
+                if ((visited[(int) (bit >>> 6)] & (1L << bit)) != 0) {
+                    continue;
+                }
+                visited[(int) (bit >>> 6)] |= 1L << bit;
+                if ((table[rank] & 0xFF) == UNKNOWN) {
+                    table[rank] = (byte) cost;
+                }
+                for (int[] d : NEIGHBORS) {
+                    int line = empty / nCols + d[0];
+                    int col = empty % nCols + d[1];
+                    if (line < 0 || line >= nLines || col < 0 || col >= nCols) {
+                        continue;
+                    }
+                    int target = line * nCols + col;
+                    long moved = (state & ~(0xFL << (4 * k))) | ((long) target << (4 * k));
+                    if ((owners & (1 << target)) == 0) {
+                        current.push(moved);
+                    } else {
+                        for (int i = 0; i < k; i++) {
+                            if (positions[i] == target) {
+                                moved = (moved & ~(0xFL << (4 * i))) | ((long) empty << (4 * i));
+                            }
+                        }
+                        next.push(moved);
+                    }
+                }
+            }
+            LongStack aux = current;
+            current = next;
+            next = aux;
+            cost++;
+        }
+        return table;
+    }
+
+    /**
+     * @return number of placements of k tiles in n positions, n! / (n - k)!
+     */
+    private static long tableSize(int n, int k) {
+        long size = 1;
+        for (int i = 0; i < k; i++) {
+            size *= n - i;
+        }
+        return size;
+    }
+
+    /**
+     * Ranks the placement of k tiles as a mixed radix number where digit i
+     * is the position of tile i among the positions still free
+     */
+    static int rank(int[] positions, int k, int n) {
+        int used = 0;
+        int rank = 0;
+        for (int i = 0; i < k; i++) {
+            int p = positions[i];
+            rank = rank * (n - i) + p - Integer.bitCount(used & ((1 << p) - 1));
+            used |= 1 << p;
+        }
+        return rank;
+    }
+
+    public int getNLines() {
+        return this.nLines;
+    }
+
+    public int getNCols() {
+        return this.nCols;
+    }
+
+    int getNGroups() {
+        return this.groups.length;
+    }
+
+    /**
+     * @return group of tile, -1 for the empty tile
+     */
+    int groupOf(int tile) {
+        return this.groupOf[tile];
+    }
+
+    int[] group(int g) {
+        return this.groups[g];
+    }
+
+    /**
+     * @return minimum moves of the group tiles for the given placement rank
+     */
+    int value(int g, int rank) {
+        return this.tables[g].get(rank) & 0xFF;
+    }
+
+    /**
+     * @return a new heuristic using this database
+     */
+    public Heuristic heuristic() {
+        return new PatternDatabaseHeuristic(this);
+    }
+
+    /**
+     * Growable stack of longs, to avoid boxing millions of states
+     */
+    private static class LongStack {
+        private long[] data = new long[1024];
+        private int size;
+
+        void push(long value) {
+            if (this.size == this.data.length) {
+                this.data = Arrays.copyOf(this.data, 2 * this.size);
+            }
+            this.data[this.size++] = value;
+        }
+
+        long pop() {
+            return this.data[--this.size];
+        }
+
+        boolean isEmpty() {
+            return this.size == 0;
+        }
+    }
+}
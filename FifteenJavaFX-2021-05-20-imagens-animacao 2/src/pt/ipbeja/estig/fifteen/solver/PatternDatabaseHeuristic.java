@@ -0,0 +1,65 @@
+package pt.ipbeja.estig.fifteen.solver;
+
+import pt.ipbeja.estig.fifteen.model.FifteenModel;
+
+/**
+ * Sum of the pattern database values of all groups.
+ * A move only changes the placement of the moved tile's group, so only
+ * that group is looked up again.
+ *
+ * @author João Paulo Barros
+ * @version 2026/10/17
+ */
+public class PatternDatabaseHeuristic implements Heuristic {
+    private final PatternDatabase db;
+    private final int nPositions;
+    private final int[] groupValues;
+    private final int[] positionOf;
+    private final int[] positions;
+    private int sum;
+
+    public PatternDatabaseHeuristic(PatternDatabase db) {
+        this.db = db;
+        this.nPositions = db.getNLines() * db.getNCols();
+        this.groupValues = new int[db.getNGroups()];
+        this.positionOf = new int[this.nPositions];
+        this.positions = new int[this.nPositions];
+    }
+
+    @Override
+    public int reset(int[] tiles) {
+        for (int i = 0; i < tiles.length; i++) {
+            this.positionOf[tiles[i]] = i;
+        }
+        this.sum = 0;
+        for (int g = 0; g < this.groupValues.length; g++) {
+            this.groupValues[g] = this.lookup(g);
+            this.sum += this.groupValues[g];
+        }
+        return this.sum;
+    }
+
+    @Override
+    public int update(int[] tiles, int tile, int from, int to) {
+        this.positionOf[tile] = to;
+        this.positionOf[FifteenModel.EMPTY] = from;
+        int g = this.db.groupOf(tile);
+        int value = this.lookup(g);
+        this.sum += value - this.groupValues[g];
+        this.groupValues[g] = value;
+        return this.sum;
+    }
+
+    @Override
+    public Heuristic copy() {
+        return new PatternDatabaseHeuristic(this.db);
+    }
+
+    private int lookup(int g) {
+        int[] group = this.db.group(g);
+        for (int i = 0; i < group.length; i++) {
+            this.positions[i] = this.positionOf[group[i]];
+        }
+        return this.db.value(g, PatternDatabase.rank(this.positions, group.length, this.nPositions));
+    }
+}
@@ -0,0 +1,177 @@
+package pt.ipbeja.estig.fifteen.solver;
+
+import pt.ipbeja.estig.fifteen.model.Direction;
+import pt.ipbeja.estig.fifteen.model.PackedBoard;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bounded cache of optimal solutions keyed by the packed board, evicting
+ * the least recently used board. Every board along an optimal solution is
+ * cached too, sharing the solution moves, since the rest of an optimal
+ * solution is an optimal solution of the board it starts from.
+ * Each cached board takes about 80 bytes plus its share of the moves.
+ *
+ * @author João Paulo Barros
+ * @version 2026/10/17
+ */
+public class SolutionCache {
+    public static final int DEFAULT_CAPACITY = 1 << 17;
+
+    private static final Map<Integer, SolutionCache> SHARED = new ConcurrentHashMap<>();
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    /**
+     * Solution from a board: the moves of path from offset on
+     */
+    private static final class Cached {
+        private final byte[] path;
+        private final int offset;
+
+        private Cached(byte[] path, int offset) {
+            this.path = path;
+            this.offset = offset;
+        }
+    }
+
+    private final int nLines;
+    private final int nCols;
+    private final int capacity;
+    private final LinkedHashMap<Long, Cached> entries;
+    private long hits;
+    private long misses;
+
+    /**
+     * @param capacity maximum number of boards kept
+     */
+    public SolutionCache(int nLines, int nCols, int capacity) {
+        if (nLines * nCols > PackedBoard.MAX_POSITIONS) {
+            throw new IllegalArgumentException("Board too large to pack: " + nLines + "x" + nCols);
+        }
+        this.nLines = nLines;
+        this.nCols = nCols;
+        this.capacity = capacity;
+        this.entries = new LinkedHashMap<Long, Cached>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Cached> eldest) {
+                return this.size() > SolutionCache.this.capacity;
+            }
+        };
+    }
+
+    /**
+     * @return the cache shared by all games with boards of nLines x nCols
+     */
+    public static SolutionCache shared(int nLines, int nCols) {
+        return SHARED.computeIfAbsent(nLines << 16 | nCols,
+                size -> new SolutionCache(nLines, nCols, DEFAULT_CAPACITY));
+    }
+
+    /**
+     * @return the shared caches of all board sizes used so far
+     */
+    public static Collection<SolutionCache> allShared() {
+        return Collections.unmodifiableCollection(SHARED.values());
+    }
+
+    /**
+     * @param state packed board (see PackedBoard)
+     * @return an optimal solution, null if not cached
+     */
+    public synchronized List<Direction> get(long state) {
+        Cached cached = this.entries.get(state);
+        if (cached == null) {
+            this.misses++;
+            return null;
+        }
+        this.hits++;
+        List<Direction> solution = new ArrayList<>(cached.path.length - cached.offset);
+        for (int i = cached.offset; i < cached.path.length; i++) {
+            solution.add(DIRECTIONS[cached.path[i]]);
+        }
+        return solution;
+    }
+
+    /**
+     * Caches an optimal solution of a board and of every board along it
+     *
+     * @param state    packed board (see PackedBoard)
+     * @param solution optimal solution, as returned by FifteenSolver.solve
+     */
+    public synchronized void put(long state, List<Direction> solution) {
+        byte[] path = new byte[solution.size()];
+        for (int i = 0; i < path.length; i++) {
+            path[i] = (byte) solution.get(i).ordinal();
+        }
+        int empty = this.indexOfEmpty(state);
+        for (int i = 0; i <= path.length; i++) {
+            this.entries.putIfAbsent(state, new Cached(path, i));
+            if (i < path.length) {
+                int next = empty + this.emptyOffset(DIRECTIONS[path[i]]);
+                state = PackedBoard.move(state, empty, next);
+                empty = next;
+            }
+        }
+    }
+
+    /**
+     * @return index change of the empty position when a piece moves in direction
+     */
+    private int emptyOffset(Direction direction) {
+        switch (direction) {
+            case UP: return this.nCols;
+            case DOWN: return -this.nCols;
+            case LEFT: return 1;
+            default: return -1;
+        }
+    }
+
+    private int indexOfEmpty(long state) {
+        for (int i = 0; i < this.nLines * this.nCols; i++) {
+            if (PackedBoard.get(state, i) == 0) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("No empty position in board " + Long.toHexString(state));
+    }
+
+    public synchronized void clear() {
+        this.entries.clear();
+    }
+
+    public synchronized int size() {
+        return this.entries.size();
+    }
+
+    public int getCapacity() {
+        return this.capacity;
+    }
+
+    public synchronized long getHits() {
+        return this.hits;
+    }
+
+    public synchronized long getMisses() {
+        return this.misses;
+    }
+
+    /**
+     * @return fraction of lookups that found a solution, 0 if none
+     */
+    public synchronized double getHitRate() {
+        long lookups = this.hits + this.misses;
+        return lookups == 0 ? 0 : (double) this.hits / lookups;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("%d/%d boards, %d hits, %d misses", this.entries.size(), this.capacity,
+                this.hits, this.misses);
+    }
+}
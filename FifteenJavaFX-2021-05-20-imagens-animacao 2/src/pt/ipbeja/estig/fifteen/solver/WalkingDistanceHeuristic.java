@@ -0,0 +1,87 @@
+package pt.ipbeja.estig.fifteen.solver;
+
+import pt.ipbeja.estig.fifteen.model.FifteenModel;
+
+/**
+ * Walking distance: moves needed along the lines plus moves needed along
+ * the columns, each looked up in a table built once per board size (see
+ * WalkingDistanceTable). Unlike Manhattan distance it counts the moves
+ * tiles in the same line or column cost each other. A move changes only
+ * the key of its own axis, by two counts and the empty position's group.
+ * Works for boards up to 4x4 and 3x5 (see isSupported).
+ *
+ * @author João Paulo Barros
+ * @version 2026/10/17
+ */
+public class WalkingDistanceHeuristic implements Heuristic {
+    private final int nLines;
+    private final int nCols;
+    private final WalkingDistanceTable lines;
+    private final WalkingDistanceTable cols;
+    private long lineKey;
+    private long colKey;
+
+    /**
+     * @throws IllegalArgumentException if the board is too large (see isSupported)
+     */
+    public WalkingDistanceHeuristic(int nLines, int nCols) {
+        this.nLines = nLines;
+        this.nCols = nCols;
+        this.lines = WalkingDistanceTable.of(nLines, nCols);
+        this.cols = WalkingDistanceTable.of(nCols, nLines);
+    }
+
+    /**
+     * @return true if the walking distance can be used for boards of nLines x nCols
+     */
+    public static boolean isSupported(int nLines, int nCols) {
+        return WalkingDistanceTable.fits(nLines, nCols) && WalkingDistanceTable.fits(nCols, nLines);
+    }
+
+    @Override
+    public int reset(int[] tiles) {
+        this.lineKey = 0;
+        this.colKey = 0;
+        for (int i = 0; i < tiles.length; i++) {
+            int tile = tiles[i];
+            if (tile == FifteenModel.EMPTY) {
+                continue;
+            }
+            int goal = tile - 1;
+            this.lineKey += this.lines.unit(i / this.nCols, goal / this.nCols);
+            this.colKey += this.cols.unit(i % this.nCols, goal % this.nCols);
+        }
+        int empty = FifteenSolver.indexOfEmpty(tiles);
+        this.lineKey = this.lines.withBlank(this.lineKey, empty / this.nCols);
+        this.colKey = this.cols.withBlank(this.colKey, empty % this.nCols);
+        return this.value();
+    }
+
+    @Override
+    public int update(int[] tiles, int tile, int from, int to) {
+        int goal = tile - 1;
+        int lineFrom = from / this.nCols;
+        int lineTo = to / this.nCols;
+        if (lineFrom != lineTo) {
+            int goalLine = goal / this.nCols;
+            this.lineKey = this.lines.withBlank(
+                    this.lineKey - this.lines.unit(lineFrom, goalLine) + this.lines.unit(lineTo, goalLine), lineFrom);
+        } else {
+            int colFrom = from % this.nCols;
+            int colTo = to % this.nCols;
+            int goalCol = goal % this.nCols;
+            this.colKey = this.cols.withBlank(
+                    this.colKey - this.cols.unit(colFrom, goalCol) + this.cols.unit(colTo, goalCol), colFrom);
+        }
+        return this.value();
+    }
+
+    @Override
+    public Heuristic copy() {
+        return new WalkingDistanceHeuristic(this.nLines, this.nCols);
+    }
+
+    private int value() {
+        return this.lines.distance(this.lineKey) + this.cols.distance(this.colKey);
+    }
+}
@@ -0,0 +1,127 @@
+package pt.ipbeja.estig.fifteen.solver;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Walking distance along one axis: tiles are only told apart by their goal
+ * line (or column), and a move takes a tile from the line next to the empty
+ * position into the empty position's line. The state is how many tiles of
+ * each goal group are in each group, plus the group of the empty position,
+ * packed in a long key. All states are found once by a breadth first search
+ * from the winning state (24964 states for 4x4).
+ *
+ * @author João Paulo Barros
+ * @version 2026/10/17
+ */
+final class WalkingDistanceTable {
+    private static final Map<Integer, WalkingDistanceTable> TABLES = new ConcurrentHashMap<>();
+
+    private final int nGroups;
+    private final int groupSize;
+    private final int bits;
+    private final long countMask;
+    private final int blankShift;
+    private final LongIntMap distances;
+
+    /**
+     * @param nGroups   number of lines (or columns)
+     * @param groupSize positions in each line (or column)
+     */
+    private WalkingDistanceTable(int nGroups, int groupSize) {
+        this.nGroups = nGroups;
+        this.groupSize = groupSize;
+        this.bits = 32 - Integer.numberOfLeadingZeros(groupSize);
+        this.countMask = (1L << this.bits) - 1;
+        this.blankShift = nGroups * nGroups * this.bits;
+        if (this.blankShift + 32 - Integer.numberOfLeadingZeros(nGroups - 1) > Long.SIZE) {
+            throw new IllegalArgumentException("Walking distance state does not fit in a long: " +
+                    nGroups + " groups of " + groupSize);
+        }
+        this.distances = new LongIntMap(1024);
+        this.build();
+    }
+
+    /**
+     * @return the table for nGroups of groupSize positions, built on first use
+     * @throws IllegalArgumentException if the state does not fit in a long
+     */
+    static WalkingDistanceTable of(int nGroups, int groupSize) {
+        return TABLES.computeIfAbsent(nGroups << 16 | groupSize, k -> new WalkingDistanceTable(nGroups, groupSize));
+    }
+
+    /**
+     * @return true if the walking distance of a board with this many groups fits in a long
+     */
+    static boolean fits(int nGroups, int groupSize) {
+        int bits = 32 - Integer.numberOfLeadingZeros(groupSize);
+        return nGroups * nGroups * bits + 32 - Integer.numberOfLeadingZeros(nGroups - 1) <= Long.SIZE;
+    }
+
+    /**
+     * @return amount to add to a key for one more tile in group with goal group
+     */
+    long unit(int group, int goalGroup) {
+        return 1L << ((group * this.nGroups + goalGroup) * this.bits);
+    }
+
+    /**
+     * @return key with the empty position in group
+     */
+    long withBlank(long key, int group) {
+        return (key & ~(-1L << this.blankShift)) | (long) group << this.blankShift;
+    }
+
+    /**
+     * @return moves needed along this axis from the state key
+     */
+    int distance(long key) {
+        return this.distances.get(key);
+    }
+
+    int size() {
+        return this.distances.size();
+    }
+
+    private int count(long key, int group, int goalGroup) {
+        return (int) (key >>> ((group * this.nGroups + goalGroup) * this.bits) & this.countMask);
+    }
+
+    private void build() {
+        long goal = 0;
+        for (int g = 0; g < this.nGroups; g++) {
+            int tiles = g == this.nGroups - 1 ? this.groupSize - 1 : this.groupSize; // minus the empty position
+            goal += tiles * this.unit(g, g);
+        }
+        goal = this.withBlank(goal, this.nGroups - 1);
+
+        long[] queue = new long[1024];
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = goal;
+        this.distances.putIfAbsent(goal, 0);
+        while (head < tail) {
+            long key = queue[head++];
+            int distance = this.distances.get(key);
+            int blank = (int) (key >>> this.blankShift);
+            for (int next = blank - 1; next <= blank + 1; next += 2) {
+                if (next < 0 || next >= this.nGroups) {
+                    continue;
+                }
+                for (int g = 0; g < this.nGroups; g++) {
+                    if (this.count(key, next, g) == 0) {
+                        continue;
+                    }
+                    long moved = this.withBlank(key - this.unit(next, g) + this.unit(blank, g), next);
+                    if (this.distances.putIfAbsent(moved, distance + 1)) {
+                        if (tail == queue.length) {
+                            queue = Arrays.copyOf(queue, 2 * tail);
+                        }
+                        queue[tail++] = moved;
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package pt.ipbeja.estig.fifteen.batch;
+
+import org.junit.jupiter.api.Test;
+import pt.ipbeja.estig.fifteen.solver.ManhattanHeuristic;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BatchSolverTest {
+
+    @Test
+    void resultsAreWrittenInInputOrder() throws IOException, InterruptedException {
+        StringBuilder input = new StringBuilder();
+        for (int k = 0; k < 200; k++) {
+            input.append(k % 2 == 0 ? "8 6 7 2 5 4 3 0 1\n" : "1 2 3 4 5 6 7 0 8\n");
+        }
+        BatchSolver batch = new BatchSolver(3, 3, 4, new ManhattanHeuristic(3, 3));
+        String[] lines = run(batch, input.toString());
+        assertEquals(200, lines.length);
+        for (int k = 0; k < lines.length; k++) {
+            String[] columns = lines[k].split("\t");
+            assertEquals(String.valueOf(k + 1), columns[0]);
+            assertEquals(k % 2 == 0 ? "31" : "1", columns[1]);
+            assertEquals(k % 2 == 0 ? 31 : 1, columns[4].length());
+        }
+        assertEquals(200, batch.getSolved());
+        assertEquals(0, batch.getFailed());
+    }
+
+    @Test
+    void unsolvableBoardsAreCounted() throws IOException, InterruptedException {
+        BatchSolver batch = new BatchSolver(3, 3, 2, new ManhattanHeuristic(3, 3));
+        String[] lines = run(batch, "2 1 3 4 5 6 7 8 0\n1 1 3 4 5 6 7 8 0\n1 2 3 4 5 6 7 8 0\n");
+        assertEquals("1\tunsolvable", lines[0]);
+        assertEquals("2\tunsolvable", lines[1]);
+        assertTrue(lines[2].startsWith("3\t0\t"));
+        assertEquals(1, batch.getSolved());
+        assertEquals(2, batch.getFailed());
+    }
+
+    private static String[] run(BatchSolver batch, String input) throws IOException, InterruptedException {
+        StringWriter output = new StringWriter();
+        batch.run(new BufferedReader(new StringReader(input)), output);
+        return output.toString().split("\n");
+    }
+}
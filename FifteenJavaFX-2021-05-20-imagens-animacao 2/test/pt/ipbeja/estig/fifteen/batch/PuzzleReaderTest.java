@@ -0,0 +1,74 @@
+package pt.ipbeja.estig.fifteen.batch;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PuzzleReaderTest {
+
+    @Test
+    void readsBothLayouts() throws IOException {
+        PuzzleReader reader = reader("# comment\n"
+                + "1, 2, 3\n4, 5, 6\n7, 8, 0\n"
+                + "\n"
+                + "8 6 7 2 5 4 3 0 1\n"
+                + "6,4,7,8,5,0,3,2,1\n");
+        assertArrayEquals(new int[]{1, 2, 3, 4, 5, 6, 7, 8, 0}, reader.next());
+        assertArrayEquals(new int[]{8, 6, 7, 2, 5, 4, 3, 0, 1}, reader.next());
+        assertArrayEquals(new int[]{6, 4, 7, 8, 5, 0, 3, 2, 1}, reader.next());
+        assertNull(reader.next());
+    }
+
+    @Test
+    void wrongNumberOfPiecesIsAnError() {
+        assertThrows(IOException.class, () -> reader("1, 2, 3, 4\n").next());
+    }
+
+    @Test
+    void textIsAnError() {
+        assertThrows(IOException.class, () -> reader("1, 2, x\n").next());
+    }
+
+    @Test
+    void incompleteBoardIsAnError() {
+        assertThrows(IOException.class, () -> reader("1, 2, 3\n4, 5, 6\n\n").next());
+        assertThrows(IOException.class, () -> reader("1, 2, 3\n4, 5, 6\n").next());
+    }
+
+    @Test
+    void badLineSkipsTheRestOfItsBoard() throws IOException {
+        PuzzleReader reader = reader("1, 2, 3\n4, x, 6\n7, 8, 0\n"
+                + "8, 6, 7\n2, 5, 4\n3, 0, 1\n"
+                + "1, 2\n4, 5, 6\n7, 8, 0\n"
+                + "\n"
+                + "6 4 7 8 5 0 3 2 1\n");
+        assertThrows(PuzzleReader.BadBoardException.class, reader::next);
+        assertArrayEquals(new int[]{8, 6, 7, 2, 5, 4, 3, 0, 1}, reader.next());
+        assertThrows(PuzzleReader.BadBoardException.class, reader::next);
+        assertThrows(PuzzleReader.BadBoardException.class, reader::next); // the two lines after the short one
+        assertArrayEquals(new int[]{6, 4, 7, 8, 5, 0, 3, 2, 1}, reader.next());
+        assertNull(reader.next());
+    }
+
+    @Test
+    void skippingStopsAtAnEmptyLineOrWholeBoard() throws IOException {
+        PuzzleReader reader = reader("1, 2, 3\n4, 5, 6, 7\n"
+                + "\n"
+                + "8, 6, 7\n2, 5, 4\n3, 0, 1\n"
+                + "1, 2, x\n"
+                + "6 4 7 8 5 0 3 2 1\n");
+        assertThrows(PuzzleReader.BadBoardException.class, reader::next);
+        assertArrayEquals(new int[]{8, 6, 7, 2, 5, 4, 3, 0, 1}, reader.next());
+        assertThrows(PuzzleReader.BadBoardException.class, reader::next);
+        assertArrayEquals(new int[]{6, 4, 7, 8, 5, 0, 3, 2, 1}, reader.next());
+        assertNull(reader.next());
+    }
+
+    private static PuzzleReader reader(String text) {
+        return new PuzzleReader(new BufferedReader(new StringReader(text)), 3, 3);
+    }
+}
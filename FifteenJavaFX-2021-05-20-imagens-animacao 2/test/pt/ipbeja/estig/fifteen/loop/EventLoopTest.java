@@ -0,0 +1,108 @@
+package pt.ipbeja.estig.fifteen.loop;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventLoopTest {
+    private static final int N_THREADS = 4;
+    private static final int N_COMMANDS = 10_000;
+
+    private EventLoop loop;
+
+    @BeforeEach
+    void setUp() {
+        this.loop = new EventLoop("event-loop-test");
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        this.loop.shutdown();
+        this.loop.awaitTermination();
+    }
+
+    @Test
+    void commandsOfEachThreadRunInOrder() throws InterruptedException {
+        List<List<Integer>> seen = new ArrayList<>(); // touched only by the loop thread
+        for (int t = 0; t < N_THREADS; t++) {
+            seen.add(new ArrayList<>());
+        }
+        Thread[] submitters = new Thread[N_THREADS];
+        for (int t = 0; t < N_THREADS; t++) {
+            int thread = t;
+            submitters[t] = new Thread(() -> {
+                for (int i = 0; i < N_COMMANDS; i++) {
+                    int command = i;
+                    this.loop.execute(() -> seen.get(thread).add(command));
+                }
+            });
+            submitters[t].start();
+        }
+        for (Thread submitter : submitters) {
+            submitter.join();
+        }
+        this.await();
+        for (List<Integer> commands : seen) {
+            assertEquals(N_COMMANDS, commands.size());
+            for (int i = 0; i < N_COMMANDS; i++) {
+                assertEquals(i, (int) commands.get(i));
+            }
+        }
+        assertTrue(this.loop.getExecutedCount() >= N_THREADS * N_COMMANDS);
+    }
+
+    @Test
+    void sleepingLoopWakesUpForNewCommands() throws InterruptedException {
+        for (int k = 0; k < 20; k++) {
+            Thread.sleep(5); // long enough for the loop to park
+            this.await();
+        }
+        assertTrue(this.loop.getExecutedCount() >= 19);
+    }
+
+    @Test
+    void commandsRunOnTheLoopThread() throws InterruptedException {
+        boolean[] inLoop = new boolean[1];
+        this.loop.execute(() -> inLoop[0] = this.loop.inLoop());
+        this.await();
+        assertTrue(inLoop[0]);
+        assertFalse(this.loop.inLoop());
+    }
+
+    @Test
+    void failedCommandDoesNotStopTheLoop() throws InterruptedException {
+        this.loop.execute(() -> {
+            throw new IllegalStateException("expected by the test");
+        });
+        this.await(); // the next command still runs
+    }
+
+    @Test
+    void shutdownRunsQueuedCommandsThenRejects() throws InterruptedException {
+        int[] count = new int[1];
+        for (int i = 0; i < N_COMMANDS; i++) {
+            this.loop.execute(() -> count[0]++);
+        }
+        this.loop.shutdown();
+        this.loop.awaitTermination();
+        assertEquals(N_COMMANDS, count[0]);
+        assertThrows(RejectedExecutionException.class, () -> this.loop.execute(() -> count[0]++));
+    }
+
+    /**
+     * Waits for the commands queued so far
+     */
+    private void await() throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(1);
+        this.loop.execute(done::countDown);
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+    }
+}
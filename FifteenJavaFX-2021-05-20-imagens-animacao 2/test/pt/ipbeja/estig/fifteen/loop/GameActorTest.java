@@ -0,0 +1,96 @@
+package pt.ipbeja.estig.fifteen.loop;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import pt.ipbeja.estig.fifteen.model.Direction;
+import pt.ipbeja.estig.fifteen.model.FifteenModel;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameActorTest {
+    private static final int[] START = {8, 6, 7, 2, 5, 4, 3, 0, 1};
+
+    private EventLoop loop;
+
+    @BeforeEach
+    void setUp() {
+        this.loop = new EventLoop("game-actor-test");
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        this.loop.shutdown();
+        this.loop.awaitTermination();
+    }
+
+    @Test
+    void snapshotFollowsTheModel() throws Exception {
+        GameActor actor = new GameActor(this.loop, 3, 3, null);
+        assertTrue(actor.snapshot().isWinning());
+        long version = actor.snapshot().getVersion();
+        actor.setTiles(START);
+        actor.keyPressed(Direction.DOWN);
+        int[] tiles = actor.ask(FifteenModel::getTiles).get(5, TimeUnit.SECONDS);
+        GameSnapshot snapshot = actor.snapshot();
+        assertArrayEquals(tiles, snapshot.getTiles());
+        assertEquals(3, snapshot.getNLines());
+        assertEquals(tiles[4], snapshot.pieceAt(1, 1));
+        assertFalse(snapshot.isWinning());
+        assertTrue(snapshot.getVersion() >= version + 2);
+    }
+
+    @Test
+    void snapshotsCannotBeChanged() {
+        GameActor actor = new GameActor(this.loop, 3, 3, null);
+        GameSnapshot snapshot = actor.snapshot();
+        snapshot.getTiles()[0] = 5;
+        assertEquals(1, snapshot.pieceAt(0, 0));
+    }
+
+    @Test
+    void readersSeeWholeBoardsInVersionOrder() throws Exception {
+        GameActor actor = new GameActor(this.loop, 4, 4, null);
+        AtomicBoolean moving = new AtomicBoolean(true);
+        String[] failure = new String[1];
+        Thread reader = new Thread(() -> {
+            long version = 0;
+            while (moving.get() && failure[0] == null) {
+                GameSnapshot snapshot = actor.snapshot();
+                if (snapshot.getVersion() < version) {
+                    failure[0] = "version went back";
+                }
+                version = snapshot.getVersion();
+                boolean[] seen = new boolean[16];
+                for (int piece : snapshot.getTiles()) {
+                    if (seen[piece]) {
+                        failure[0] = "piece " + piece + " twice";
+                    }
+                    seen[piece] = true;
+                }
+            }
+        });
+        reader.start();
+        Random random = new Random(23);
+        for (int k = 0; k < 5000; k++) {
+            actor.keyPressed(Direction.values()[random.nextInt(4)]);
+        }
+        int[] tiles = actor.ask(FifteenModel::getTiles).get(5, TimeUnit.SECONDS);
+        moving.set(false);
+        reader.join();
+        assertNull(failure[0]);
+        assertArrayEquals(tiles, actor.snapshot().getTiles());
+    }
+
+    @Test
+    void eventLoopGroupSpreadsGames() throws InterruptedException {
+        EventLoopGroup group = new EventLoopGroup(3);
+        assertEquals(3, group.size());
+        assertSame(group.loopFor("game 7"), group.loopFor("game 7"));
+        group.shutdown();
+    }
+}
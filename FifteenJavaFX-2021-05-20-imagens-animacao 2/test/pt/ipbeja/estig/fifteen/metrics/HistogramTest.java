@@ -0,0 +1,66 @@
+package pt.ipbeja.estig.fifteen.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HistogramTest {
+
+    @Test
+    void smallValuesAreExact() {
+        Histogram histogram = new Histogram();
+        for (int v = 1; v <= 10; v++) {
+            histogram.record(v);
+        }
+        assertEquals(10, histogram.getCount());
+        assertEquals(5.5, histogram.getMean(), 1e-9);
+        assertEquals(5, histogram.getPercentile(0.5));
+        assertEquals(9, histogram.getPercentile(0.9));
+        assertEquals(10, histogram.getPercentile(1.0));
+        assertEquals(10, histogram.getMax());
+    }
+
+    @Test
+    void percentilesAreWithinBucketWidth() {
+        Histogram histogram = new Histogram();
+        Random random = new Random(22);
+        long[] values = new long[100_000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = (long) Math.exp(random.nextDouble() * 30); // 1 to about 10^13
+            histogram.record(values[i]);
+        }
+        Arrays.sort(values);
+        for (double fraction : new double[]{0.1, 0.5, 0.9, 0.99, 0.999}) {
+            long exact = values[(int) Math.ceil(fraction * values.length) - 1];
+            long estimate = histogram.getPercentile(fraction);
+            assertTrue(estimate >= exact, fraction + ": " + estimate + " < " + exact);
+            assertTrue(estimate <= exact + exact / 16, fraction + ": " + estimate + " > " + exact);
+        }
+        assertEquals(values[values.length - 1], histogram.getMax());
+    }
+
+    @Test
+    void bucketsCoverEveryValue() {
+        for (long v : new long[]{0, 15, 16, 17, 31, 32, 1000, Long.MAX_VALUE}) {
+            int bucket = Histogram.bucketOf(v);
+            assertTrue(Histogram.highestIn(bucket) >= v);
+            assertTrue(bucket == 0 || Histogram.highestIn(bucket - 1) < v);
+        }
+    }
+
+    @Test
+    void emptyAndResetHistogramsGiveZero() {
+        Histogram histogram = new Histogram();
+        assertEquals(0, histogram.getPercentile(0.5));
+        assertEquals(0.0, histogram.getMean(), 0.0);
+        histogram.record(-5); // counts as 0
+        histogram.record(1000);
+        histogram.reset();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getMax());
+        assertEquals(0, histogram.getPercentile(0.99));
+    }
+}
@@ -0,0 +1,204 @@
+package pt.ipbeja.estig.fifteen.model;
+
+import org.junit.jupiter.api.Test;
+import pt.ipbeja.estig.fifteen.gui.View;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FifteenModelTest {
+    private static final View NO_VIEW = (move, winning, tValue) -> {
+    };
+
+    @Test
+    void newModelIsInWinningPosition() {
+        int[][] sizes = {{2, 2}, {3, 5}, {4, 4}, {7, 7}, {5, 9}};
+        for (int[] size : sizes) {
+            FifteenModel model = new FifteenModel(size[0], size[1], NO_VIEW);
+            int[] tiles = model.getTiles();
+            assertEquals(size[0] * size[1], tiles.length);
+            for (int i = 0; i < tiles.length; i++) {
+                assertEquals((i + 1) % tiles.length, tiles[i]);
+            }
+            assertTrue(model.inWinningPositions());
+        }
+    }
+
+    @Test
+    void boardsUpTo16PositionsArePacked() {
+        assertTrue(new FifteenModel(4, 4, NO_VIEW).isPacked());
+        assertTrue(new FifteenModel(3, 5, NO_VIEW).isPacked());
+        assertFalse(new FifteenModel(3, 6, NO_VIEW).isPacked());
+        assertFalse(new FifteenModel(7, 7, NO_VIEW).isPacked());
+    }
+
+    @Test
+    void piecesMoveOnRectangularBoards() {
+        for (FifteenModel model : new FifteenModel[]{new FifteenModel(3, 5, NO_VIEW), new FifteenModel(5, 4, NO_VIEW)}) {
+            int nCols = model.getNCols();
+            int empty = model.getTiles().length - 1;
+            model.keyPressed(Direction.DOWN);
+            assertEquals(FifteenModel.EMPTY, model.getTiles()[empty - nCols]);
+            assertEquals(empty - nCols + 1, model.getTiles()[empty]);
+            assertFalse(model.inWinningPositions());
+            model.keyPressed(Direction.RIGHT);
+            assertEquals(FifteenModel.EMPTY, model.getTiles()[empty - nCols - 1]);
+            model.keyPressed(Direction.LEFT);
+            model.keyPressed(Direction.UP);
+            assertTrue(model.inWinningPositions());
+        }
+    }
+
+    @Test
+    void boardsSmallerThan2x2AreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new FifteenModel(1, 5, NO_VIEW));
+    }
+    @Test
+    void movesAreLogged() {
+        Random random = new Random(6);
+        FifteenModel model = new FifteenModel(4, 4, NO_VIEW);
+        for (int k = 0; k < 300; k++) {
+            model.keyPressed(Direction.values()[random.nextInt(4)]);
+        }
+        FifteenModel copy = new FifteenModel(4, 4, NO_VIEW);
+        MoveLog moves = model.getMoveLog();
+        for (int i = 0; i < moves.size(); i++) {
+            copy.keyPressed(moves.get(i));
+        }
+        assertArrayEquals(model.getTiles(), copy.getTiles());
+    }
+
+    @Test
+    void incrementalValuesMatchFromScratch() {
+        int[][] sizes = {{3, 3}, {4, 4}, {3, 5}, {7, 7}}; // packed and array boards
+        Random random = new Random(5);
+        for (int[] size : sizes) {
+            FifteenModel model = new FifteenModel(size[0], size[1], NO_VIEW);
+            for (int k = 0; k < 2000; k++) {
+                model.keyPressed(Direction.values()[random.nextInt(4)]);
+                int[] tiles = model.getTiles();
+                assertEquals(Zobrist.hash(tiles), model.getStateHash(), "Zobrist hash after move " + k);
+                assertEquals(manhattan(tiles, size[1]), model.getManhattanDistance(), "Manhattan after move " + k);
+                assertEquals(misplaced(tiles), model.getMisplacedCount(), "misplaced after move " + k);
+            }
+        }
+    }
+
+    @Test
+    void equalBoardsHaveEqualHashes() {
+        FifteenModel a = new FifteenModel(4, 4, NO_VIEW);
+        FifteenModel b = new FifteenModel(4, 4, NO_VIEW);
+        a.keyPressed(Direction.DOWN);
+        a.keyPressed(Direction.RIGHT);
+        a.keyPressed(Direction.UP);
+        a.keyPressed(Direction.LEFT);
+        b.setTiles(a.getTiles());
+        assertEquals(a.getStateHash(), b.getStateHash());
+        assertTrue(a.sameState(b));
+        a.keyPressed(Direction.DOWN);
+        assertNotEquals(a.getStateHash(), b.getStateHash());
+        assertFalse(a.sameState(b));
+    }
+
+    @Test
+    void moveLogReplaysFromInitialBoard() {
+        Random random = new Random(6);
+        FifteenModel model = new FifteenModel(4, 4, NO_VIEW);
+        model.setTimerNotifications(false);
+        model.scramble(random);
+        for (int k = 0; k < 300; k++) {
+            model.keyPressed(Direction.values()[random.nextInt(4)]);
+        }
+        FifteenModel copy = new FifteenModel(4, 4, NO_VIEW);
+        copy.setTiles(model.getInitialTiles());
+        MoveLog moves = model.getMoveLog();
+        for (int i = 0; i < moves.size(); i++) {
+            copy.keyPressed(moves.get(i));
+        }
+        assertArrayEquals(model.getTiles(), copy.getTiles());
+    }
+
+    @Test
+    void scrambledBoardIsSolvableAndNotWon() {
+        Random random = new Random(7);
+        for (int k = 0; k < 50; k++) {
+            FifteenModel model = new FifteenModel(2, 2, NO_VIEW);
+            model.scramble(random);
+            assertFalse(model.inWinningPositions());
+            assertTrue(model.getMoveLog().isEmpty());
+        }
+    }
+
+    @Test
+    void moveLogIsACopy() {
+        FifteenModel model = new FifteenModel(4, 4, NO_VIEW);
+        model.keyPressed(Direction.DOWN);
+        MoveLog moves = model.getMoveLog();
+        moves.add(Direction.RIGHT);
+        moves.clear();
+        assertEquals(1, model.getMoveCount());
+        assertEquals(Direction.DOWN, model.getMoveLog().get(0));
+    }
+
+    @Test
+    void unsolvableBoardIsRejected() {
+        FifteenModel model = new FifteenModel(4, 4, NO_VIEW);
+        int[] tiles = model.getTiles();
+        int aux = tiles[0];
+        tiles[0] = tiles[1];
+        tiles[1] = aux;
+        assertThrows(IllegalArgumentException.class, () -> model.setTiles(tiles));
+        assertTrue(model.inWinningPositions());
+    }
+
+    @Test
+    void winningStopsTheClock() throws InterruptedException {
+        FifteenModel model = new FifteenModel(4, 4, NO_VIEW);
+        model.setTimerNotifications(false);
+        model.keyPressed(Direction.DOWN);
+        model.startTimer();
+        assertTrue(model.isTimerRunning());
+        model.keyPressed(Direction.UP);
+        assertTrue(model.inWinningPositions());
+        assertFalse(model.isTimerRunning());
+
+        model.setTiles(new int[]{1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 0, 15});
+        model.startTimer();
+        Playback playback = model.solve(0);
+        PlaybackTest.waitFor(playback::isDone);
+        assertTrue(model.inWinningPositions());
+        assertFalse(model.isTimerRunning());
+    }
+
+    @Test
+    void boardsOver127PositionsCannotBeSolved() {
+        assertTrue(new FifteenModel(11, 11, NO_VIEW).canSolve());
+        FifteenModel model = new FifteenModel(12, 11, NO_VIEW);
+        assertFalse(model.canSolve());
+        assertThrows(IllegalStateException.class, () -> model.solve(0));
+        assertThrows(IllegalStateException.class, model::findSolution);
+    }
+
+    private static int manhattan(int[] tiles, int nCols) {
+        int sum = 0;
+        for (int i = 0; i < tiles.length; i++) {
+            if (tiles[i] != FifteenModel.EMPTY) {
+                int goal = tiles[i] - 1;
+                sum += Math.abs(goal / nCols - i / nCols) + Math.abs(goal % nCols - i % nCols);
+            }
+        }
+        return sum;
+    }
+
+    private static int misplaced(int[] tiles) {
+        int n = 0;
+        for (int i = 0; i < tiles.length; i++) {
+            if (tiles[i] != FifteenModel.EMPTY && tiles[i] != i + 1) {
+                n++;
+            }
+        }
+        return n;
+    }
+
+}
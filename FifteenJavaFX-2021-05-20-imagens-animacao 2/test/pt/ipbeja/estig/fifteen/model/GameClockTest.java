@@ -0,0 +1,52 @@
+package pt.ipbeja.estig.fifteen.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameClockTest {
+
+    @Test
+    void stoppedClockKeepsItsTime() throws InterruptedException {
+        GameClock clock = new GameClock();
+        assertEquals(0, clock.getNanos());
+        clock.start();
+        Thread.sleep(20);
+        clock.stop();
+        long nanos = clock.getNanos();
+        assertTrue(nanos >= TimeUnit.MILLISECONDS.toNanos(20));
+        Thread.sleep(20);
+        assertEquals(nanos, clock.getNanos());
+        assertFalse(clock.isRunning());
+        clock.reset();
+        assertEquals(0, clock.getNanos());
+    }
+
+    @Test
+    void subscriberIsTickedUntilStop() throws InterruptedException {
+        GameClock clock = new GameClock();
+        CountDownLatch ticked = new CountDownLatch(1);
+        clock.start();
+        clock.subscribe(ticked::countDown);
+        assertTrue(ticked.await(2, TimeUnit.SECONDS));
+        clock.stop();
+    }
+
+    @Test
+    void allClocksShareOneThread() {
+        GameClock[] clocks = new GameClock[100];
+        for (int i = 0; i < clocks.length; i++) {
+            clocks[i] = new GameClock();
+            clocks[i].start();
+            clocks[i].subscribe(() -> {
+            });
+        }
+        assertEquals(1, GameClock.getThreadCount());
+        for (GameClock clock : clocks) {
+            clock.stop();
+        }
+    }
+}
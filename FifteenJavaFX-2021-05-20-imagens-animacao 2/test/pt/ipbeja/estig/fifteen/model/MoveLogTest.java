@@ -0,0 +1,79 @@
+package pt.ipbeja.estig.fifteen.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MoveLogTest {
+
+    @Test
+    void addCancelsMoveBack() {
+        MoveLog log = new MoveLog();
+        log.add(Direction.UP);
+        log.add(Direction.LEFT);
+        log.add(Direction.RIGHT); // undoes LEFT
+        assertEquals(1, log.size());
+        assertEquals(Direction.UP, log.peek());
+        log.add(Direction.DOWN); // undoes UP
+        assertTrue(log.isEmpty());
+        assertNull(log.peek());
+        assertNull(log.pop());
+    }
+
+    @Test
+    void pushKeepsMoveBack() {
+        MoveLog log = new MoveLog();
+        log.push(Direction.UP);
+        log.push(Direction.DOWN);
+        assertEquals(2, log.size());
+        assertEquals(Direction.DOWN, log.pop());
+        assertEquals(Direction.UP, log.pop());
+        assertTrue(log.isEmpty());
+    }
+
+    @Test
+    void copyIsIndependent() {
+        MoveLog log = new MoveLog();
+        log.push(Direction.UP);
+        MoveLog copy = new MoveLog(log);
+        assertEquals(log, copy);
+        copy.push(Direction.LEFT);
+        assertEquals(1, log.size());
+        assertEquals(2, copy.size());
+    }
+
+    @Test
+    void longLogKeepsEveryMove() {
+        MoveLog log = new MoveLog();
+        Direction[] moves = new Direction[1000];
+        for (int i = 0; i < moves.length; i++) {
+            // never the opposite of the move before, so nothing cancels
+            moves[i] = i % 2 == 0 ? Direction.UP : Direction.LEFT;
+            log.add(moves[i]);
+        }
+        assertEquals(moves.length, log.size());
+        for (int i = 0; i < moves.length; i++) {
+            assertEquals(moves[i], log.get(i));
+        }
+        assertThrows(IndexOutOfBoundsException.class, () -> log.get(moves.length));
+        for (int i = moves.length - 1; i >= 0; i--) {
+            log.add(moves[i].opposite());
+        }
+        assertTrue(log.isEmpty());
+    }
+
+    @Test
+    void equalLogsAfterCancelledMoves() {
+        MoveLog a = new MoveLog();
+        MoveLog b = new MoveLog();
+        a.add(Direction.RIGHT);
+        a.add(Direction.UP);
+        a.add(Direction.DOWN);
+        b.add(Direction.RIGHT);
+        assertEquals(a, b);
+        assertEquals(a.hashCode(), b.hashCode());
+        assertEquals("R", a.toString());
+        b.add(Direction.DOWN);
+        assertNotEquals(a, b);
+    }
+}
@@ -0,0 +1,55 @@
+package pt.ipbeja.estig.fifteen.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PackedBoardTest {
+
+    @Test
+    void packUnpackRoundTrip() {
+        Random random = new Random(1);
+        for (int n = 4; n <= PackedBoard.MAX_POSITIONS; n++) {
+            int[] tiles = permutation(n, random);
+            int[] unpacked = new int[n];
+            PackedBoard.unpack(PackedBoard.pack(tiles), unpacked);
+            assertArrayEquals(tiles, unpacked);
+        }
+    }
+
+    @Test
+    void goalStateIsPackedWinningBoard() {
+        for (int n = 4; n <= PackedBoard.MAX_POSITIONS; n++) {
+            int[] tiles = new int[n];
+            for (int i = 0; i < n; i++) {
+                tiles[i] = (i + 1) % n;
+            }
+            assertEquals(PackedBoard.pack(tiles), PackedBoard.goalState(n));
+        }
+    }
+
+    @Test
+    void moveSwapsPieceAndEmpty() {
+        int[] tiles = {1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, FifteenModel.EMPTY};
+        long state = PackedBoard.move(PackedBoard.pack(tiles), 15, 11);
+        assertEquals(12, PackedBoard.get(state, 15));
+        assertEquals(FifteenModel.EMPTY, PackedBoard.get(state, 11));
+        assertEquals(PackedBoard.pack(tiles), PackedBoard.move(state, 11, 15));
+    }
+
+    private static int[] permutation(int n, Random random) {
+        int[] tiles = new int[n];
+        for (int i = 0; i < n; i++) {
+            tiles[i] = i;
+        }
+        for (int i = n - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int t = tiles[i];
+            tiles[i] = tiles[j];
+            tiles[j] = t;
+        }
+        return tiles;
+    }
+}
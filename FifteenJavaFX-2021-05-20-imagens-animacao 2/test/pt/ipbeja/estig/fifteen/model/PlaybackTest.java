@@ -0,0 +1,150 @@
+package pt.ipbeja.estig.fifteen.model;
+
+import org.junit.jupiter.api.Test;
+import pt.ipbeja.estig.fifteen.gui.View;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PlaybackTest {
+    private static final int N_MOVES = 1000;
+
+    private final Object lock = new Object();
+    private final AtomicInteger moves = new AtomicInteger();
+    private final Playback.Step step = () -> this.moves.get() < N_MOVES && this.moves.incrementAndGet() > 0;
+
+    @Test
+    void newPlaybackWaitsForResume() throws InterruptedException {
+        Playback playback = new Playback(this.lock, this.step, 0);
+        Thread.sleep(50);
+        assertTrue(playback.isPaused());
+        assertEquals(0, this.moves.get());
+        playback.resume();
+        waitFor(playback::isDone);
+        assertEquals(N_MOVES, this.moves.get());
+        assertFalse(playback.isActive());
+    }
+
+    @Test
+    void pauseStopsUntilResume() throws InterruptedException {
+        Playback playback = new Playback(this.lock, this.step, 5);
+        playback.resume();
+        waitFor(() -> this.moves.get() > 0);
+        playback.pause();
+        int made = this.moves.get();
+        Thread.sleep(50);
+        assertEquals(made, this.moves.get());
+        assertTrue(playback.isPaused());
+        playback.resume();
+        playback.setDelay(0);
+        waitFor(playback::isDone);
+        assertEquals(N_MOVES, this.moves.get());
+    }
+
+    @Test
+    void cancelledPlaybackMakesNoMoreMoves() throws InterruptedException {
+        Playback playback = new Playback(this.lock, this.step, 5);
+        playback.resume();
+        waitFor(() -> this.moves.get() > 0);
+        playback.cancel();
+        int made = this.moves.get();
+        playback.resume();
+        Thread.sleep(50);
+        assertEquals(made, this.moves.get());
+        assertTrue(playback.isCancelled());
+        assertFalse(playback.isActive());
+    }
+
+    @Test
+    void heldPlaybackWaitsForRelease() throws InterruptedException {
+        Playback playback = new Playback(this.lock, this.step, 0);
+        playback.hold();
+        playback.resume();
+        Thread.sleep(50);
+        assertEquals(0, this.moves.get());
+        assertFalse(playback.isPaused());
+        playback.release();
+        waitFor(playback::isDone);
+        assertEquals(N_MOVES, this.moves.get());
+    }
+
+    @Test
+    void pauseWhileHeldIsKeptAfterRelease() throws InterruptedException {
+        Playback playback = new Playback(this.lock, this.step, 0);
+        playback.hold();
+        playback.resume();
+        playback.pause();
+        playback.release();
+        Thread.sleep(50);
+        assertEquals(0, this.moves.get());
+        assertTrue(playback.isPaused());
+        playback.resume();
+        waitFor(playback::isDone);
+        assertEquals(N_MOVES, this.moves.get());
+    }
+
+    @Test
+    void onCancelRunsOnlyWhenCancelled() {
+        AtomicInteger stops = new AtomicInteger();
+        Playback playback = new Playback(this.lock, this.step, 5);
+        playback.setOnCancel(stops::incrementAndGet);
+        playback.cancel();
+        playback.cancel();
+        assertEquals(1, stops.get());
+        playback.setOnCancel(stops::incrementAndGet); // already cancelled: runs at once
+        assertEquals(2, stops.get());
+    }
+
+    @Test
+    void solutionPlaysToTheWinningBoard() throws InterruptedException {
+        View view = (move, winning, tValue) -> {
+        };
+        FifteenModel model = new FifteenModel(3, 3, view);
+        model.setTiles(new int[]{8, 6, 7, 2, 5, 4, 3, 0, 1});
+        Playback playback = model.solve(0);
+        waitFor(playback::isDone);
+        assertTrue(model.inWinningPositions());
+    }
+
+    @Test
+    void solutionResumedBeforeItIsFoundPlaysWhenFound() throws InterruptedException {
+        FifteenModel model = new FifteenModel(4, 4, (move, winning, tValue) -> {
+        });
+        model.setTiles(new int[]{1, 6, 11, 3, 8, 4, 12, 13, 15, 2, 0, 7, 9, 5, 14, 10});
+        Playback playback = model.solve(0);
+        playback.resume();
+        playback.pause();
+        playback.resume();
+        waitFor(playback::isDone);
+        assertTrue(model.inWinningPositions());
+    }
+
+    @Test
+    void onEndRunsWhenDoneOrCancelled() throws InterruptedException {
+        AtomicInteger ends = new AtomicInteger();
+        Playback done = new Playback(this.lock, this.step, 0);
+        done.setOnEnd(ends::incrementAndGet);
+        done.resume();
+        waitFor(done::isDone);
+        assertEquals(1, ends.get());
+
+        Playback cancelled = new Playback(this.lock, this.step, 5);
+        cancelled.setOnEnd(ends::incrementAndGet);
+        cancelled.cancel();
+        cancelled.cancel();
+        assertEquals(2, ends.get());
+
+        cancelled.setOnEnd(ends::incrementAndGet); // already ended: runs at once
+        assertEquals(3, ends.get());
+    }
+
+    static void waitFor(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "timed out");
+            Thread.sleep(5);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package pt.ipbeja.estig.fifteen.model;
+
+import org.junit.jupiter.api.Test;
+import pt.ipbeja.estig.fifteen.solver.FifteenSolver;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScramblerTest {
+    private static final int[][] SIZES = {{2, 2}, {3, 3}, {4, 4}, {3, 5}, {4, 3}, {5, 5}, {7, 7}};
+
+    @Test
+    void scrambledBoardsAreSolvablePermutations() {
+        for (int[] size : SIZES) {
+            Scrambler scrambler = new Scrambler(size[0], size[1], new Random(1));
+            int[] tiles = new int[size[0] * size[1]];
+            for (int k = 0; k < 500; k++) {
+                scrambler.scramble(tiles);
+                boolean[] seen = new boolean[tiles.length];
+                for (int piece : tiles) {
+                    assertFalse(seen[piece], "repeated piece " + piece);
+                    seen[piece] = true;
+                }
+                assertTrue(FifteenSolver.isSolvable(tiles, size[0], size[1]));
+                assertTrue(scrambler.isSolvable(tiles));
+            }
+        }
+    }
+
+    @Test
+    void emptyPositionCanBeAnywhere() {
+        Scrambler scrambler = new Scrambler(4, 4, new Random(2));
+        int[] tiles = new int[16];
+        boolean[] emptyAt = new boolean[16];
+        for (int k = 0; k < 2000; k++) {
+            scrambler.scramble(tiles);
+            for (int i = 0; i < tiles.length; i++) {
+                if (tiles[i] == FifteenModel.EMPTY) {
+                    emptyAt[i] = true;
+                }
+            }
+        }
+        for (int i = 0; i < emptyAt.length; i++) {
+            assertTrue(emptyAt[i], "empty never at " + i);
+        }
+    }
+
+    @Test
+    void parityAgreesWithInversionCount() {
+        Random random = new Random(3);
+        for (int[] size : SIZES) {
+            Scrambler scrambler = new Scrambler(size[0], size[1], random);
+            int[] tiles = new int[size[0] * size[1]];
+            for (int k = 0; k < 500; k++) {
+                shuffle(tiles, random); // solvable or not
+                assertEquals(FifteenSolver.isSolvable(tiles, size[0], size[1]), scrambler.isSolvable(tiles));
+            }
+        }
+    }
+
+    @Test
+    void swappingTwoPiecesChangesParity() {
+        Scrambler scrambler = new Scrambler(4, 4, new Random(4));
+        int[] tiles = new int[16];
+        for (int k = 0; k < 200; k++) {
+            scrambler.scramble(tiles);
+            int first = tiles[0] == FifteenModel.EMPTY ? 1 : 0;
+            int second = tiles[first + 1] == FifteenModel.EMPTY ? first + 2 : first + 1;
+            swap(tiles, first, second);
+            assertFalse(scrambler.isSolvable(tiles));
+            assertFalse(FifteenSolver.isSolvable(tiles, 4, 4));
+        }
+    }
+
+    private static void shuffle(int[] tiles, Random random) {
+        for (int i = 0; i < tiles.length; i++) {
+            tiles[i] = i;
+        }
+        for (int i = tiles.length - 1; i > 0; i--) {
+            swap(tiles, i, random.nextInt(i + 1));
+        }
+    }
+
+    private static void swap(int[] tiles, int i, int j) {
+        int aux = tiles[i];
+        tiles[i] = tiles[j];
+        tiles[j] = aux;
+    }
+}
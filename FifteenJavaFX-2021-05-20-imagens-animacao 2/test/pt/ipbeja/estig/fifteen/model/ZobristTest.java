@@ -0,0 +1,30 @@
+package pt.ipbeja.estig.fifteen.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ZobristTest {
+
+    @Test
+    void keysAreDistinct() {
+        Set<Long> keys = new HashSet<>();
+        for (int piece = 1; piece < 400; piece++) {
+            for (int position = 0; position < 400; position++) {
+                assertTrue(keys.add(Zobrist.key(piece, position)));
+            }
+        }
+        assertEquals(0, Zobrist.key(FifteenModel.EMPTY, 7));
+    }
+
+    @Test
+    void largeBoardsNeedNoTables() {
+        FifteenModel model = new FifteenModel(120, 120, (move, winning, tValue) -> {
+        });
+        model.keyPressed(Direction.DOWN);
+        assertEquals(Zobrist.hash(model.getTiles()), model.getStateHash());
+    }
+}
@@ -0,0 +1,160 @@
+package pt.ipbeja.estig.fifteen.recording;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import pt.ipbeja.estig.fifteen.model.Direction;
+import pt.ipbeja.estig.fifteen.model.FifteenModel;
+import pt.ipbeja.estig.fifteen.model.MoveLog;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameRecorderTest {
+    private Path file;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        this.file = Files.createTempFile("games", ".bin");
+        Files.delete(this.file); // the recorder creates it
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        Files.deleteIfExists(this.file);
+    }
+
+    @Test
+    void recordedGamesReplayToTheSameBoards() throws IOException {
+        Random random = new Random(11);
+        FifteenModel[] games = {playedGame(3, 3, 0, random), playedGame(4, 4, 37, random),
+                playedGame(7, 7, 500, random), solvedGame()};
+        try (GameRecorder recorder = new GameRecorder(this.file)) {
+            for (FifteenModel game : games) {
+                recorder.record(game);
+            }
+            assertEquals(games.length, recorder.getGameCount());
+        }
+
+        try (GameLog log = GameLog.open(this.file)) {
+            GameCursor cursor = log.cursor();
+            for (FifteenModel game : games) {
+                assertTrue(cursor.next());
+                assertEquals(game.getNLines(), cursor.getNLines());
+                assertEquals(game.getNCols(), cursor.getNCols());
+                assertArrayEquals(game.getInitialTiles(), cursor.getTiles(new int[game.getTiles().length]));
+                assertEquals(game.getMoveCount(), cursor.getMoveCount());
+                assertEquals(game.inWinningPositions(), cursor.isWin());
+
+                FifteenModel replayed = GameReplay.createModel(cursor, GameReplay.NO_VIEW);
+                GameReplay.replay(cursor, replayed, new int[game.getTiles().length]);
+                assertArrayEquals(game.getTiles(), replayed.getTiles());
+                assertEquals(game.getMoveLog(), replayed.getMoveLog());
+            }
+            assertFalse(cursor.next());
+        }
+    }
+
+    @Test
+    void timerValueAndFlagsAreKept() throws IOException {
+        MoveLog moves = new MoveLog();
+        moves.add(Direction.DOWN);
+        moves.add(Direction.RIGHT);
+        int[] tiles = {1, 2, 3, 4, 5, 6, 7, 8, 0};
+        try (GameRecorder recorder = new GameRecorder(this.file)) {
+            recorder.record(3, 3, tiles, moves, 1234567, false);
+        }
+        try (GameLog log = GameLog.open(this.file)) {
+            GameCursor cursor = log.cursor();
+            assertTrue(cursor.next());
+            assertEquals(1234567, cursor.getTimerValue());
+            assertFalse(cursor.isWin());
+            assertEquals(Direction.DOWN, cursor.getMove(0));
+            assertEquals(Direction.RIGHT, cursor.getMove(1));
+        }
+    }
+
+    @Test
+    void recordCutShortIsIgnored() throws IOException {
+        Random random = new Random(12);
+        try (GameRecorder recorder = new GameRecorder(this.file)) {
+            recorder.record(playedGame(4, 4, 20, random));
+            recorder.record(playedGame(4, 4, 20, random));
+        }
+        try (FileChannel channel = FileChannel.open(this.file, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 3);
+        }
+        try (GameLog log = GameLog.open(this.file)) {
+            GameCursor cursor = log.cursor();
+            assertTrue(cursor.next());
+            assertFalse(cursor.next());
+        }
+    }
+
+    @Test
+    void corruptRecordEndsTheIteration() throws IOException {
+        Random random = new Random(14);
+        for (byte nLines : new byte[]{0, 6, 127}) { // no pieces, pieces past the record, past the log
+            try (GameRecorder recorder = new GameRecorder(this.file)) {
+                recorder.record(playedGame(4, 4, 20, random));
+                recorder.record(playedGame(4, 4, 20, random));
+            }
+            try (FileChannel channel = FileChannel.open(this.file, StandardOpenOption.WRITE)) {
+                // first record: length (one byte), then number of lines
+                channel.write(ByteBuffer.wrap(new byte[]{nLines}), GameRecorder.HEADER_SIZE + 1);
+            }
+            try (GameLog log = GameLog.open(this.file)) {
+                assertFalse(log.cursor().next(), "lines " + nLines);
+            }
+            Files.delete(this.file);
+        }
+    }
+
+    @Test
+    void appendsToExistingLog() throws IOException {
+        Random random = new Random(13);
+        try (GameRecorder recorder = new GameRecorder(this.file)) {
+            recorder.record(playedGame(4, 4, 10, random));
+        }
+        try (GameRecorder recorder = new GameRecorder(this.file)) {
+            recorder.record(playedGame(4, 4, 10, random));
+        }
+        try (GameLog log = GameLog.open(this.file)) {
+            GameCursor cursor = log.cursor();
+            assertTrue(cursor.next());
+            assertTrue(cursor.next());
+            assertFalse(cursor.next());
+        }
+    }
+
+    @Test
+    void otherFilesAreRejected() throws IOException {
+        Files.write(this.file, "not a game log".getBytes("US-ASCII"));
+        assertThrows(IOException.class, () -> new GameRecorder(this.file));
+        assertThrows(IOException.class, () -> GameLog.open(this.file));
+    }
+
+    private static FifteenModel playedGame(int nLines, int nCols, int nMoves, Random random) {
+        FifteenModel model = new FifteenModel(nLines, nCols, GameReplay.NO_VIEW);
+        model.setTimerNotifications(false);
+        model.scramble(random);
+        for (int k = 0; k < nMoves; k++) {
+            model.keyPressed(Direction.values()[random.nextInt(4)]);
+        }
+        return model;
+    }
+
+    private static FifteenModel solvedGame() {
+        FifteenModel model = new FifteenModel(4, 4, GameReplay.NO_VIEW);
+        model.setTiles(new int[]{1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 0, 15});
+        model.keyPressed(Direction.LEFT);
+        return model;
+    }
+}
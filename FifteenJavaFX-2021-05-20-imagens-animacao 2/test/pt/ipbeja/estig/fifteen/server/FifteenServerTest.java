@@ -0,0 +1,199 @@
+package pt.ipbeja.estig.fifteen.server;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FifteenServerTest {
+    private static final int TIMEOUT = 5000; // milliseconds
+
+    private FifteenServer server;
+    private Thread thread;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        this.server = new FifteenServer(0);
+        this.thread = new Thread(this.server, "fifteen-server-test");
+        this.thread.start();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        this.server.stop();
+        this.thread.join(TIMEOUT);
+    }
+
+    @Test
+    void quitClosesTheSession() throws Exception {
+        try (Socket socket = this.connect()) {
+            BufferedReader in = reader(socket);
+            send(socket, "TICKS OFF");
+            assertEquals("OK", in.readLine());
+            this.awaitSessions(1);
+            send(socket, "QUIT");
+            assertEquals("BYE", in.readLine());
+            assertNull(in.readLine()); // closed by the server
+            this.awaitSessions(0);
+        }
+    }
+
+    @Test
+    void everyCommandIsAnswered() throws Exception {
+        try (Socket socket = this.connect()) {
+            BufferedReader in = reader(socket);
+            send(socket, "TICKS OFF");
+            assertEquals("OK", in.readLine());
+            for (String move : new String[]{"U", "D", "L", "R"}) {
+                send(socket, move);
+                String answer = in.readLine();
+                assertTrue(answer.startsWith("MOVE ") || answer.equals("NONE"), answer);
+            }
+            send(socket, "TIME");
+            assertTrue(in.readLine().startsWith("TIME "));
+            send(socket, "JUMP");
+            assertEquals("ERROR unknown command JUMP", in.readLine());
+        }
+    }
+
+    @Test
+    void tooLongCommandIsRefused() throws Exception {
+        try (Socket socket = this.connect()) {
+            BufferedReader in = reader(socket);
+            send(socket, "TICKS OFF");
+            assertEquals("OK", in.readLine());
+            StringBuilder line = new StringBuilder();
+            for (int i = 0; i < 300; i++) {
+                line.append('X');
+            }
+            send(socket, line.toString());
+            assertEquals("ERROR line too long", in.readLine());
+            send(socket, "BOARD");
+            String answer = in.readLine();
+            while (answer.startsWith("ERROR")) { // the rest of the long line
+                answer = in.readLine();
+            }
+            assertTrue(answer.startsWith("BOARD 4 4 "), "the session goes on");
+        }
+    }
+
+    @Test
+    void solveAnswersWithMoves() throws Exception {
+        try (Socket socket = this.connect()) {
+            BufferedReader in = reader(socket);
+            send(socket, "TICKS OFF");
+            assertEquals("OK", in.readLine());
+            send(socket, "NEW 3 3");
+            assertEquals("OK", in.readLine());
+            send(socket, "SOLVE");
+            String line;
+            do {
+                line = in.readLine();
+                assertNotNull(line);
+                assertTrue(line.startsWith("MOVE "), line);
+            } while (!line.endsWith(" WIN"));
+        }
+    }
+
+    @Test
+    void solveIsRefusedWhileSolving() throws Exception {
+        try (Socket socket = this.connect()) {
+            BufferedReader in = reader(socket);
+            send(socket, "TICKS OFF");
+            assertEquals("OK", in.readLine());
+            send(socket, "NEW 6 6");
+            assertEquals("OK", in.readLine());
+            send(socket, "SOLVE\nSOLVE"); // a 6x6 board takes a while to solve
+            assertEquals("ERROR already solving", in.readLine());
+            String line;
+            do {
+                line = in.readLine();
+                assertNotNull(line);
+                assertTrue(line.startsWith("MOVE "), line);
+            } while (!line.endsWith(" WIN"));
+        }
+    }
+
+    @Test
+    void solveIsRefusedForLargeBoards() throws Exception {
+        try (Socket socket = this.connect()) {
+            BufferedReader in = reader(socket);
+            send(socket, "TICKS OFF");
+            assertEquals("OK", in.readLine());
+            send(socket, "NEW 7 6");
+            assertEquals("OK", in.readLine());
+            send(socket, "SOLVE");
+            assertTrue(in.readLine().startsWith("ERROR "));
+        }
+    }
+
+    @Test
+    void largeBoardsAreSentWhole() throws Exception {
+        try (Socket socket = this.connect()) {
+            BufferedReader in = reader(socket);
+            send(socket, "TICKS OFF");
+            assertEquals("OK", in.readLine());
+            send(socket, "NEW 32 32");
+            assertEquals("OK", in.readLine());
+            send(socket, "BOARD\nBOARD"); // together longer than the output buffer
+            for (int i = 0; i < 2; i++) {
+                String[] words = in.readLine().split(" ");
+                assertEquals("BOARD", words[0]);
+                assertEquals(3 + 32 * 32, words.length);
+            }
+            send(socket, "TIME");
+            assertTrue(in.readLine().startsWith("TIME "), "later answers follow the long line");
+        }
+    }
+
+    @Test
+    void clientThatDoesNotReadIsDisconnected() throws Exception {
+        try (Socket socket = this.connect()) {
+            BufferedReader in = reader(socket);
+            send(socket, "TICKS OFF");
+            assertEquals("OK", in.readLine());
+            send(socket, "NEW 32 32");
+            assertEquals("OK", in.readLine());
+            this.awaitSessions(1);
+            StringBuilder boards = new StringBuilder();
+            for (int i = 0; i < 5000; i++) { // about 20 MB of answers
+                boards.append("BOARD\n");
+            }
+            send(socket, boards.toString());
+            this.awaitSessions(0);
+        }
+    }
+
+    private Socket connect() throws IOException {
+        Socket socket = new Socket(InetAddress.getLoopbackAddress(), this.server.getPort());
+        socket.setSoTimeout(TIMEOUT);
+        return socket;
+    }
+
+    private void awaitSessions(int n) throws InterruptedException {
+        long end = System.currentTimeMillis() + TIMEOUT;
+        while (this.server.getSessionCount() != n && System.currentTimeMillis() < end) {
+            Thread.sleep(10);
+        }
+        assertEquals(n, this.server.getSessionCount());
+    }
+
+    private static BufferedReader reader(Socket socket) throws IOException {
+        return new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+    }
+
+    private static void send(Socket socket, String line) throws IOException {
+        OutputStream out = socket.getOutputStream();
+        out.write((line + "\n").getBytes(StandardCharsets.US_ASCII));
+        out.flush();
+    }
+}
@@ -0,0 +1,80 @@
+package pt.ipbeja.estig.fifteen.solver;
+
+import org.junit.jupiter.api.Test;
+import pt.ipbeja.estig.fifteen.model.Scrambler;
+
+import java.time.Duration;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BeamSolverTest {
+
+    @Test
+    void solutionSolves5x5Board() {
+        int[] tiles = TestBoards.randomWalk(5, 5, 1000, new Random(24));
+        BeamSolver.Result result = new BeamSolver(5, 5, new ManhattanHeuristic(5, 5))
+                .solve(tiles, Duration.ofMillis(500));
+        assertEquals(result.getSolution().size(), result.getLength());
+        assertTrue(result.getLength() >= result.getLowerBound());
+        assertEquals(result.getLength() - result.getLowerBound(), result.getGap());
+        assertTrue(result.getWidth() >= BeamSolver.MIN_WIDTH);
+        assertTrue(TestBoards.solves(tiles, 5, 5, result.getSolution()));
+    }
+
+    @Test
+    void solutionsAreNoShorterThanOptimal() {
+        Random random = new Random(25);
+        BeamSolver solver = new BeamSolver(3, 3, new ManhattanHeuristic(3, 3));
+        for (int k = 0; k < 10; k++) {
+            int[] tiles = TestBoards.randomWalk(3, 3, 101, random);
+            BeamSolver.Result result = solver.solve(tiles, Duration.ofMillis(50));
+            assertTrue(result.getLength() >= TestBoards.distance3x3(tiles));
+            assertTrue(result.getLowerBound() <= TestBoards.distance3x3(tiles));
+            assertTrue(TestBoards.solves(tiles, 3, 3, result.getSolution()));
+        }
+    }
+
+    @Test
+    void solvedBoardNeedsNoMoves() {
+        BeamSolver.Result result = new BeamSolver(6, 6, new ManhattanHeuristic(6, 6))
+                .solve(TestBoards.goal(6, 6), Duration.ofMillis(100));
+        assertTrue(result.getSolution().isEmpty());
+        assertEquals(0, result.getGap());
+    }
+
+    @Test
+    void boardsOver127PositionsAreRejected() {
+        assertTrue(BeamSolver.isSupported(11, 11));
+        assertFalse(BeamSolver.isSupported(12, 11));
+        assertThrows(IllegalArgumentException.class, () -> new BeamSolver(12, 11, new ManhattanHeuristic(12, 11)));
+    }
+
+    @Test
+    void unsolvableBoardIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new BeamSolver(3, 3, new ManhattanHeuristic(3, 3))
+                .solve(new int[]{2, 1, 3, 4, 5, 6, 7, 8, 0}, Duration.ofMillis(100)));
+    }
+
+    @Test
+    void firstSearchKeepsToTheBudget() {
+        int[] tiles = TestBoards.goal(11, 11);
+        new Scrambler(11, 11, new Random(26)).scramble(tiles);
+        BeamSolver solver = new BeamSolver(11, 11, new ManhattanHeuristic(11, 11));
+        long start = System.nanoTime();
+        try {
+            solver.solve(tiles, Duration.ofMillis(300));
+        } catch (IllegalStateException e) {
+            // no solution in time
+        }
+        assertTrue(System.nanoTime() - start < 3_000_000_000L, "the search ends soon after the budget");
+    }
+
+    @Test
+    void cancelledSearchReturnsNull() {
+        BeamSolver solver = new BeamSolver(5, 5, new ManhattanHeuristic(5, 5));
+        solver.cancel();
+        assertNull(solver.solve(TestBoards.randomWalk(5, 5, 1000, new Random(25)), Duration.ofSeconds(10)));
+        assertTrue(solver.isCancelled());
+    }
+}
@@ -0,0 +1,55 @@
+package pt.ipbeja.estig.fifteen.solver;
+
+import org.junit.jupiter.api.Test;
+import pt.ipbeja.estig.fifteen.model.Direction;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BidirectionalSolverTest {
+
+    @Test
+    void hardest3x3BoardsNeed31Moves() {
+        for (int[] tiles : TestBoards.HARDEST_3X3) {
+            List<Direction> solution = new BidirectionalSolver(3, 3).solve(tiles, 31);
+            assertEquals(31, solution.size());
+            assertTrue(TestBoards.solves(tiles, 3, 3, solution));
+        }
+    }
+
+    @Test
+    void random3x3BoardsSolvedOptimally() {
+        Random random = new Random(15);
+        BidirectionalSolver solver = new BidirectionalSolver(3, 3);
+        for (int k = 0; k < 20; k++) {
+            int[] tiles = TestBoards.randomWalk(3, 3, 101, random);
+            List<Direction> solution = solver.solve(tiles, BidirectionalSolver.DEFAULT_MAX_DEPTH + 11);
+            assertEquals(TestBoards.distance3x3(tiles), solution.size());
+            assertTrue(TestBoards.solves(tiles, 3, 3, solution));
+        }
+    }
+
+    @Test
+    void agreesWithIdaStarOn4x4Boards() {
+        Random random = new Random(16);
+        for (int k = 0; k < 5; k++) {
+            int[] tiles = TestBoards.randomWalk(4, 4, 24, random);
+            int length = new FifteenSolver(4, 4, new ManhattanHeuristic(4, 4)).solve(tiles).size();
+            List<Direction> solution = new BidirectionalSolver(4, 4).solve(tiles, BidirectionalSolver.DEFAULT_MAX_DEPTH);
+            assertEquals(length, solution.size());
+            assertTrue(TestBoards.solves(tiles, 4, 4, solution));
+        }
+    }
+
+    @Test
+    void solvedBoardNeedsNoMoves() {
+        assertTrue(new BidirectionalSolver(3, 3).solve(TestBoards.goal(3, 3), 0).isEmpty());
+    }
+
+    @Test
+    void searchStopsAtMaxDepth() {
+        assertNull(new BidirectionalSolver(3, 3).solve(TestBoards.HARDEST_3X3[0], 30));
+    }
+}
@@ -0,0 +1,81 @@
+package pt.ipbeja.estig.fifteen.solver;
+
+import org.junit.jupiter.api.Test;
+import pt.ipbeja.estig.fifteen.model.Direction;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FifteenSolverTest {
+
+    @Test
+    void hardest3x3BoardsNeed31Moves() {
+        for (int[] tiles : TestBoards.HARDEST_3X3) {
+            assertEquals(31, TestBoards.distance3x3(tiles));
+            List<Direction> solution = new FifteenSolver(3, 3, new ManhattanHeuristic(3, 3)).solve(tiles);
+            assertEquals(31, solution.size());
+            assertTrue(TestBoards.solves(tiles, 3, 3, solution));
+        }
+    }
+
+    @Test
+    void random3x3BoardsSolvedOptimally() {
+        Random random = new Random(7);
+        for (int k = 0; k < 20; k++) {
+            int[] tiles = TestBoards.randomWalk(3, 3, 101, random);
+            List<Direction> solution = new FifteenSolver(3, 3, new ManhattanHeuristic(3, 3)).solve(tiles);
+            assertEquals(TestBoards.distance3x3(tiles), solution.size());
+            assertTrue(TestBoards.solves(tiles, 3, 3, solution));
+        }
+    }
+
+    @Test
+    void solutionsOf4x4BoardsAreNoLongerThanTheWalk() {
+        Random random = new Random(8);
+        for (int k = 0; k < 10; k++) {
+            int[] tiles = TestBoards.randomWalk(4, 4, 30, random);
+            List<Direction> solution = new FifteenSolver(4, 4, new ManhattanHeuristic(4, 4)).solve(tiles);
+            assertTrue(solution.size() <= 30);
+            assertTrue(TestBoards.solves(tiles, 4, 4, solution));
+        }
+    }
+
+    @Test
+    void solvedBoardNeedsNoMoves() {
+        assertTrue(new FifteenSolver(3, 3, new ManhattanHeuristic(3, 3)).solve(TestBoards.goal(3, 3)).isEmpty());
+    }
+
+    @Test
+    void unsolvableBoardIsRejected() {
+        int[] tiles = {2, 1, 3, 4, 5, 6, 7, 8, 0};
+        assertFalse(FifteenSolver.isSolvable(tiles, 3, 3));
+        assertThrows(IllegalArgumentException.class,
+                () -> new FifteenSolver(3, 3, new ManhattanHeuristic(3, 3)).solve(tiles));
+    }
+
+    @Test
+    void cancelledSearchReturnsNull() throws InterruptedException {
+        FifteenSolver solver = new FifteenSolver(4, 4, new ManhattanHeuristic(4, 4));
+        int[] tiles = {0, 12, 9, 13, 15, 11, 10, 14, 3, 7, 2, 5, 4, 8, 6, 1}; // 80 moves
+        List<List<Direction>> result = new ArrayList<>();
+        Thread thread = new Thread(() -> result.add(solver.solve(tiles)));
+        thread.start();
+        Thread.sleep(100);
+        solver.cancel();
+        thread.join(10_000);
+        assertFalse(thread.isAlive());
+        assertEquals(1, result.size());
+        assertNull(result.get(0));
+    }
+
+    @Test
+    void searchAfterCancelStartsAgain() {
+        FifteenSolver solver = new FifteenSolver(3, 3, new ManhattanHeuristic(3, 3));
+        solver.cancel();
+        List<Direction> solution = solver.solve(TestBoards.HARDEST_3X3[0]);
+        assertEquals(31, solution.size());
+    }
+}
@@ -0,0 +1,53 @@
+package pt.ipbeja.estig.fifteen.solver;
+
+import org.junit.jupiter.api.Test;
+import pt.ipbeja.estig.fifteen.model.Hint;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HintSearchTest {
+
+    @Test
+    void hintFoundInTimeIsOptimal() {
+        Random random = new Random(21);
+        for (int k = 0; k < 20; k++) {
+            int[] tiles = TestBoards.randomWalk(3, 3, 101, random);
+            int distance = TestBoards.distance3x3(tiles);
+            if (distance == 0) {
+                continue;
+            }
+            Hint hint = new HintSearch(3, 3, new ManhattanHeuristic(3, 3)).search(tiles);
+            assertTrue(hint.isOptimal());
+            assertEquals(distance, hint.getMoves());
+            assertTrue(TestBoards.move(tiles, 3, 3, hint.getDirection()));
+            assertEquals(distance - 1, TestBoards.distance3x3(tiles), "the hint starts a shortest solution");
+        }
+    }
+
+    @Test
+    void wonBoardHasNoMove() {
+        Hint hint = new HintSearch(3, 3, new ManhattanHeuristic(3, 3)).search(TestBoards.goal(3, 3));
+        assertNull(hint.getDirection());
+        assertTrue(hint.isOptimal());
+        assertEquals(0, hint.getMoves());
+    }
+
+    @Test
+    void cancelledSearchGivesBestMoveSoFar() throws InterruptedException {
+        int[] tiles = {0, 12, 9, 13, 15, 11, 10, 14, 3, 7, 2, 5, 4, 8, 6, 1}; // 80 moves
+        HintSearch search = new HintSearch(4, 4, new ManhattanHeuristic(4, 4));
+        Hint[] hint = new Hint[1];
+        Thread thread = new Thread(() -> hint[0] = search.search(tiles));
+        thread.start();
+        Thread.sleep(100);
+        search.cancel();
+        thread.join(10_000);
+        assertFalse(thread.isAlive());
+        assertFalse(hint[0].isOptimal());
+        assertTrue(hint[0].getMoves() <= 80, "a lower bound");
+        assertTrue(TestBoards.move(tiles.clone(), 4, 4, hint[0].getDirection()));
+        assertNull(search.getSolution());
+    }
+}
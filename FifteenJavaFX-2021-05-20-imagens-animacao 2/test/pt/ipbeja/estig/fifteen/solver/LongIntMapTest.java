@@ -0,0 +1,42 @@
+package pt.ipbeja.estig.fifteen.solver;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LongIntMapTest {
+
+    @Test
+    void agreesWithHashMapWhileGrowing() {
+        LongIntMap map = new LongIntMap(8);
+        Map<Long, Integer> expected = new HashMap<>();
+        Random random = new Random(17);
+        for (int k = 0; k < 100_000; k++) {
+            long key = random.nextLong() & 0xFFFFFL | 1; // repeated keys, never 0
+            int value = random.nextInt(100);
+            assertEquals(expected.putIfAbsent(key, value) == null, map.putIfAbsent(key, value));
+        }
+        assertEquals(expected.size(), map.size());
+        for (Map.Entry<Long, Integer> e : expected.entrySet()) {
+            assertEquals((int) e.getValue(), map.get(e.getKey()));
+        }
+        assertEquals(LongIntMap.ABSENT, map.get(2));
+    }
+
+    @Test
+    void clearRemovesAllKeys() {
+        LongIntMap map = new LongIntMap(8);
+        for (long key = 1; key <= 100; key++) {
+            map.putIfAbsent(key, 1);
+        }
+        map.clear();
+        assertEquals(0, map.size());
+        assertEquals(LongIntMap.ABSENT, map.get(50));
+        assertTrue(map.putIfAbsent(50, 2));
+        assertEquals(2, map.get(50));
+    }
+}
@@ -0,0 +1,55 @@
+package pt.ipbeja.estig.fifteen.solver;
+
+import org.junit.jupiter.api.Test;
+import pt.ipbeja.estig.fifteen.model.Direction;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ManhattanHeuristicTest {
+
+    @Test
+    void winningBoardIsZero() {
+        assertEquals(0, new ManhattanHeuristic(4, 4).reset(TestBoards.goal(4, 4)));
+    }
+
+    @Test
+    void linearConflictsAddTwoMoves() {
+        // 2 and 1 in their goal line, reversed: Manhattan 2 plus one conflict
+        assertEquals(4, new ManhattanHeuristic(3, 3).reset(new int[]{2, 1, 3, 4, 5, 6, 7, 8, 0}));
+    }
+
+    @Test
+    void neverOverestimates() {
+        Random random = new Random(9);
+        Heuristic heuristic = new ManhattanHeuristic(3, 3);
+        for (int k = 0; k < 500; k++) {
+            int[] tiles = TestBoards.randomWalk(3, 3, 60, random);
+            assertTrue(heuristic.reset(tiles) <= TestBoards.distance3x3(tiles));
+        }
+    }
+
+    @Test
+    void updateMatchesReset() {
+        int[][] sizes = {{3, 3}, {4, 4}, {5, 5}, {3, 6}};
+        Random random = new Random(10);
+        for (int[] size : sizes) {
+            int nLines = size[0];
+            int nCols = size[1];
+            Heuristic incremental = new ManhattanHeuristic(nLines, nCols);
+            Heuristic scratch = new ManhattanHeuristic(nLines, nCols);
+            int[] tiles = TestBoards.randomWalk(nLines, nCols, 500, random);
+            incremental.reset(tiles);
+            for (int k = 0; k < 2000; k++) {
+                int empty = TestBoards.indexOfEmpty(tiles);
+                if (!TestBoards.move(tiles, nLines, nCols, Direction.values()[random.nextInt(4)])) {
+                    continue;
+                }
+                int from = TestBoards.indexOfEmpty(tiles); // where the piece was
+                int h = incremental.update(tiles, tiles[empty], from, empty);
+                assertEquals(scratch.reset(tiles), h, "after move " + k);
+            }
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package pt.ipbeja.estig.fifteen.solver;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import pt.ipbeja.estig.fifteen.model.Direction;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParallelFifteenSolverTest {
+    private ForkJoinPool pool;
+
+    @BeforeEach
+    void setUp() {
+        this.pool = new ForkJoinPool(4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        this.pool.shutdownNow();
+    }
+
+    @Test
+    void hardest3x3BoardsNeed31Moves() {
+        for (int[] tiles : TestBoards.HARDEST_3X3) {
+            List<Direction> solution = this.solver(3, 3).solve(tiles);
+            assertEquals(31, solution.size());
+            assertTrue(TestBoards.solves(tiles, 3, 3, solution));
+        }
+    }
+
+    @Test
+    void random3x3BoardsSolvedOptimally() {
+        Random random = new Random(12);
+        for (int k = 0; k < 20; k++) {
+            int[] tiles = TestBoards.randomWalk(3, 3, 101, random);
+            List<Direction> solution = this.solver(3, 3).solve(tiles);
+            assertEquals(TestBoards.distance3x3(tiles), solution.size());
+            assertTrue(TestBoards.solves(tiles, 3, 3, solution));
+        }
+    }
+
+    @Test
+    void agreesWithSequentialSolverOn4x4Boards() {
+        Random random = new Random(13);
+        for (int k = 0; k < 5; k++) {
+            int[] tiles = TestBoards.randomWalk(4, 4, 40, random);
+            List<Direction> expected = new FifteenSolver(4, 4, new ManhattanHeuristic(4, 4)).solve(tiles);
+            List<Direction> solution = this.solver(4, 4).solve(tiles);
+            assertEquals(expected.size(), solution.size());
+            assertTrue(TestBoards.solves(tiles, 4, 4, solution));
+        }
+    }
+
+    @Test
+    void sameBoardGivesSameSolution() {
+        int[] tiles = TestBoards.randomWalk(4, 4, 40, new Random(14));
+        assertEquals(this.solver(4, 4).solve(tiles), this.solver(4, 4).solve(tiles));
+    }
+
+    @Test
+    void unsolvableBoardIsRejected() {
+        assertThrows(IllegalArgumentException.class,
+                () -> this.solver(3, 3).solve(new int[]{2, 1, 3, 4, 5, 6, 7, 8, 0}));
+    }
+
+    @Test
+    void cancelledSearchReturnsNull() throws InterruptedException {
+        ParallelFifteenSolver solver = this.solver(4, 4);
+        int[] tiles = {0, 12, 9, 13, 15, 11, 10, 14, 3, 7, 2, 5, 4, 8, 6, 1}; // 80 moves
+        List<List<Direction>> result = new ArrayList<>();
+        Thread thread = new Thread(() -> result.add(solver.solve(tiles)));
+        thread.start();
+        Thread.sleep(100);
+        solver.cancel();
+        thread.join(10_000);
+        assertFalse(thread.isAlive());
+        assertEquals(1, result.size());
+        assertNull(result.get(0));
+    }
+
+    private ParallelFifteenSolver solver(int nLines, int nCols) {
+        return new ParallelFifteenSolver(nLines, nCols, new ManhattanHeuristic(nLines, nCols), this.pool);
+    }
+}
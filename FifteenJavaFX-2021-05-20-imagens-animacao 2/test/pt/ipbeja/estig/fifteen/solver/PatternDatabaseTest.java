@@ -0,0 +1,118 @@
+package pt.ipbeja.estig.fifteen.solver;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import pt.ipbeja.estig.fifteen.model.Direction;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PatternDatabaseTest {
+    private static final int[][] GROUPS_3X3 = {{1, 2, 3, 4}, {5, 6, 7, 8}};
+
+    private Path file;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        this.file = Files.createTempFile("pdb", ".bin");
+        Files.delete(this.file); // loadOrBuild builds it
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        Files.deleteIfExists(this.file);
+    }
+
+    @Test
+    void builtDatabaseNeverOverestimates() {
+        Heuristic heuristic = PatternDatabase.build(3, 3, GROUPS_3X3).heuristic();
+        Random random = new Random(3);
+        assertEquals(0, heuristic.reset(TestBoards.goal(3, 3)));
+        for (int k = 0; k < 500; k++) {
+            int[] tiles = TestBoards.randomWalk(3, 3, 60, random);
+            assertTrue(heuristic.reset(tiles) <= TestBoards.distance3x3(tiles));
+        }
+    }
+
+    @Test
+    void loadedDatabaseMatchesBuiltOne() throws IOException {
+        PatternDatabase built = PatternDatabase.build(3, 3, GROUPS_3X3);
+        PatternDatabase loaded = PatternDatabase.loadOrBuild(this.file, 3, 3, GROUPS_3X3);
+        assertTrue(Files.exists(this.file));
+        assertEquals(3, loaded.getNLines());
+        assertEquals(3, loaded.getNCols());
+        Heuristic expected = built.heuristic();
+        Heuristic actual = loaded.heuristic();
+        Random random = new Random(4);
+        for (int k = 0; k < 500; k++) {
+            int[] tiles = TestBoards.randomWalk(3, 3, 60, random);
+            assertEquals(expected.reset(tiles), actual.reset(tiles));
+        }
+    }
+
+    @Test
+    void databaseOfAnotherConfigurationIsRejected() throws IOException {
+        PatternDatabase.build(3, 3, GROUPS_3X3).save(this.file);
+        assertThrows(IOException.class,
+                () -> PatternDatabase.loadOrBuild(this.file, 3, 3, new int[][]{{1, 2, 3}, {4, 5, 6, 7, 8}}));
+    }
+
+    @Test
+    void otherFilesAreRejected() throws IOException {
+        Files.write(this.file, new byte[64]);
+        assertThrows(IOException.class, () -> PatternDatabase.load(this.file));
+    }
+
+    @Test
+    void truncatedFileIsRejected() throws IOException {
+        PatternDatabase.build(3, 3, GROUPS_3X3).save(this.file);
+        try (FileChannel channel = FileChannel.open(this.file, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 3);
+        }
+        assertThrows(IOException.class, () -> PatternDatabase.load(this.file));
+    }
+
+    @Test
+    void damagedHeaderIsRejected() throws IOException {
+        PatternDatabase.build(3, 3, GROUPS_3X3).save(this.file);
+        try (FileChannel channel = FileChannel.open(this.file, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{0x7F, 0, 0, 0}), 16); // number of groups
+        }
+        assertThrows(IOException.class, () -> PatternDatabase.load(this.file));
+    }
+
+    @Test
+    void solverWithDatabaseFindsOptimalSolutions() {
+        PatternDatabase db = PatternDatabase.build(3, 3, GROUPS_3X3);
+        for (int[] tiles : TestBoards.HARDEST_3X3) {
+            List<?> solution = new FifteenSolver(3, 3, db.heuristic()).solve(tiles);
+            assertEquals(31, solution.size());
+        }
+    }
+
+    @Test
+    void updateMatchesReset() {
+        Heuristic incremental = PatternDatabase.build(3, 3, GROUPS_3X3).heuristic();
+        Heuristic scratch = PatternDatabase.build(3, 3, GROUPS_3X3).heuristic();
+        Random random = new Random(5);
+        int[] tiles = TestBoards.randomWalk(3, 3, 100, random);
+        incremental.reset(tiles);
+        for (int k = 0; k < 1000; k++) {
+            int empty = TestBoards.indexOfEmpty(tiles);
+            if (!TestBoards.move(tiles, 3, 3, Direction.values()[random.nextInt(4)])) {
+                continue;
+            }
+            int from = TestBoards.indexOfEmpty(tiles);
+            assertEquals(scratch.reset(tiles), incremental.update(tiles, tiles[empty], from, empty));
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package pt.ipbeja.estig.fifteen.solver;
+
+import org.junit.jupiter.api.Test;
+import pt.ipbeja.estig.fifteen.model.Direction;
+import pt.ipbeja.estig.fifteen.model.FifteenModel;
+import pt.ipbeja.estig.fifteen.model.PackedBoard;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SolutionCacheTest {
+    private static final int[] START = {8, 6, 7, 2, 5, 4, 3, 0, 1};
+
+    @Test
+    void everyBoardAlongSolutionIsCached() {
+        List<Direction> solution = new FifteenSolver(3, 3, new ManhattanHeuristic(3, 3)).solve(START);
+        SolutionCache cache = new SolutionCache(3, 3, 1000);
+        cache.put(PackedBoard.pack(START), solution);
+        assertEquals(solution.size() + 1, cache.size());
+
+        FifteenModel model = new FifteenModel(3, 3, (move, winning, tValue) -> {
+        });
+        model.setTiles(START);
+        for (int i = 0; i <= solution.size(); i++) {
+            List<Direction> rest = cache.get(model.getPackedState());
+            assertEquals(solution.subList(i, solution.size()), rest, "after move " + i);
+            if (i < solution.size()) {
+                model.keyPressed(solution.get(i));
+            }
+        }
+        assertTrue(model.inWinningPositions());
+        assertEquals(solution.size() + 1, cache.getHits());
+        assertEquals(0, cache.getMisses());
+    }
+
+    @Test
+    void unknownBoardIsMiss() {
+        SolutionCache cache = new SolutionCache(3, 3, 1000);
+        assertNull(cache.get(PackedBoard.pack(START)));
+        assertEquals(1, cache.getMisses());
+        assertEquals(0.0, cache.getHitRate(), 0.0);
+    }
+
+    @Test
+    void leastRecentlyUsedBoardsAreEvicted() {
+        List<Direction> solution = new FifteenSolver(3, 3, new ManhattanHeuristic(3, 3)).solve(START);
+        SolutionCache cache = new SolutionCache(3, 3, 10);
+        cache.put(PackedBoard.pack(START), solution);
+        assertEquals(10, cache.size());
+        assertNull(cache.get(PackedBoard.pack(START))); // stored first, evicted first
+        assertTrue(cache.get(PackedBoard.goalState(9)).isEmpty());
+    }
+}
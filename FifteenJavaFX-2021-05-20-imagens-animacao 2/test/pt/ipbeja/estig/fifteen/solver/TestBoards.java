@@ -0,0 +1,132 @@
+package pt.ipbeja.estig.fifteen.solver;
+
+import pt.ipbeja.estig.fifteen.model.Direction;
+import pt.ipbeja.estig.fifteen.model.FifteenModel;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Random;
+
+/**
+ * Boards with known solution lengths, and moves on plain arrays to check
+ * solutions without the model
+ */
+final class TestBoards {
+    /**
+     * The two 3x3 boards farthest from the winning position, 31 moves
+     */
+    static final int[][] HARDEST_3X3 = {{8, 6, 7, 2, 5, 4, 3, 0, 1}, {6, 4, 7, 8, 5, 0, 3, 2, 1}};
+
+    private static Map<Long, Integer> distances3x3; // of every 3x3 board, by breadth first search
+
+    private TestBoards() {
+    }
+
+    /**
+     * @return the winning board
+     */
+    static int[] goal(int nLines, int nCols) {
+        int[] tiles = new int[nLines * nCols];
+        for (int i = 0; i < tiles.length; i++) {
+            tiles[i] = (i + 1) % tiles.length;
+        }
+        return tiles;
+    }
+
+    /**
+     * @return the board reached from the winning one by random moves
+     */
+    static int[] randomWalk(int nLines, int nCols, int nMoves, Random random) {
+        int[] tiles = goal(nLines, nCols);
+        Direction[] directions = Direction.values();
+        for (int k = 0; k < nMoves; ) {
+            if (move(tiles, nLines, nCols, directions[random.nextInt(directions.length)])) {
+                k++;
+            }
+        }
+        return tiles;
+    }
+
+    /**
+     * Moves the piece next to the empty position in direction, as
+     * FifteenModel.keyPressed does
+     *
+     * @return false if there is no such piece
+     */
+    static boolean move(int[] tiles, int nLines, int nCols, Direction direction) {
+        int empty = indexOfEmpty(tiles);
+        int line = empty / nCols;
+        int col = empty % nCols;
+        int piece;
+        switch (direction) {
+            case UP: piece = line < nLines - 1 ? empty + nCols : -1; break;
+            case DOWN: piece = line > 0 ? empty - nCols : -1; break;
+            case LEFT: piece = col < nCols - 1 ? empty + 1 : -1; break;
+            default: piece = col > 0 ? empty - 1 : -1;
+        }
+        if (piece < 0) {
+            return false;
+        }
+        tiles[empty] = tiles[piece];
+        tiles[piece] = FifteenModel.EMPTY;
+        return true;
+    }
+
+    /**
+     * @return true if every move of solution moves a piece and they end in
+     * the winning position
+     */
+    static boolean solves(int[] start, int nLines, int nCols, List<Direction> solution) {
+        int[] tiles = start.clone();
+        for (Direction direction : solution) {
+            if (!move(tiles, nLines, nCols, direction)) {
+                return false;
+            }
+        }
+        return java.util.Arrays.equals(tiles, goal(nLines, nCols));
+    }
+
+    /**
+     * @return the number of moves of a shortest solution of a 3x3 board
+     */
+    static synchronized int distance3x3(int[] tiles) {
+        if (distances3x3 == null) {
+            distances3x3 = new HashMap<>();
+            int[] goal = goal(3, 3);
+            Queue<int[]> queue = new ArrayDeque<>();
+            distances3x3.put(pack(goal), 0);
+            queue.add(goal);
+            while (!queue.isEmpty()) {
+                int[] board = queue.remove();
+                int d = distances3x3.get(pack(board));
+                for (Direction direction : Direction.values()) {
+                    int[] next = board.clone();
+                    if (move(next, 3, 3, direction) && distances3x3.putIfAbsent(pack(next), d + 1) == null) {
+                        queue.add(next);
+                    }
+                }
+            }
+        }
+        return distances3x3.get(pack(tiles));
+    }
+
+    private static long pack(int[] tiles) {
+        long state = 0;
+        for (int piece : tiles) {
+            state = state << 4 | piece;
+        }
+        return state;
+    }
+
+    static int indexOfEmpty(int[] tiles) {
+        for (int i = 0; i < tiles.length; i++) {
+            if (tiles[i] == FifteenModel.EMPTY) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("No empty position");
+    }
+}
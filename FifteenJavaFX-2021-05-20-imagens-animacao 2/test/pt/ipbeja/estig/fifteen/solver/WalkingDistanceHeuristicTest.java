@@ -0,0 +1,66 @@
+package pt.ipbeja.estig.fifteen.solver;
+
+import org.junit.jupiter.api.Test;
+import pt.ipbeja.estig.fifteen.model.Direction;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WalkingDistanceHeuristicTest {
+
+    @Test
+    void neverOverestimates() {
+        Heuristic heuristic = new WalkingDistanceHeuristic(3, 3);
+        Random random = new Random(18);
+        assertEquals(0, heuristic.reset(TestBoards.goal(3, 3)));
+        for (int k = 0; k < 500; k++) {
+            int[] tiles = TestBoards.randomWalk(3, 3, 60, random);
+            assertTrue(heuristic.reset(tiles) <= TestBoards.distance3x3(tiles));
+        }
+    }
+
+    @Test
+    void updateMatchesReset() {
+        int[][] sizes = {{3, 3}, {4, 4}, {3, 4}};
+        Random random = new Random(19);
+        for (int[] size : sizes) {
+            Heuristic incremental = new WalkingDistanceHeuristic(size[0], size[1]);
+            Heuristic scratch = new WalkingDistanceHeuristic(size[0], size[1]);
+            int[] tiles = TestBoards.randomWalk(size[0], size[1], 200, random);
+            incremental.reset(tiles);
+            for (int k = 0; k < 1000; k++) {
+                int empty = TestBoards.indexOfEmpty(tiles);
+                if (!TestBoards.move(tiles, size[0], size[1], Direction.values()[random.nextInt(4)])) {
+                    continue;
+                }
+                int from = TestBoards.indexOfEmpty(tiles);
+                assertEquals(scratch.reset(tiles), incremental.update(tiles, tiles[empty], from, empty),
+                        "after move " + k);
+            }
+        }
+    }
+
+    @Test
+    void maxIsTheLargestOfItsHeuristics() {
+        Heuristic walking = new WalkingDistanceHeuristic(4, 4);
+        Heuristic manhattan = new ManhattanHeuristic(4, 4);
+        Heuristic max = new MaxHeuristic(new WalkingDistanceHeuristic(4, 4), new ManhattanHeuristic(4, 4));
+        Random random = new Random(20);
+        for (int k = 0; k < 200; k++) {
+            int[] tiles = TestBoards.randomWalk(4, 4, 100, random);
+            assertEquals(Math.max(walking.reset(tiles), manhattan.reset(tiles)), max.reset(tiles));
+        }
+    }
+
+    @Test
+    void solverWithWalkingDistanceFindsOptimalSolutions() {
+        Heuristic max = new MaxHeuristic(new WalkingDistanceHeuristic(3, 3), new ManhattanHeuristic(3, 3));
+        for (int[] tiles : TestBoards.HARDEST_3X3) {
+            List<Direction> solution = new FifteenSolver(3, 3, max).solve(tiles);
+            assertEquals(31, solution.size());
+            assertTrue(TestBoards.solves(tiles, 3, 3, solution));
+        }
+    }
+}